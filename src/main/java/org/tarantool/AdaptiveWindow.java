@@ -0,0 +1,177 @@
+package org.tarantool;
+
+/**
+ * Limit of concurrent requests tuned by observed throughput.
+ * <p>
+ * The throughput is measured over rounds, a round lasts as many
+ * completions as the limit is (but not less than {@link #MIN_ROUND}).
+ * The limit doubles every round while the throughput keeps growing
+ * notably. When it stops growing the limit steps back and then
+ * alternately probes slightly larger and smaller values. A larger
+ * limit is kept only if the throughput grows accordingly, a smaller
+ * one is kept if the throughput doesn't fall, so the limit settles
+ * where the server becomes saturated. Throughputs are averaged over
+ * several rounds to smooth out occasional pauses of the client.
+ * <p>
+ * Pipelining always raises latency, so latency alone doesn't show
+ * saturation. Still the limit shrinks when the average latency
+ * approaches the given latency limit or the server reports overload.
+ * <p>
+ * The window is not thread-safe.
+ */
+final class AdaptiveWindow {
+
+    static final int MIN_ROUND = 1024;
+
+    private static final double GROWTH = 1.1;
+    private static final double ALPHA = 0.1;
+
+    /**
+     * Part of a relative limit increase which must show up as
+     * a throughput increase to keep the larger limit.
+     */
+    private static final double PROBE_EFFICIENCY = 0.25;
+
+    /**
+     * Throughput loss which is tolerated to keep a smaller limit.
+     */
+    private static final double SHRINK_TOLERANCE = 0.03;
+
+    /**
+     * Rounds to measure the throughput of the chosen limit.
+     */
+    private static final int HOLD_ROUNDS = 4;
+
+    /**
+     * Rounds to measure the throughput of a probed limit.
+     */
+    private static final int PROBE_ROUNDS = 2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyLimitNanos;
+
+    private int limit;
+    private double averageLatency;
+    private int roundCompletions;
+    private long roundStart = -1;
+
+    private boolean slowStart = true;
+    private double lastThroughput;
+    private int lastLimit;
+
+    private boolean probing;
+    private boolean probeUp = true;
+    private int probeFrom;
+    private double reference;
+    private double phaseThroughput;
+    private int phaseRounds;
+
+    /**
+     * Creates a window.
+     *
+     * @param initialLimit      starting limit
+     * @param minLimit          lowest limit
+     * @param maxLimit          highest limit
+     * @param latencyLimitNanos latency the requests must stay well below
+     */
+    AdaptiveWindow(int initialLimit, int minLimit, int maxLimit, long latencyLimitNanos) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Window limits are wrong");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyLimitNanos = latencyLimitNanos;
+        this.limit = Math.min(Math.max(initialLimit, minLimit), maxLimit);
+        this.lastLimit = limit;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    long getAverageLatencyNanos() {
+        return (long) averageLatency;
+    }
+
+    /**
+     * Accounts a successfully completed request.
+     *
+     * @param latencyNanos time from sending the request to its completion
+     * @param nowNanos     current {@link System#nanoTime()}
+     */
+    void onSuccess(long latencyNanos, long nowNanos) {
+        averageLatency = averageLatency == 0
+            ? latencyNanos
+            : averageLatency + ALPHA * (latencyNanos - averageLatency);
+        if (roundStart < 0) {
+            roundStart = nowNanos;
+        }
+        if (++roundCompletions < Math.max(limit, MIN_ROUND)) {
+            return;
+        }
+        double throughput = roundCompletions / (double) Math.max(nowNanos - roundStart, 1);
+        roundStart = nowNanos;
+        roundCompletions = 0;
+
+        if (averageLatency > latencyLimitNanos / 2) {
+            decrease(3, 4);
+        } else if (slowStart) {
+            if (throughput > lastThroughput * GROWTH && limit < maxLimit) {
+                lastThroughput = throughput;
+                lastLimit = limit;
+                limit = Math.min(limit * 2, maxLimit);
+            } else {
+                // the previous limit was as good
+                limit = lastLimit;
+                slowStart = false;
+                startPhase(false);
+            }
+        } else {
+            phaseThroughput += throughput;
+            if (++phaseRounds >= (probing ? PROBE_ROUNDS : HOLD_ROUNDS)) {
+                endPhase(phaseThroughput / phaseRounds);
+            }
+        }
+    }
+
+    /**
+     * Accounts a request rejected or timed out because
+     * the server or the client is overloaded.
+     */
+    void onOverload() {
+        decrease(1, 2);
+    }
+
+    private void endPhase(double throughput) {
+        if (!probing) {
+            reference = throughput;
+            probeFrom = limit;
+            int step = Math.max(1, limit / 8);
+            limit = probeUp ? Math.min(limit + step, maxLimit) : Math.max(limit - step, minLimit);
+            startPhase(limit != probeFrom);
+            probeUp = !probeUp;
+            return;
+        }
+        boolean accepted = limit > probeFrom
+            ? throughput / reference - 1 >= (limit / (double) probeFrom - 1) * PROBE_EFFICIENCY
+            : throughput >= reference * (1 - SHRINK_TOLERANCE);
+        if (!accepted) {
+            limit = probeFrom;
+        }
+        startPhase(false);
+    }
+
+    private void startPhase(boolean probe) {
+        probing = probe;
+        phaseThroughput = 0;
+        phaseRounds = 0;
+    }
+
+    private void decrease(int numerator, int denominator) {
+        slowStart = false;
+        limit = Math.max(limit * numerator / denominator, minLimit);
+        startPhase(false);
+    }
+
+}
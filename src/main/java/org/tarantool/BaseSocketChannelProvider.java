@@ -16,6 +16,11 @@ public abstract class BaseSocketChannelProvider implements SocketChannelProvider
      */
     private int timeout = NO_TIMEOUT;
 
+    /**
+     * Options applied to every opened socket.
+     */
+    private SocketOptions socketOptions;
+
     /**
      * Tries to establish a new connection to the Tarantool instances.
      *
@@ -111,6 +116,9 @@ public abstract class BaseSocketChannelProvider implements SocketChannelProvider
         SocketChannel channel = null;
         try {
             channel = SocketChannel.open();
+            if (socketOptions != null) {
+                socketOptions.apply(channel.socket());
+            }
             channel.socket().connect(socketAddress, timeout);
             return channel;
         } catch (IOException e) {
@@ -152,6 +160,24 @@ public abstract class BaseSocketChannelProvider implements SocketChannelProvider
         return timeout;
     }
 
+    /**
+     * Sets TCP options to be applied to new sockets before they are connected.
+     *
+     * @param socketOptions socket options or {@code null} to keep the defaults
+     */
+    public void setSocketOptions(SocketOptions socketOptions) {
+        this.socketOptions = socketOptions;
+    }
+
+    /**
+     * Gets TCP options applied to new sockets.
+     *
+     * @return socket options or {@code null} if the defaults are used
+     */
+    public SocketOptions getSocketOptions() {
+        return socketOptions;
+    }
+
     /**
      * Provides a decision on whether retries limit is hit.
      *
@@ -0,0 +1,331 @@
+package org.tarantool;
+
+import org.tarantool.protocol.MsgPackCursor;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandleProxies;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Tuple mapper which fills bean properties by the tuple fields.
+ * <br>
+ * The constructor and the setters are bound to functional interfaces
+ * by {@link LambdaMetafactory} once, so reading a tuple is a chain of
+ * plain interface calls. Each primitive type has its own setter
+ * interface to pass the values unboxed.
+ * <p>
+ * A class which is not visible from the class loader of the connector
+ * (e.g. loaded by a child loader of an application server) and public
+ * fields are bound through method handle proxies instead, which are
+ * slower but work anyway.
+ *
+ * @see TupleMapper#of(Class, String...)
+ */
+final class BeanTupleMapper<T> implements TupleMapper<T> {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private final Supplier<T> constructor;
+    private final FieldReader[] readers;
+
+    @SuppressWarnings("unchecked")
+    BeanTupleMapper(Class<T> type, List<String> properties) {
+        MethodHandle handle;
+        try {
+            handle = LOOKUP.findConstructor(type, MethodType.methodType(void.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException("Class " + type.getName() + " has no public no-argument constructor", e);
+        }
+        constructor = bind(Supplier.class, "get", MethodType.methodType(Object.class), handle, type);
+        readers = new FieldReader[properties.size()];
+        for (int i = 0; i < readers.length; i++) {
+            String property = properties.get(i);
+            if (property != null) {
+                readers[i] = bindProperty(type, property);
+            }
+        }
+    }
+
+    @Override
+    public T read(MsgPackCursor tuple) {
+        T bean = constructor.get();
+        int size = tuple.readArrayHeader();
+        int mapped = Math.min(size, readers.length);
+        int i = 0;
+        for (; i < mapped; i++) {
+            FieldReader reader = readers[i];
+            if (reader == null) {
+                tuple.skipValue();
+            } else {
+                reader.read(bean, tuple);
+            }
+        }
+        for (; i < size; i++) {
+            tuple.skipValue();
+        }
+        return bean;
+    }
+
+    /**
+     * Finds a setter or a public field of the property. Snake case
+     * names of space formats are turned into camel case ones.
+     */
+    private static FieldReader bindProperty(Class<?> type, String property) {
+        String name = toCamelCase(property);
+        String setter = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        try {
+            for (Method method : type.getMethods()) {
+                if (method.getName().equals(setter) && method.getParameterCount() == 1 &&
+                    !Modifier.isStatic(method.getModifiers())) {
+                    return reader(LOOKUP.unreflect(method), method.getParameterTypes()[0], method.getDeclaringClass());
+                }
+            }
+            Field field = type.getField(name);
+            if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+                throw new NoSuchFieldException(name);
+            }
+            return reader(LOOKUP.unreflectSetter(field), field.getType(), field.getDeclaringClass());
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalArgumentException(
+                "Class " + type.getName() + " has neither a public setter nor a public field for '" + property + "'",
+                e
+            );
+        }
+    }
+
+    private static FieldReader reader(MethodHandle handle, Class<?> valueType, Class<?> owner) {
+        if (valueType == int.class) {
+            IntSetter setter = bind(IntSetter.class, handle, valueType, owner);
+            return (bean, tuple) -> {
+                if (!tuple.readNil()) {
+                    setter.set(bean, tuple.readInt());
+                }
+            };
+        } else if (valueType == long.class) {
+            LongSetter setter = bind(LongSetter.class, handle, valueType, owner);
+            return (bean, tuple) -> {
+                if (!tuple.readNil()) {
+                    setter.set(bean, tuple.readLong());
+                }
+            };
+        } else if (valueType == double.class) {
+            DoubleSetter setter = bind(DoubleSetter.class, handle, valueType, owner);
+            return (bean, tuple) -> {
+                if (!tuple.readNil()) {
+                    setter.set(bean, tuple.readDouble());
+                }
+            };
+        } else if (valueType == float.class) {
+            FloatSetter setter = bind(FloatSetter.class, handle, valueType, owner);
+            return (bean, tuple) -> {
+                if (!tuple.readNil()) {
+                    setter.set(bean, tuple.readFloat());
+                }
+            };
+        } else if (valueType == boolean.class) {
+            BooleanSetter setter = bind(BooleanSetter.class, handle, valueType, owner);
+            return (bean, tuple) -> {
+                if (!tuple.readNil()) {
+                    setter.set(bean, tuple.readBoolean());
+                }
+            };
+        } else if (valueType == short.class) {
+            ShortSetter setter = bind(ShortSetter.class, handle, valueType, owner);
+            return (bean, tuple) -> {
+                if (!tuple.readNil()) {
+                    setter.set(bean, (short) readInt(tuple, Short.MIN_VALUE, Short.MAX_VALUE));
+                }
+            };
+        } else if (valueType == byte.class) {
+            ByteSetter setter = bind(ByteSetter.class, handle, valueType, owner);
+            return (bean, tuple) -> {
+                if (!tuple.readNil()) {
+                    setter.set(bean, (byte) readInt(tuple, Byte.MIN_VALUE, Byte.MAX_VALUE));
+                }
+            };
+        } else if (valueType.isPrimitive()) {
+            throw new IllegalArgumentException("Properties of type " + valueType + " are not supported");
+        }
+        ObjectSetter setter = bind(ObjectSetter.class, handle, Object.class, owner);
+        return (bean, tuple) -> setter.set(bean, readObject(tuple, valueType));
+    }
+
+    private static Object readObject(MsgPackCursor tuple, Class<?> type) {
+        if (tuple.readNil()) {
+            return null;
+        } else if (type == String.class) {
+            return tuple.readString();
+        } else if (type == Integer.class) {
+            return tuple.readInt();
+        } else if (type == Long.class) {
+            return tuple.readLong();
+        } else if (type == Double.class) {
+            return tuple.readDouble();
+        } else if (type == Float.class) {
+            return tuple.readFloat();
+        } else if (type == Boolean.class) {
+            return tuple.readBoolean();
+        } else if (type == Short.class) {
+            return (short) readInt(tuple, Short.MIN_VALUE, Short.MAX_VALUE);
+        } else if (type == Byte.class) {
+            return (byte) readInt(tuple, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        } else if (type == byte[].class) {
+            return tuple.readBinary();
+        }
+        return tuple.readValue();
+    }
+
+    private static int readInt(MsgPackCursor tuple, int min, int max) {
+        int value = tuple.readInt();
+        if (value < min || value > max) {
+            throw new CommunicationException("Integer " + value + " is out of range [" + min + ", " + max + "]");
+        }
+        return value;
+    }
+
+    private static <F> F bind(Class<F> face, MethodHandle setter, Class<?> valueType, Class<?> owner) {
+        return bind(face, "set", MethodType.methodType(void.class, Object.class, valueType), setter, owner);
+    }
+
+    /**
+     * Implements a functional interface by the method handle.
+     *
+     * @param face       functional interface
+     * @param method     name of the interface method
+     * @param erasedType type of the interface method
+     * @param handle     implementation
+     * @param owner      class the implementation belongs to
+     */
+    private static <F> F bind(Class<F> face,
+                              String method,
+                              MethodType erasedType,
+                              MethodHandle handle,
+                              Class<?> owner) {
+        if (isVisible(owner) && isVisible(handle.type())) {
+            MethodType instantiatedType = erasedType.returnType() == void.class
+                ? handle.type().changeReturnType(void.class)
+                : handle.type();
+            try {
+                CallSite site = LambdaMetafactory.metafactory(
+                    LOOKUP, method, MethodType.methodType(face), erasedType, handle, instantiatedType
+                );
+                return face.cast(site.getTarget().invoke());
+            } catch (LambdaConversionException ignored) {
+                // field setters are not methods, fall back to a proxy
+            } catch (Throwable e) {
+                throw new IllegalStateException("Cannot bind " + handle, e);
+            }
+        }
+        return MethodHandleProxies.asInterfaceInstance(face, handle);
+    }
+
+    private static boolean isVisible(MethodType type) {
+        for (Class<?> parameter : type.parameterArray()) {
+            if (!isVisible(parameter)) {
+                return false;
+            }
+        }
+        return isVisible(type.returnType());
+    }
+
+    /**
+     * Checks whether the class can be linked by a lambda defined
+     * by the connector class loader.
+     */
+    private static boolean isVisible(Class<?> type) {
+        Class<?> element = type;
+        while (element.isArray()) {
+            element = element.getComponentType();
+        }
+        if (element.isPrimitive()) {
+            return true;
+        }
+        try {
+            return Class.forName(element.getName(), false, BeanTupleMapper.class.getClassLoader()) == element;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static String toCamelCase(String name) {
+        StringBuilder result = new StringBuilder(name.length());
+        boolean upper = false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '_' && result.length() > 0) {
+                upper = true;
+            } else if (c != '_') {
+                result.append(upper ? Character.toUpperCase(c) : c);
+                upper = false;
+            }
+        }
+        if (result.length() == 0) {
+            throw new IllegalArgumentException("Invalid property name '" + name + "'");
+        }
+        return result.toString();
+    }
+
+    private interface FieldReader {
+
+        void read(Object bean, MsgPackCursor tuple);
+
+    }
+
+    public interface IntSetter {
+
+        void set(Object bean, int value);
+
+    }
+
+    public interface LongSetter {
+
+        void set(Object bean, long value);
+
+    }
+
+    public interface DoubleSetter {
+
+        void set(Object bean, double value);
+
+    }
+
+    public interface FloatSetter {
+
+        void set(Object bean, float value);
+
+    }
+
+    public interface BooleanSetter {
+
+        void set(Object bean, boolean value);
+
+    }
+
+    public interface ShortSetter {
+
+        void set(Object bean, short value);
+
+    }
+
+    public interface ByteSetter {
+
+        void set(Object bean, byte value);
+
+    }
+
+    public interface ObjectSetter {
+
+        void set(Object bean, Object value);
+
+    }
+
+}
@@ -0,0 +1,248 @@
+package org.tarantool;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Timer which expires a large amount of short-living timeouts
+ * at O(1) cost per timeout.
+ * <p>
+ * Timeouts are hashed by their deadline into a wheel of buckets
+ * which a single worker thread visits one per tick. A timeout
+ * farther than one wheel revolution waits for the required
+ * number of rounds in its bucket. Scheduling and cancellation
+ * only put the timeout into lock-free queues, the buckets are
+ * modified by the worker only.
+ * <p>
+ * Tasks are run within the worker thread and must be short.
+ * Expiration precision is limited by the tick duration.
+ */
+final class HashedWheelTimer {
+
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final long startTime = System.nanoTime();
+
+    /**
+     * Worker-confined state.
+     */
+    private long tick;
+
+    /**
+     * Gets the timer shared by all the clients.
+     * Its worker is started on first use.
+     *
+     * @return shared timer
+     */
+    static HashedWheelTimer shared() {
+        return SharedHolder.TIMER;
+    }
+
+    HashedWheelTimer(long tickDuration, TimeUnit unit, int wheelSize, ThreadFactory threadFactory) {
+        this.tickNanos = unit.toNanos(tickDuration);
+        if (tickNanos <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick duration and wheel size must be positive");
+        }
+        int size = Integer.highestOneBit(wheelSize - 1) << 1;
+        this.wheel = new Bucket[Math.max(size, 1)];
+        this.mask = wheel.length - 1;
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        threadFactory.newThread(this::work).start();
+    }
+
+    /**
+     * Schedules a task to be run after the delay.
+     *
+     * @param task  task to be run on expiration
+     * @param delay delay before expiration
+     * @param unit  unit of the delay
+     *
+     * @return timeout which can be cancelled
+     */
+    Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        Timeout timeout = new Timeout(this, task, System.nanoTime() - startTime + unit.toNanos(delay));
+        scheduled.add(timeout);
+        return timeout;
+    }
+
+    private void work() {
+        while (true) {
+            long deadline = (tick + 1) * tickNanos;
+            long sleepNanos;
+            while ((sleepNanos = deadline - (System.nanoTime() - startTime)) > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+            }
+            removeCancelled();
+            transferScheduled();
+            wheel[(int) tick & mask].expire();
+            tick++;
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferScheduled() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = scheduled.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state != Timeout.PENDING) {
+                continue;
+            }
+            long expirationTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (expirationTick - tick) / wheel.length;
+            wheel[(int) Math.max(expirationTick, tick) & mask].add(timeout);
+        }
+    }
+
+    /**
+     * Scheduled task handle.
+     */
+    static final class Timeout {
+
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final HashedWheelTimer timer;
+        private final long deadline;
+        private Runnable task;
+        private volatile int state = PENDING;
+
+        /**
+         * Worker-confined state.
+         */
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+
+        Timeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the task if it's not run yet.
+         *
+         * @return {@code true} if the task will not be run
+         */
+        boolean cancel() {
+            if (!STATE.compareAndSet(this, PENDING, CANCELLED)) {
+                return false;
+            }
+            // release the task early, the timeout itself
+            // is unlinked by the worker later
+            task = null;
+            timer.cancelled.add(this);
+            return true;
+        }
+
+        boolean isExpired() {
+            return state == EXPIRED;
+        }
+
+        private void expire() {
+            if (STATE.compareAndSet(this, PENDING, EXPIRED)) {
+                Runnable expiredTask = task;
+                task = null;
+                try {
+                    expiredTask.run();
+                } catch (Throwable ignored) {
+                    // keep the timer alive
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Doubly-linked list of timeouts which expire at the same tick
+     * of some wheel revolution.
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = timeout;
+                tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expire() {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.state == Timeout.CANCELLED) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.next = null;
+            timeout.prev = null;
+            timeout.bucket = null;
+        }
+
+    }
+
+    private static final class SharedHolder {
+
+        private static final HashedWheelTimer TIMER = new HashedWheelTimer(
+            10, TimeUnit.MILLISECONDS, 512, new TarantoolThreadDaemonFactory("tarantoolTimer")
+        );
+
+    }
+
+}
@@ -0,0 +1,147 @@
+package org.tarantool;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Limits the number of requests which wait for responses.
+ * <p>
+ * A permit is taken before a request is sent and returned when
+ * its response is received or will never come, such as on the operation
+ * timeout or when the connection is lost. A window may be shared by
+ * several connections, so each of them returns only its own permits.
+ * <p>
+ * Blocked callers wait in the arrival order: a returned permit wakes
+ * the first of them, which passes the turn on once it's done while
+ * there is still room. So a caller waiting for several permits isn't
+ * starved by the ones which need fewer.
+ */
+final class InFlightWindow {
+
+    private final int limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ConcurrentLinkedQueue<Thread> waiters = new ConcurrentLinkedQueue<>();
+
+    InFlightWindow(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        this.limit = limit;
+    }
+
+    /**
+     * Takes a permit if there is a free one.
+     *
+     * @return {@code false} if the window is full
+     */
+    boolean tryAcquire() {
+        return tryAcquire(1);
+    }
+
+    /**
+     * Takes several permits at once if there are enough free ones.
+     *
+     * @param permits number of permits
+     *
+     * @return {@code false} if the window doesn't have enough room
+     */
+    boolean tryAcquire(int permits) {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current + permits > limit) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + permits));
+        return true;
+    }
+
+    /**
+     * Takes a permit waiting for a free one if needed.
+     *
+     * @param timeoutMillis maximum time to wait
+     *
+     * @return {@code false} if the time is out
+     *
+     * @throws InterruptedException if the caller is interrupted
+     */
+    boolean acquire(long timeoutMillis) throws InterruptedException {
+        return acquire(1, timeoutMillis);
+    }
+
+    /**
+     * Takes several permits at once waiting for enough free ones if needed.
+     * The permits are never taken partially.
+     *
+     * @param permits       number of permits not greater than the limit
+     * @param timeoutMillis maximum time to wait
+     *
+     * @return {@code false} if the time is out
+     *
+     * @throws InterruptedException if the caller is interrupted
+     */
+    boolean acquire(int permits, long timeoutMillis) throws InterruptedException {
+        if (tryAcquire(permits)) {
+            return true;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        Thread current = Thread.currentThread();
+        // enqueue before the next attempt, so a release in between wakes us
+        waiters.add(current);
+        try {
+            while (waiters.peek() != current || !tryAcquire(permits)) {
+                long left = deadline - System.nanoTime();
+                if (left <= 0) {
+                    return false;
+                }
+                LockSupport.parkNanos(this, left);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+            return true;
+        } finally {
+            waiters.remove(current);
+            if (inFlight.get() < limit) {
+                wakeFirst();
+            }
+        }
+    }
+
+    /**
+     * Returns a permit. Returns over the taken permits are ignored.
+     */
+    void release() {
+        release(1);
+    }
+
+    /**
+     * Returns several permits.
+     *
+     * @param permits number of permits
+     */
+    void release(int permits) {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current <= 0) {
+                return;
+            }
+        } while (!inFlight.compareAndSet(current, Math.max(current - permits, 0)));
+        wakeFirst();
+    }
+
+    private void wakeFirst() {
+        Thread first = waiters.peek();
+        if (first != null) {
+            LockSupport.unpark(first);
+        }
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+}
@@ -1,5 +1,7 @@
 package org.tarantool;
 
+import org.tarantool.protocol.ByteBufferOutputStream;
+
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
@@ -75,6 +77,10 @@ public class MsgPackLite {
     protected static final byte MP_STR32 = (byte) 0xdb;
 
     public void pack(Object item, OutputStream os) throws IOException {
+        if (os instanceof ByteBufferOutputStream) {
+            pack(item, (ByteBufferOutputStream) os);
+            return;
+        }
         DataOutputStream out = new DataOutputStream(os);
         if (item instanceof Callable) {
             try {
@@ -85,6 +91,9 @@ public class MsgPackLite {
         }
         if (item == null) {
             out.write(MP_NULL);
+        } else if (item instanceof MsgPackValue) {
+            MsgPackValue value = (MsgPackValue) item;
+            out.write(value.getBytes(), value.getOffset(), value.getLength());
         } else if (item instanceof Boolean) {
             out.write(((Boolean) item).booleanValue() ? MP_TRUE : MP_FALSE);
         } else if (item instanceof Number || item instanceof Code) {
@@ -231,6 +240,232 @@ public class MsgPackLite {
         }
     }
 
+    /**
+     * Encodes a value right into a growable buffer.
+     * <br>
+     * Produces the same bytes as {@link #pack(Object, OutputStream)}
+     * but doesn't wrap the buffer per value and encodes strings from
+     * their characters without intermediate arrays. Types which are
+     * common in requests are checked first, the rest are passed to
+     * {@link #packOther(Object, ByteBufferOutputStream)}.
+     * <p>
+     * Nested values are packed by this method too, so a subclass
+     * which overrides it sees every element of lists and maps.
+     *
+     * @param item value to be encoded
+     * @param out  buffer to write to
+     *
+     * @throws IllegalArgumentException if the value cannot be encoded
+     */
+    public void pack(Object item, ByteBufferOutputStream out) {
+        if (item == null) {
+            out.write(MP_NULL);
+            return;
+        }
+        Class<?> type = item.getClass();
+        if (type == Integer.class) {
+            packLong((Integer) item, out);
+        } else if (type == Long.class) {
+            packLong((Long) item, out);
+        } else if (type == String.class) {
+            packString((String) item, out);
+        } else if (item instanceof List) {
+            List<?> list = (List<?>) item;
+            packArrayHeader(list.size(), out);
+            for (Object element : list) {
+                pack(element, out);
+            }
+        } else if (type == Object[].class) {
+            Object[] array = (Object[]) item;
+            packArrayHeader(array.length, out);
+            for (Object element : array) {
+                pack(element, out);
+            }
+        } else if (item instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) item;
+            packMapHeader(map.size(), out);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                pack(entry.getKey(), out);
+                pack(entry.getValue(), out);
+            }
+        } else if (type == Boolean.class) {
+            out.write((Boolean) item ? MP_TRUE : MP_FALSE);
+        } else if (type == Double.class) {
+            out.write(MP_DOUBLE);
+            out.writeLong(Double.doubleToLongBits((Double) item));
+        } else if (type == Float.class) {
+            out.write(MP_FLOAT);
+            out.writeInt(Float.floatToIntBits((Float) item));
+        } else if (type == byte[].class) {
+            packBinary((byte[]) item, out);
+        } else if (type == MsgPackValue.class) {
+            MsgPackValue value = (MsgPackValue) item;
+            out.write(value.getBytes(), value.getOffset(), value.getLength());
+        } else {
+            packOther(item, out);
+        }
+    }
+
+    /**
+     * Encodes a value of a type which is not on the fast path of
+     * {@link #pack(Object, ByteBufferOutputStream)}.
+     *
+     * @param item non-null value to be encoded
+     * @param out  buffer to write to
+     *
+     * @throws IllegalArgumentException if the value cannot be encoded
+     */
+    protected void packOther(Object item, ByteBufferOutputStream out) {
+        if (item instanceof Callable) {
+            Object value;
+            try {
+                value = ((Callable) item).call();
+            } catch (Exception e) {
+                throw new IllegalArgumentException(e);
+            }
+            pack(value, out);
+        } else if (item instanceof Code) {
+            packLong(((Code) item).getId(), out);
+        } else if (item instanceof BigInteger) {
+            BigInteger value = (BigInteger) item;
+            boolean isPositive = value.signum() >= 0;
+            if (isPositive && value.compareTo(BI_MAX_64BIT) > 0 ||
+                value.compareTo(BI_MIN_LONG) < 0) {
+                throw new IllegalArgumentException("Cannot encode BigInteger as MsgPack: out of -2^63..2^64-1 range");
+            }
+            if (isPositive && value.compareTo(BI_MAX_LONG) > 0) {
+                out.write(MP_UINT64);
+                out.writeLong(value.longValue());
+            } else {
+                packLong(value.longValue(), out);
+            }
+        } else if (item instanceof Boolean) {
+            out.write((Boolean) item ? MP_TRUE : MP_FALSE);
+        } else if (item instanceof Double) {
+            out.write(MP_DOUBLE);
+            out.writeLong(Double.doubleToLongBits((Double) item));
+        } else if (item instanceof Float) {
+            out.write(MP_FLOAT);
+            out.writeInt(Float.floatToIntBits((Float) item));
+        } else if (item instanceof Number) {
+            packLong(((Number) item).longValue(), out);
+        } else if (item instanceof String) {
+            packString((String) item, out);
+        } else if (item instanceof MsgPackValue) {
+            MsgPackValue value = (MsgPackValue) item;
+            out.write(value.getBytes(), value.getOffset(), value.getLength());
+        } else if (item instanceof ByteBuffer) {
+            ByteBuffer bb = (ByteBuffer) item;
+            if (bb.hasArray()) {
+                packBinary(bb.array(), out);
+            } else {
+                byte[] data = new byte[bb.capacity()];
+                bb.limit(bb.capacity());
+                bb.get(data);
+                packBinary(data, out);
+            }
+        } else if (item.getClass().isArray()) {
+            int length = Array.getLength(item);
+            packArrayHeader(length, out);
+            for (int i = 0; i < length; i++) {
+                pack(Array.get(item, i), out);
+            }
+        } else {
+            throw new IllegalArgumentException("Cannot msgpack object of type " + item.getClass().getCanonicalName());
+        }
+    }
+
+    private static void packLong(long value, ByteBufferOutputStream out) {
+        if (value >= 0) {
+            if (value <= MAX_7BIT) {
+                out.write((int) value | MP_FIXNUM);
+            } else if (value <= MAX_8BIT) {
+                out.write(MP_UINT8);
+                out.write((int) value);
+            } else if (value <= MAX_16BIT) {
+                out.write(MP_UINT16);
+                out.writeShort((int) value);
+            } else if (value <= MAX_32BIT) {
+                out.write(MP_UINT32);
+                out.writeInt((int) value);
+            } else {
+                out.write(MP_UINT64);
+                out.writeLong(value);
+            }
+        } else {
+            if (value >= -(MAX_5BIT + 1)) {
+                out.write((int) (value & 0xff));
+            } else if (value >= -(MAX_7BIT + 1)) {
+                out.write(MP_INT8);
+                out.write((int) value);
+            } else if (value >= -(MAX_15BIT + 1)) {
+                out.write(MP_INT16);
+                out.writeShort((int) value);
+            } else if (value >= -(MAX_31BIT + 1)) {
+                out.write(MP_INT32);
+                out.writeInt((int) value);
+            } else {
+                out.write(MP_INT64);
+                out.writeLong(value);
+            }
+        }
+    }
+
+    private static void packString(String value, ByteBufferOutputStream out) {
+        int length = ByteBufferOutputStream.utf8Length(value);
+        if (length <= MAX_5BIT) {
+            out.write(length | MP_FIXSTR);
+        } else if (length <= MAX_8BIT) {
+            out.write(MP_STR8);
+            out.write(length);
+        } else if (length <= MAX_16BIT) {
+            out.write(MP_STR16);
+            out.writeShort(length);
+        } else {
+            out.write(MP_STR32);
+            out.writeInt(length);
+        }
+        out.writeUtf8(value, length);
+    }
+
+    private static void packBinary(byte[] data, ByteBufferOutputStream out) {
+        if (data.length <= MAX_8BIT) {
+            out.write(MP_BIN8);
+            out.write(data.length);
+        } else if (data.length <= MAX_16BIT) {
+            out.write(MP_BIN16);
+            out.writeShort(data.length);
+        } else {
+            out.write(MP_BIN32);
+            out.writeInt(data.length);
+        }
+        out.write(data, 0, data.length);
+    }
+
+    private static void packArrayHeader(int length, ByteBufferOutputStream out) {
+        if (length <= MAX_4BIT) {
+            out.write(length | MP_FIXARRAY);
+        } else if (length <= MAX_16BIT) {
+            out.write(MP_ARRAY16);
+            out.writeShort(length);
+        } else {
+            out.write(MP_ARRAY32);
+            out.writeInt(length);
+        }
+    }
+
+    private static void packMapHeader(int size, ByteBufferOutputStream out) {
+        if (size <= MAX_4BIT) {
+            out.write(size | MP_FIXMAP);
+        } else if (size <= MAX_16BIT) {
+            out.write(MP_MAP16);
+            out.writeShort(size);
+        } else {
+            out.write(MP_MAP32);
+            out.writeInt(size);
+        }
+    }
+
     public Object unpack(InputStream is) throws IOException {
         DataInputStream in = new DataInputStream(is);
         int value = in.read();
@@ -0,0 +1,78 @@
+package org.tarantool;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Value already encoded as MessagePack, e.g. a tuple or a key
+ * received from another service. It is written into a request
+ * as is, without a decode and encode round trip.
+ * <br>
+ * The bytes are not copied and not validated: they must hold
+ * exactly one value and must not be changed until the request
+ * is sent.
+ *
+ * @see TarantoolClientImpl#rawSyncOps()
+ */
+public final class MsgPackValue {
+
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+
+    private MsgPackValue(byte[] bytes, int offset, int length) {
+        if (offset < 0 || length <= 0 || offset > bytes.length - length) {
+            throw new IllegalArgumentException("Invalid range [" + offset + ", " + (offset + length) + ")");
+        }
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public static MsgPackValue of(byte[] bytes) {
+        return new MsgPackValue(bytes, 0, bytes.length);
+    }
+
+    public static MsgPackValue of(byte[] bytes, int offset, int length) {
+        return new MsgPackValue(bytes, offset, length);
+    }
+
+    /**
+     * Wraps the remaining bytes of the buffer. Bytes of a direct
+     * buffer are copied, the position of the buffer isn't changed.
+     *
+     * @param buffer buffer holding the encoded value
+     *
+     * @return encoded value
+     */
+    public static MsgPackValue of(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            return new MsgPackValue(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return new MsgPackValue(bytes, 0, bytes.length);
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOfRange(bytes, offset, offset + length);
+    }
+
+    byte[] getBytes() {
+        return bytes;
+    }
+
+    int getOffset() {
+        return offset;
+    }
+
+    @Override
+    public String toString() {
+        return "MsgPackValue{length=" + length + '}';
+    }
+
+}
@@ -0,0 +1,240 @@
+package org.tarantool;
+
+import org.tarantool.protocol.ByteBufferOutputStream;
+import org.tarantool.protocol.ProtoUtils;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Shares one request between identical reads which are in flight
+ * at the same moment.
+ * <br>
+ * A read is identified by its code and encoded body, so operations
+ * with equal space, index, key and options or equal function and
+ * arguments are the same. The first of them sends the request, the
+ * others get a copy of its future, which is completed by a copy of
+ * the same response. Once the response arrives the next read sends
+ * a new request, so results are never older than the call.
+ * <p>
+ * A write stops later reads from joining the ones sent before it: an
+ * insert, replace, update, upsert or delete detaches reads of its space
+ * and calls, other operations which may change data detach all of them.
+ * So a caller which has got its write done reads its own write.
+ * <p>
+ * Selects and calls of the given read-only functions are treated as
+ * reads. Evals are never coalesced as they may change data.
+ *
+ * @see TarantoolClientConfig#coalesceReads
+ */
+final class ReadCoalescer {
+
+    /**
+     * Bodies larger than that are encoded into a temporary buffer
+     * to not hold much memory by each thread.
+     */
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private static final ThreadLocal<ByteBufferOutputStream> BODY_BUFFER =
+        ThreadLocal.withInitial(() -> new ByteBufferOutputStream(256, false));
+
+    private final ConcurrentHashMap<Fingerprint, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final TarantoolClientStats stats;
+    private final Set<String> readOnlyFunctions;
+
+    /**
+     * Creates a coalescer.
+     *
+     * @param stats             statistics of the client
+     * @param readOnlyFunctions names of functions which calls are reads
+     */
+    ReadCoalescer(TarantoolClientStats stats, Set<String> readOnlyFunctions) {
+        this.stats = stats;
+        this.readOnlyFunctions = new HashSet<>(readOnlyFunctions);
+    }
+
+    /**
+     * Sends a read unless the same one is in flight.
+     *
+     * @param code   operation code
+     * @param args   operation arguments
+     * @param sender sends the operation to the server
+     *
+     * @return operation result
+     */
+    CompletableFuture<?> exec(Code code, Object[] args, Supplier<CompletableFuture<?>> sender) {
+        if (!isRead(code, args)) {
+            detachReads(code, args);
+            return sender.get();
+        }
+        Fingerprint fingerprint = fingerprint(code, args);
+        if (fingerprint == null) {
+            // let the sender report the encoding error
+            return sender.get();
+        }
+        CompletableFuture<Object> shared = new CompletableFuture<>();
+        CompletableFuture<Object> current = inFlight.putIfAbsent(fingerprint, shared);
+        if (current != null) {
+            stats.increment(TarantoolClientStats.COALESCED_READS);
+            // each caller owns its result like the one which sent the request
+            return current.thenApply(result -> result instanceof List ? new ArrayList<>((List<?>) result) : result);
+        }
+        CompletableFuture<?> future;
+        try {
+            future = sender.get();
+        } catch (RuntimeException e) {
+            inFlight.remove(fingerprint, shared);
+            shared.completeExceptionally(e);
+            throw e;
+        }
+        future.whenComplete((result, error) -> {
+            inFlight.remove(fingerprint, shared);
+            if (error != null) {
+                shared.completeExceptionally(error);
+            } else {
+                shared.complete(result);
+            }
+        });
+        return future;
+    }
+
+    int getInFlight() {
+        return inFlight.size();
+    }
+
+    /**
+     * Forgets reads in flight which may miss the effect of the given
+     * operation. They are still completed for their callers, but new
+     * reads send their own requests after the operation.
+     *
+     * @param code operation code
+     * @param args operation arguments
+     */
+    private void detachReads(Code code, Object[] args) {
+        if (inFlight.isEmpty()) {
+            return;
+        }
+        switch (code) {
+        case INSERT:
+        case REPLACE:
+        case UPDATE:
+        case UPSERT:
+        case DELETE:
+            Object space = space(args);
+            inFlight.keySet().removeIf(read -> read.space == null || read.space.equals(space));
+            break;
+        case EVAL:
+        case CALL:
+        case OLD_CALL:
+        case EXECUTE:
+            inFlight.clear();
+            break;
+        default:
+            break;
+        }
+    }
+
+    private boolean isRead(Code code, Object[] args) {
+        switch (code) {
+        case SELECT:
+            return true;
+        case CALL:
+        case OLD_CALL:
+            return !readOnlyFunctions.isEmpty() && readOnlyFunctions.contains(function(args));
+        default:
+            return false;
+        }
+    }
+
+    private static Object function(Object[] args) {
+        return argument(args, Key.FUNCTION);
+    }
+
+    /**
+     * Gets the space of an operation so that equal ids of different
+     * number types match.
+     *
+     * @param args operation arguments
+     *
+     * @return space id or name, {@code null} if there is no space
+     */
+    private static Object space(Object[] args) {
+        Object space = argument(args, Key.SPACE);
+        return space instanceof Number ? Long.valueOf(((Number) space).longValue()) : space;
+    }
+
+    private static Object argument(Object[] args, Key key) {
+        for (int i = 0; i < args.length - 1; i += 2) {
+            if (args[i] == key) {
+                return args[i + 1];
+            }
+        }
+        return null;
+    }
+
+    private static Fingerprint fingerprint(Code code, Object[] args) {
+        ByteBufferOutputStream out = BODY_BUFFER.get();
+        out.clear();
+        try {
+            ProtoUtils.writeBody(out, MsgPackLite.INSTANCE, args);
+        } catch (Exception e) {
+            return null;
+        }
+        ByteBuffer body = out.toByteBuffer();
+        byte[] bytes = new byte[body.remaining()];
+        body.get(bytes);
+        if (out.capacity() > MAX_RETAINED_BUFFER) {
+            BODY_BUFFER.remove();
+        }
+        return new Fingerprint(code, code == Code.SELECT ? space(args) : null, bytes);
+    }
+
+    /**
+     * Request code and body bytes hashed with FNV-1a. The space of
+     * a select is kept aside to detach the read on writes.
+     */
+    private static final class Fingerprint {
+
+        private final Code code;
+        private final Object space;
+        private final byte[] body;
+        private final int hash;
+
+        Fingerprint(Code code, Object space, byte[] body) {
+            this.code = code;
+            this.space = space;
+            this.body = body;
+            int hash = 0x811c9dc5 ^ code.getId();
+            for (byte b : body) {
+                hash = (hash ^ (b & 0xff)) * 0x01000193;
+            }
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Fingerprint)) {
+                return false;
+            }
+            Fingerprint that = (Fingerprint) o;
+            return hash == that.hash && code == that.code && Arrays.equals(body, that.body);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+    }
+
+}
@@ -0,0 +1,138 @@
+package org.tarantool;
+
+import java.io.IOException;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.Arrays;
+
+/**
+ * Requests taken by the writer to be sent by a single gathering write.
+ * <p>
+ * The batch is confined to the writer.
+ */
+final class RequestBatch {
+
+    /**
+     * Limit of buffers passed to one write call.
+     * A single request is never split between batches though.
+     */
+    static final int MAX_BUFFERS = 256;
+
+    private ByteBuffer[] buffers = new ByteBuffer[MAX_BUFFERS];
+    private RequestFrame[] frames = new RequestFrame[MAX_BUFFERS];
+    private int bufferCount;
+    private int frameCount;
+    private int offset;
+    private long bytes;
+
+    /**
+     * Adds a completed request to the batch.
+     *
+     * @param frame request
+     *
+     * @return {@code false} if the batch is full
+     */
+    boolean add(RequestFrame frame) {
+        int parts = frame.partCount();
+        if (bufferCount + parts > MAX_BUFFERS) {
+            if (frameCount > 0) {
+                return false;
+            }
+            buffers = Arrays.copyOf(buffers, parts);
+        }
+        System.arraycopy(frame.parts(), 0, buffers, bufferCount, parts);
+        bufferCount += parts;
+        if (frameCount == frames.length) {
+            frames = Arrays.copyOf(frames, frameCount * 2);
+        }
+        frames[frameCount++] = frame;
+        bytes += frame.size();
+        return true;
+    }
+
+    boolean isEmpty() {
+        return frameCount == 0;
+    }
+
+    int size() {
+        return frameCount;
+    }
+
+    /**
+     * Gets total size of the taken requests.
+     *
+     * @return amount of bytes
+     */
+    long bytes() {
+        return bytes;
+    }
+
+    /**
+     * Writes as many bytes as the channel accepts.
+     *
+     * @param channel non-blocking channel
+     *
+     * @return {@code true} if the whole batch is written
+     *
+     * @throws IOException if the write fails
+     */
+    boolean write(GatheringByteChannel channel) throws IOException {
+        while (offset < bufferCount) {
+            long written = channel.write(buffers, offset, bufferCount - offset);
+            if (written < 0) {
+                throw new SocketException("write failed code: " + written);
+            }
+            while (offset < bufferCount && !buffers[offset].hasRemaining()) {
+                offset++;
+            }
+            if (written == 0 && offset < bufferCount) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the whole batch spinning while the channel is not ready.
+     *
+     * @param channel non-blocking channel
+     *
+     * @throws IOException if the write fails
+     */
+    void writeFully(GatheringByteChannel channel) throws IOException {
+        while (!write(channel)) {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Returns written frames to the pool and empties the batch.
+     *
+     * @param pool frame pool
+     */
+    void recycle(RequestFramePool pool) {
+        for (int i = 0; i < frameCount; i++) {
+            pool.release(frames[i]);
+            frames[i] = null;
+        }
+        Arrays.fill(buffers, 0, bufferCount, null);
+        frameCount = 0;
+        bufferCount = 0;
+        offset = 0;
+        bytes = 0;
+    }
+
+    /**
+     * Drops taken frames without writing them.
+     */
+    void clear() {
+        Arrays.fill(frames, 0, frameCount, null);
+        Arrays.fill(buffers, 0, bufferCount, null);
+        frameCount = 0;
+        bufferCount = 0;
+        offset = 0;
+        bytes = 0;
+    }
+
+}
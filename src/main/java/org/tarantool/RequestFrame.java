@@ -0,0 +1,196 @@
+package org.tarantool;
+
+import org.tarantool.protocol.ByteBufferOutputStream;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Reusable direct buffer holding a single encoded request
+ * on its way from a caller to the socket.
+ * <p>
+ * Large binary values may be kept as references to the caller's
+ * arrays instead of being copied. In this case the request consists
+ * of several parts which are written by one gathering write.
+ */
+final class RequestFrame {
+
+    private final FrameOutputStream output;
+    private final int binaryReferenceThreshold;
+
+    /**
+     * Caller's arrays and positions in the frame buffer they are inserted at.
+     */
+    private byte[][] references = new byte[0][];
+    private int[] referenceOffsets = new int[0];
+    private int[] referenceLengths = new int[0];
+    private int[] insertPositions = new int[0];
+    private int referenceCount;
+    private long referencedBytes;
+
+    private ByteBuffer[] parts = new ByteBuffer[1];
+    private int partCount;
+    private int size;
+
+    RequestFrame(int initialCapacity) {
+        this(initialCapacity, 0);
+    }
+
+    RequestFrame(int initialCapacity, int binaryReferenceThreshold) {
+        this.output = new FrameOutputStream(initialCapacity);
+        this.binaryReferenceThreshold = binaryReferenceThreshold;
+    }
+
+    /**
+     * Gets the stream to encode the request into.
+     *
+     * @return empty stream
+     */
+    ByteBufferOutputStream output() {
+        return output;
+    }
+
+    /**
+     * Gets a mark of the encoded content to roll back to.
+     *
+     * @return opaque mark
+     *
+     * @see #rollback(long)
+     */
+    long mark() {
+        return (long) referenceCount << 32 | output.position();
+    }
+
+    /**
+     * Drops requests encoded after the mark, e.g. a request of
+     * a batch which failed to be encoded.
+     *
+     * @param mark mark taken before the request is encoded
+     */
+    void rollback(long mark) {
+        int count = (int) (mark >>> 32);
+        for (int i = count; i < referenceCount; i++) {
+            referencedBytes -= referenceLengths[i];
+            references[i] = null;
+        }
+        referenceCount = count;
+        output.truncate((int) mark);
+    }
+
+    /**
+     * Finishes encoding.
+     */
+    void complete() {
+        size = output.size();
+        ByteBuffer buffer = output.flip();
+        partCount = 0;
+        if (referenceCount == 0) {
+            parts[partCount++] = buffer;
+            return;
+        }
+        if (parts.length < referenceCount * 2 + 1) {
+            parts = new ByteBuffer[referenceCount * 2 + 1];
+        }
+        int position = 0;
+        for (int i = 0; i < referenceCount; i++) {
+            if (insertPositions[i] > position) {
+                parts[partCount++] = slice(buffer, position, insertPositions[i]);
+                position = insertPositions[i];
+            }
+            parts[partCount++] = ByteBuffer.wrap(references[i], referenceOffsets[i], referenceLengths[i]);
+        }
+        if (buffer.limit() > position) {
+            parts[partCount++] = slice(buffer, position, buffer.limit());
+        }
+    }
+
+    /**
+     * Gets buffers of the completed request.
+     * Only first {@link #partCount()} elements are valid.
+     *
+     * @return request parts ready to be written
+     */
+    ByteBuffer[] parts() {
+        return parts;
+    }
+
+    int partCount() {
+        return partCount;
+    }
+
+    /**
+     * Gets size of the completed request regardless of
+     * how many bytes are already written.
+     *
+     * @return request size in bytes
+     */
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return output.capacity();
+    }
+
+    void reset() {
+        output.clear();
+        Arrays.fill(references, 0, referenceCount, null);
+        Arrays.fill(parts, 0, partCount, null);
+        referenceCount = 0;
+        referencedBytes = 0;
+        partCount = 0;
+        size = 0;
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int from, int to) {
+        ByteBuffer slice = buffer.duplicate();
+        slice.limit(to).position(from);
+        return slice;
+    }
+
+    private void addReference(byte[] bytes, int offset, int length) {
+        if (referenceCount == references.length) {
+            int capacity = Math.max(4, referenceCount * 2);
+            references = Arrays.copyOf(references, capacity);
+            referenceOffsets = Arrays.copyOf(referenceOffsets, capacity);
+            referenceLengths = Arrays.copyOf(referenceLengths, capacity);
+            insertPositions = Arrays.copyOf(insertPositions, capacity);
+        }
+        references[referenceCount] = bytes;
+        referenceOffsets[referenceCount] = offset;
+        referenceLengths[referenceCount] = length;
+        insertPositions[referenceCount] = output.position();
+        referenceCount++;
+        referencedBytes += length;
+    }
+
+    /**
+     * Keeps large arrays as references.
+     */
+    private final class FrameOutputStream extends ByteBufferOutputStream {
+
+        FrameOutputStream(int initialCapacity) {
+            super(initialCapacity, true);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            if (binaryReferenceThreshold > 0 && length >= binaryReferenceThreshold) {
+                addReference(bytes, offset, length);
+            } else {
+                super.write(bytes, offset, length);
+            }
+        }
+
+        @Override
+        public int size() {
+            long size = position() + referencedBytes;
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Request is too large");
+            }
+            return (int) size;
+        }
+
+    }
+
+}
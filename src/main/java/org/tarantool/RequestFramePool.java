@@ -0,0 +1,80 @@
+package org.tarantool;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free pool of request frames.
+ * <p>
+ * Callers take frames to encode requests and the writer returns them
+ * back once they are written, so the buffers (including their direct
+ * memory) are not allocated per request. Frames are kept in a ring
+ * which is filled only by the writer and drained by any caller
+ * claiming a frame with CAS on the head sequence.
+ * <p>
+ * If there is no free frame a new one is created and if there is
+ * no room to return a frame it is dropped.
+ */
+final class RequestFramePool {
+
+    private static final int SLOTS = 256;
+
+    /**
+     * Frames which grew larger than this amount of requests
+     * of the initial size are not retained.
+     */
+    private static final int MAX_RETAINED_FACTOR = 16;
+
+    private final AtomicReferenceArray<RequestFrame> slots = new AtomicReferenceArray<>(SLOTS);
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final int initialCapacity;
+    private final int binaryReferenceThreshold;
+    private final int maxRetainedCapacity;
+
+    RequestFramePool(int initialCapacity, int binaryReferenceThreshold) {
+        this.initialCapacity = initialCapacity;
+        this.binaryReferenceThreshold = binaryReferenceThreshold;
+        this.maxRetainedCapacity = initialCapacity * MAX_RETAINED_FACTOR;
+    }
+
+    /**
+     * Takes a free frame. Can be called by any thread.
+     *
+     * @return empty frame
+     */
+    RequestFrame acquire() {
+        while (true) {
+            long index = head.get();
+            if (index == tail.get()) {
+                return new RequestFrame(initialCapacity, binaryReferenceThreshold);
+            }
+            int slot = (int) index & (SLOTS - 1);
+            RequestFrame frame = slots.get(slot);
+            if (frame != null && head.compareAndSet(index, index + 1)) {
+                slots.lazySet(slot, null);
+                return frame;
+            }
+        }
+    }
+
+    /**
+     * Returns a written frame. Can be called only by the writer.
+     *
+     * @param frame frame to be reused
+     */
+    void release(RequestFrame frame) {
+        if (frame.capacity() > maxRetainedCapacity) {
+            return;
+        }
+        long index = tail.get();
+        int slot = (int) index & (SLOTS - 1);
+        if (index - head.get() >= SLOTS || slots.get(slot) != null) {
+            return;
+        }
+        frame.reset();
+        slots.set(slot, frame);
+        tail.lazySet(index + 1);
+    }
+
+}
@@ -0,0 +1,149 @@
+package org.tarantool;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded lock-free queue of encoded requests waiting to be written.
+ * <p>
+ * Any thread may offer a request whereas only one writer is allowed
+ * to take them. A producer claims a slot by CAS on the tail sequence
+ * and then publishes the request into the slot, so producers don't
+ * serialize on a lock. The writer spins for a short while when the
+ * queue is empty and then parks until a producer wakes it up.
+ * <p>
+ * The queue is limited both by the number of slots and by the total
+ * amount of queued bytes. A request which alone exceeds the byte limit
+ * is accepted only when the queue is empty.
+ */
+final class RequestQueue {
+
+    private static final int MIN_SLOTS = 64;
+    private static final int MAX_SLOTS = 1 << 16;
+
+    /**
+     * Expected lower bound of a request size used
+     * to estimate the number of slots.
+     */
+    private static final int MIN_REQUEST_SIZE = 16;
+
+    private static final int SPINS = 64;
+
+    private final AtomicReferenceArray<RequestFrame> slots;
+    private final int mask;
+    private final long byteCapacity;
+
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong queuedBytes = new AtomicLong();
+
+    private volatile Thread waiter;
+
+    RequestQueue(int byteCapacity) {
+        int estimate = Math.min(Math.max(byteCapacity / MIN_REQUEST_SIZE, MIN_SLOTS), MAX_SLOTS);
+        int capacity = Integer.highestOneBit(estimate - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.byteCapacity = byteCapacity;
+    }
+
+    /**
+     * Tries to enqueue a request. Can be called by any thread.
+     *
+     * @param request completed request frame
+     *
+     * @return {@code false} if the queue is full
+     */
+    boolean offer(RequestFrame request) {
+        int size = request.size();
+        long bytes = queuedBytes.addAndGet(size);
+        if (bytes > byteCapacity && bytes != size) {
+            queuedBytes.addAndGet(-size);
+            return false;
+        }
+        long index;
+        do {
+            index = tail.get();
+            if (index - head.get() >= slots.length()) {
+                queuedBytes.addAndGet(-size);
+                return false;
+            }
+        } while (!tail.compareAndSet(index, index + 1));
+        slots.set((int) index & mask, request);
+
+        Thread thread = waiter;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the oldest request without removing it.
+     * Can be called only by the writer.
+     *
+     * @return request or {@code null} if there is nothing published yet
+     */
+    RequestFrame peek() {
+        return slots.get((int) head.get() & mask);
+    }
+
+    /**
+     * Removes the oldest request. Can be called only by the writer.
+     *
+     * @return request or {@code null} if there is nothing published yet
+     */
+    RequestFrame poll() {
+        long index = head.get();
+        int slot = (int) index & mask;
+        RequestFrame request = slots.get(slot);
+        if (request == null) {
+            return null;
+        }
+        queuedBytes.addAndGet(-request.size());
+        slots.lazySet(slot, null);
+        head.lazySet(index + 1);
+        return request;
+    }
+
+    boolean isEmpty() {
+        return peek() == null;
+    }
+
+    /**
+     * Blocks the writer until a request is published.
+     *
+     * @throws InterruptedException if the writer is interrupted
+     */
+    void awaitNotEmpty() throws InterruptedException {
+        for (int i = 0; i < SPINS; i++) {
+            if (!isEmpty()) {
+                return;
+            }
+            Thread.yield();
+        }
+        waiter = Thread.currentThread();
+        try {
+            while (isEmpty()) {
+                LockSupport.park(this);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        } finally {
+            waiter = null;
+        }
+    }
+
+    /**
+     * Drops all the published requests.
+     * Can be called only when the writer is not running.
+     */
+    void clear() {
+        while (poll() != null) {
+            // drop
+        }
+    }
+
+}
@@ -23,6 +23,17 @@ public class SingleSocketChannelProviderImpl extends BaseSocketChannelProvider {
         setAddress(address);
     }
 
+    /**
+     *  Creates a simple provider which opens sockets with the given options.
+     *
+     * @param address       instance address
+     * @param socketOptions socket options or {@code null} to keep the defaults
+     */
+    public SingleSocketChannelProviderImpl(String address, SocketOptions socketOptions) {
+        this(address);
+        setSocketOptions(socketOptions);
+    }
+
     public SocketAddress getAddress() {
         return address;
     }
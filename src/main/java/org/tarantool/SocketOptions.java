@@ -0,0 +1,81 @@
+package org.tarantool;
+
+import java.net.Socket;
+import java.net.SocketException;
+
+/**
+ * TCP options of a socket used to connect to a Tarantool instance.
+ * <br>
+ * Options are applied before the socket is connected, so buffer
+ * sizes above 64K can affect the TCP window negotiated on connect.
+ * Unset ({@code null}) options keep the platform defaults.
+ *
+ * @see BaseSocketChannelProvider#setSocketOptions(SocketOptions)
+ * @see TarantoolClientConfig#socketOptions
+ */
+public class SocketOptions {
+
+    /**
+     * Disables Nagle's algorithm (TCP_NODELAY).
+     */
+    public Boolean tcpNoDelay;
+
+    /**
+     * Enables TCP keep-alive probes (SO_KEEPALIVE).
+     */
+    public Boolean keepAlive;
+
+    /**
+     * Size of the socket send buffer (SO_SNDBUF). Setting it close to
+     * {@link TarantoolClientConfig#sharedBufferSize} lets the kernel take
+     * a whole batch of queued requests by one write.
+     */
+    public Integer sendBufferSize;
+
+    /**
+     * Size of the socket receive buffer (SO_RCVBUF).
+     */
+    public Integer receiveBufferSize;
+
+    /**
+     * Value of the IP traffic class or type-of-service octet (IP_TOS).
+     */
+    public Integer trafficClass;
+
+    /**
+     * Sets all the specified options on the socket.
+     *
+     * @param socket unconnected socket
+     *
+     * @throws SocketException if an option cannot be set
+     */
+    public void apply(Socket socket) throws SocketException {
+        if (tcpNoDelay != null) {
+            socket.setTcpNoDelay(tcpNoDelay);
+        }
+        if (keepAlive != null) {
+            socket.setKeepAlive(keepAlive);
+        }
+        if (sendBufferSize != null) {
+            socket.setSendBufferSize(sendBufferSize);
+        }
+        if (receiveBufferSize != null) {
+            socket.setReceiveBufferSize(receiveBufferSize);
+        }
+        if (trafficClass != null) {
+            socket.setTrafficClass(trafficClass);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SocketOptions{" +
+            "tcpNoDelay=" + tcpNoDelay +
+            ", keepAlive=" + keepAlive +
+            ", sendBufferSize=" + sendBufferSize +
+            ", receiveBufferSize=" + receiveBufferSize +
+            ", trafficClass=" + trafficClass +
+            '}';
+    }
+
+}
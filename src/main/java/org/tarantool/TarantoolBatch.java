@@ -0,0 +1,167 @@
+package org.tarantool;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Collects independent operations to send them at once.
+ * <br>
+ * On {@link #submit()} all the operations are encoded back to back
+ * into a single frame, admitted by one in-flight step and handed to
+ * the writer together, so the whole batch is pipelined regardless of
+ * how busy the writer is. Every operation still has its own future
+ * and fails on its own, including an operation which arguments
+ * cannot be encoded.
+ * <p>
+ * A batch is not thread-safe and can be submitted only once.
+ *
+ * <pre>{@code
+ * TarantoolBatch.Result result = client.batch()
+ *     .replace(space, Arrays.asList(1, "a"))
+ *     .replace(space, Arrays.asList(2, "b"))
+ *     .select(space, 0, Collections.singletonList(1), 0, 1, Iterator.EQ)
+ *     .submit();
+ * result.getCompletionStage().thenAccept(all -> ...);
+ * }</pre>
+ *
+ * @see TarantoolClientImpl#batch()
+ * @see TarantoolPooledClient#batch()
+ */
+public class TarantoolBatch extends AbstractTarantoolOps<Integer, List<?>, Object, TarantoolBatch> {
+
+    private final Executor executor;
+    private final List<Code> codes = new ArrayList<>();
+    private final List<Object[]> args = new ArrayList<>();
+    private boolean submitted;
+
+    TarantoolBatch(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Creates a batch which calls functions the same way other
+     * ops of the client do.
+     *
+     * @param config   client configuration
+     * @param executor sender of the batch
+     *
+     * @return empty batch
+     */
+    static TarantoolBatch create(TarantoolClientConfig config, Executor executor) {
+        TarantoolBatch batch = new TarantoolBatch(executor);
+        if (config.useNewCall) {
+            batch.setCallCode(Code.CALL);
+        }
+        return batch;
+    }
+
+    /**
+     * Adds an operation to the batch.
+     *
+     * @return this batch
+     */
+    @Override
+    protected TarantoolBatch exec(Code code, Object... args) {
+        if (submitted) {
+            throw new IllegalStateException("Batch is already submitted");
+        }
+        codes.add(code);
+        this.args.add(args);
+        return this;
+    }
+
+    /**
+     * Gets the number of the collected operations.
+     *
+     * @return batch size
+     */
+    public int size() {
+        return codes.size();
+    }
+
+    /**
+     * Sends all the collected operations.
+     *
+     * @return futures of the operations
+     */
+    @SuppressWarnings("unchecked")
+    public Result submit() {
+        if (submitted) {
+            throw new IllegalStateException("Batch is already submitted");
+        }
+        submitted = true;
+        List<CompletableFuture<?>> futures = codes.isEmpty()
+            ? Collections.emptyList()
+            : executor.execute(codes, args);
+        return new Result((List<CompletableFuture<List<?>>>) (List<?>) futures);
+    }
+
+    @Override
+    public void close() {
+        throw new IllegalStateException("You should close TarantoolClient instead.");
+    }
+
+    /**
+     * Sends a batch of operations.
+     */
+    interface Executor {
+
+        /**
+         * Sends the operations.
+         *
+         * @param codes codes of the operations
+         * @param args  arguments of the operations
+         *
+         * @return futures of the operations in the same order
+         */
+        List<CompletableFuture<?>> execute(List<Code> codes, List<Object[]> args);
+
+    }
+
+    /**
+     * Futures of a submitted batch.
+     */
+    public static class Result {
+
+        private final List<CompletableFuture<List<?>>> futures;
+        private final CompletionStage<List<List<?>>> completionStage;
+
+        Result(List<CompletableFuture<List<?>>> futures) {
+            this.futures = Collections.unmodifiableList(futures);
+            this.completionStage = CompletableFuture
+                .allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    List<List<?>> results = new ArrayList<>(futures.size());
+                    for (CompletableFuture<List<?>> future : futures) {
+                        results.add(future.join());
+                    }
+                    return results;
+                });
+        }
+
+        /**
+         * Gets futures of the operations in the order they were added.
+         *
+         * @return operation futures
+         */
+        public List<CompletableFuture<List<?>>> getFutures() {
+            return futures;
+        }
+
+        /**
+         * Gets a stage which is completed when all the operations are
+         * completed. The stage holds results in the order the operations
+         * were added or fails if any of the operations fails.
+         *
+         * @return combined stage
+         */
+        public CompletionStage<List<List<?>>> getCompletionStage() {
+            return completionStage;
+        }
+
+    }
+
+}
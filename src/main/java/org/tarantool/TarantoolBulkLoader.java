@@ -0,0 +1,365 @@
+package org.tarantool;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Loads a large amount of tuples into a space keeping a bounded
+ * window of requests in flight.
+ * <br>
+ * A producer calls {@link #insert(List)}, {@link #replace(List)} or
+ * {@link #upsert(List, Object...)} which return as soon as the request
+ * is sent and block while the window is full. The window is tuned by
+ * the observed throughput: it grows while more requests in flight make
+ * the server complete more of them per second and shrinks when they
+ * don't, when the latency approaches half of the given latency limit
+ * or when the server reports overload.
+ * <p>
+ * Transient server errors (such as a read-only instance or a timeout),
+ * operation timeouts and in-flight limit rejections are retried with
+ * an exponential backoff keeping the request in the window. An insert
+ * which timed out may have been applied and is not retried as it'd
+ * fail with a duplicate key then: it's counted as indeterminate and
+ * passed to the failure handler with its {@link TimeoutException}.
+ * Other errors and exhausted retries are counted as failed and passed
+ * to the failure handler.
+ * <p>
+ * Loading methods may be called by several producers concurrently.
+ *
+ * <pre>{@code
+ * try (TarantoolBulkLoader loader = new TarantoolBulkLoader(client.composableAsyncOps(), spaceId)) {
+ *     loader.setFailureHandler((tuple, error) -> log.warn("Not loaded {}", tuple, error));
+ *     for (List<?> tuple : source) {
+ *         loader.replace(tuple);
+ *     }
+ * }
+ * }</pre>
+ */
+public class TarantoolBulkLoader implements AutoCloseable {
+
+    private static final int DEFAULT_MAX_WINDOW = 4096;
+    private static final int DEFAULT_MAX_RETRIES = 5;
+    private static final long DEFAULT_LATENCY_LIMIT_MILLIS = 60 * 1000L;
+
+    private static final int INITIAL_WINDOW = 16;
+    private static final int MIN_WINDOW = 1;
+    private static final long BASE_BACKOFF_MILLIS = 10;
+    private static final long MAX_BACKOFF_MILLIS = 1000;
+
+    private final TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> ops;
+    private final int space;
+    private final int maxRetries;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition windowChanged = lock.newCondition();
+    private final AdaptiveWindow window;
+    private int inFlight;
+    private boolean closed;
+
+    private final AtomicLong loaded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong indeterminate = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private volatile long startTime;
+    private volatile BiConsumer<List<?>, Throwable> failureHandler = (tuple, error) -> { };
+
+    /**
+     * Creates a loader with up to 4096 requests in flight, 5 retries
+     * of an operation and a latency limit of a minute (the default
+     * {@link TarantoolClientConfig#writeTimeoutMillis}).
+     *
+     * @param ops   operations to send requests through
+     * @param space target space id
+     */
+    public TarantoolBulkLoader(TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> ops,
+                               int space) {
+        this(ops, space, DEFAULT_MAX_WINDOW, DEFAULT_MAX_RETRIES, DEFAULT_LATENCY_LIMIT_MILLIS);
+    }
+
+    /**
+     * Creates a loader.
+     * <p>
+     * The window should not exceed the in-flight limit of the client
+     * (see {@link TarantoolClientConfig#maxInFlightRequests}), otherwise
+     * rejected requests are retried and counted as failed eventually.
+     *
+     * @param ops                operations to send requests through
+     * @param space              target space id
+     * @param maxWindow          highest number of requests in flight
+     * @param maxRetries         number of retries of an operation failed by a transient error
+     * @param latencyLimitMillis latency the operations must stay well below, usually the write
+     *                           timeout of the client; the window shrinks when the average
+     *                           latency approaches half of it
+     */
+    public TarantoolBulkLoader(TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> ops,
+                               int space,
+                               int maxWindow,
+                               int maxRetries,
+                               long latencyLimitMillis) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("Number of retries must not be negative");
+        }
+        if (latencyLimitMillis <= 0) {
+            throw new IllegalArgumentException("Latency limit must be positive");
+        }
+        this.ops = ops;
+        this.space = space;
+        this.maxRetries = maxRetries;
+        this.window = new AdaptiveWindow(
+            INITIAL_WINDOW, MIN_WINDOW, maxWindow, TimeUnit.MILLISECONDS.toNanos(latencyLimitMillis)
+        );
+    }
+
+    /**
+     * Sets a receiver of tuples which are failed to be loaded.
+     * The handler is called by client threads and must be fast.
+     *
+     * @param failureHandler receiver of a tuple and its error
+     */
+    public void setFailureHandler(BiConsumer<List<?>, Throwable> failureHandler) {
+        this.failureHandler = failureHandler;
+    }
+
+    public void insert(List<?> tuple) {
+        submit(new Operation(Code.INSERT, tuple, null));
+    }
+
+    public void replace(List<?> tuple) {
+        submit(new Operation(Code.REPLACE, tuple, null));
+    }
+
+    public void upsert(List<?> tuple, Object... ops) {
+        submit(new Operation(Code.UPSERT, tuple, ops));
+    }
+
+    /**
+     * Waits until all the sent operations are completed.
+     */
+    public void flush() {
+        lock.lock();
+        try {
+            while (inFlight > 0) {
+                windowChanged.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CommunicationException("Interrupted", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for the sent operations and prevents new ones.
+     */
+    @Override
+    public void close() {
+        flush();
+        lock.lock();
+        try {
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getLoaded() {
+        return loaded.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * Gets the number of inserts which timed out, so they may
+     * or may not be loaded.
+     *
+     * @return number of operations with unknown outcome
+     */
+    public long getIndeterminate() {
+        return indeterminate.get();
+    }
+
+    public long getRetries() {
+        return retries.get();
+    }
+
+    /**
+     * Gets the current limit of requests in flight.
+     *
+     * @return window size
+     */
+    public int getWindow() {
+        lock.lock();
+        try {
+            return window.getLimit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the average number of loaded tuples per second
+     * since the first operation.
+     *
+     * @return tuples per second
+     */
+    public double getThroughput() {
+        long start = startTime;
+        if (start == 0) {
+            return 0;
+        }
+        long elapsed = System.nanoTime() - start;
+        return elapsed <= 0 ? 0 : loaded.get() * 1e9 / elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return "TarantoolBulkLoader{" +
+            "loaded=" + getLoaded() +
+            ", failed=" + getFailed() +
+            ", indeterminate=" + getIndeterminate() +
+            ", retries=" + getRetries() +
+            ", window=" + getWindow() +
+            ", throughput=" + String.format("%.1f", getThroughput()) + "/s" +
+            '}';
+    }
+
+    private void submit(Operation operation) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Loader is closed");
+            }
+            while (inFlight >= window.getLimit()) {
+                windowChanged.await();
+            }
+            inFlight++;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CommunicationException("Interrupted", e);
+        } finally {
+            lock.unlock();
+        }
+        if (startTime == 0) {
+            startTime = System.nanoTime();
+        }
+        send(operation);
+    }
+
+    private void send(Operation operation) {
+        long sentAt = System.nanoTime();
+        CompletionStage<List<?>> result;
+        try {
+            result = operation.send();
+        } catch (Exception e) {
+            onComplete(operation, sentAt, e);
+            return;
+        }
+        result.whenComplete((value, error) -> onComplete(operation, sentAt, error));
+    }
+
+    private void onComplete(Operation operation, long sentAt, Throwable error) {
+        long latency = System.nanoTime() - sentAt;
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+            ? error.getCause()
+            : error;
+        boolean overload = cause != null && isOverload(cause);
+        boolean unknown = cause instanceof TimeoutException && !operation.isIdempotent();
+        boolean retry = overload && !unknown && operation.attempts < maxRetries;
+        // account the result before the slot is released,
+        // so it's visible once flush() returns
+        if (cause == null) {
+            loaded.incrementAndGet();
+        } else if (retry) {
+            retries.incrementAndGet();
+        } else {
+            if (unknown) {
+                indeterminate.incrementAndGet();
+            } else {
+                failed.incrementAndGet();
+            }
+            try {
+                failureHandler.accept(operation.tuple, cause);
+            } catch (Exception ignored) {
+                // the handler must not break the loading
+            }
+        }
+        lock.lock();
+        try {
+            if (cause == null) {
+                window.onSuccess(latency, System.nanoTime());
+            } else if (overload) {
+                window.onOverload();
+            }
+            if (!retry) {
+                inFlight--;
+                windowChanged.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (retry) {
+            long backoff = Math.min(BASE_BACKOFF_MILLIS << operation.attempts++, MAX_BACKOFF_MILLIS);
+            // the timer thread must not be blocked by a full send queue
+            HashedWheelTimer.shared().schedule(
+                () -> ForkJoinPool.commonPool().execute(() -> send(operation)), backoff, TimeUnit.MILLISECONDS
+            );
+        }
+    }
+
+    private static boolean isOverload(Throwable error) {
+        if (error instanceof TarantoolException) {
+            return TarantoolException.isTransient(((TarantoolException) error).getErrorCode());
+        }
+        return error instanceof TimeoutException || error instanceof RejectedExecutionException;
+    }
+
+    private final class Operation {
+
+        private final Code code;
+        private final List<?> tuple;
+        private final Object[] updateOps;
+        private int attempts;
+
+        Operation(Code code, List<?> tuple, Object[] updateOps) {
+            this.code = code;
+            this.tuple = tuple;
+            this.updateOps = updateOps;
+        }
+
+        /**
+         * Checks whether the operation can be repeated after it might
+         * have been applied. Rejected operations are never sent, so
+         * they're retried regardless.
+         *
+         * @return {@code true} for replaces and upserts
+         */
+        boolean isIdempotent() {
+            return code != Code.INSERT;
+        }
+
+        CompletionStage<List<?>> send() {
+            switch (code) {
+            case INSERT:
+                return ops.insert(space, tuple);
+            case REPLACE:
+                return ops.replace(space, tuple);
+            default:
+                return ops.upsert(space, tuple, tuple, updateOps);
+            }
+        }
+
+    }
+
+}
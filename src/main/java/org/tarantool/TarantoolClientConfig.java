@@ -1,5 +1,8 @@
 package org.tarantool;
 
+import java.util.Collections;
+import java.util.Set;
+
 public class TarantoolClientConfig {
 
     /**
@@ -8,34 +11,77 @@ public class TarantoolClientConfig {
     public String username;
     public String password;
 
+    /**
+     * TCP options of the sockets opened by the providers which the
+     * clients create from addresses. A custom provider takes them
+     * through {@link BaseSocketChannelProvider#setSocketOptions(SocketOptions)}.
+     */
+    public SocketOptions socketOptions;
+
     /**
      * Default request size when make query serialization.
      */
     public int defaultRequestSize = 4096;
 
     /**
-     * Initial capacity for the map which holds futures of sent request.
+     * Expected amount of requests waiting for responses.
+     * The registry of sent requests grows beyond it on demand
+     * and shrinks back when the load goes down.
      */
-    public int predictedFutures = (int) ((1024 * 1024) / 0.75) + 1;
+    public int predictedFutures = 1024;
 
     public int writerThreadPriority = Thread.NORM_PRIORITY;
     public int readerThreadPriority = Thread.NORM_PRIORITY;
 
     /**
-     * Shared buffer size (place where client collects requests
-     * when socket is busy on write).
+     * Shared buffer size (limit of bytes of requests which
+     * the client collects when socket is busy on write).
      */
     public int sharedBufferSize = 8 * 1024 * 1024;
 
+    /**
+     * Initial size of the buffer which responses are received into.
+     * The buffer grows to fit a larger response and is shrunk back
+     * after a while.
+     */
+    public int readerBufferSize = 64 * 1024;
+
     /**
      * Factor to calculate a threshold whether request will be accommodated
      * in the shared buffer.
-     * <p>
-     * if request size exceeds <code>directWriteFactor * sharedBufferSize</code>
-     * request is sent directly.
+     *
+     * @deprecated all the requests are queued and sent by gathering
+     *     writes now, so the value is ignored
      */
+    @Deprecated
     public double directWriteFactor = 0.5d;
 
+    /**
+     * Maximum time the writer thread may wait for more requests to
+     * send them by one write call. The writer waits only while requests
+     * keep arriving fast enough, an idle client flushes at once.
+     * <p>
+     * Zero value disables the coalescing. The shared event loop
+     * transport doesn't linger.
+     */
+    public long writeLingerMicros = 0;
+
+    /**
+     * Amount of queued bytes which makes the lingering writer
+     * flush without waiting anymore.
+     */
+    public int writeCoalesceBytes = 64 * 1024;
+
+    /**
+     * Minimal size of a binary argument ({@code byte[]}) which is sent
+     * straight from the caller's array instead of being copied into
+     * the request buffer. Such an array must not be modified until
+     * the request is completed.
+     * <p>
+     * Zero value disables the referencing.
+     */
+    public int binaryReferenceThreshold = 0;
+
     /**
      * Use old call command https://github.com/tarantool/doc/issues/54,
      * please ensure that you server supports new call command.
@@ -48,4 +94,73 @@ public class TarantoolClientConfig {
     public long initTimeoutMillis = 60 * 1000L;
     public long writeTimeoutMillis = 60 * 1000L;
 
+    /**
+     * Maximum amount of requests sent through the connection and
+     * waiting for responses. Synchronous operations wait for a free
+     * slot up to {@link #writeTimeoutMillis}, asynchronous ones fail
+     * at once with {@link java.util.concurrent.RejectedExecutionException}.
+     * A {@link TarantoolPooledClient} applies the limit to all its
+     * connections together.
+     * <p>
+     * Zero value disables the limit.
+     */
+    public int maxInFlightRequests = 0;
+
+    /**
+     * Deadline of every operation since it's issued. An operation which
+     * doesn't get a response in time fails with
+     * {@link java.util.concurrent.TimeoutException}, sync operations
+     * throw {@link CommunicationException} caused by it. Fire-and-forget
+     * requests which got no response leave the registry of sent requests
+     * by the same deadline.
+     * <p>
+     * Zero value disables the deadlines. Operations which need another
+     * deadline can be taken from {@link TarantoolClientImpl#syncOps(long, java.util.concurrent.TimeUnit)}
+     * and its async counterparts.
+     */
+    public long operationTimeoutMillis = 0;
+
+    /**
+     * Shared group of IO threads to serve the connection.
+     * <p>
+     * If it is not set the client starts own reader and writer threads.
+     * The group is not closed together with the client.
+     */
+    public TarantoolEventLoopGroup eventLoopGroup;
+
+    /**
+     * Cache of select results. The cache may be shared by several
+     * clients, so writes of any of them invalidate it.
+     * <p>
+     * If it is not set selects are always sent to the server.
+     */
+    public TarantoolSelectCache selectCache;
+
+    /**
+     * Whether identical selects which are in flight at the same
+     * moment share one request.
+     *
+     * @see #coalescedFunctions
+     */
+    public boolean coalesceReads = false;
+
+    /**
+     * Names of functions which don't change data, so their identical
+     * calls are coalesced like selects if {@link #coalesceReads} is set.
+     * Other calls and evals are never coalesced.
+     */
+    public Set<String> coalescedFunctions = Collections.emptySet();
+
+    /**
+     * Whether the client loads spaces and indexes once per connection
+     * and sends the schema version with every request. A request built
+     * by an outdated schema is retried after the schema is reloaded.
+     * <p>
+     * It enables names of spaces, indexes and fields in operations.
+     *
+     * @see TarantoolClientImpl#namedSyncOps()
+     * @see TarantoolClientImpl#namedComposableAsyncOps()
+     */
+    public boolean useSchema = false;
+
 }
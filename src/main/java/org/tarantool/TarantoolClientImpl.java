@@ -1,34 +1,54 @@
 package org.tarantool;
 
+import org.tarantool.protocol.DataDecoder;
 import org.tarantool.protocol.ProtoUtils;
 import org.tarantool.protocol.ReadableViaSelectorChannel;
 import org.tarantool.protocol.TarantoolGreeting;
 import org.tarantool.protocol.TarantoolPacket;
+import org.tarantool.protocol.TarantoolPacketDecoder;
+import org.tarantool.util.ConcurrentLongMap;
 
 import java.io.IOException;
-import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectionKey;
 import java.nio.channels.SocketChannel;
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements TarantoolClient {
 
     public static final CommunicationException NOT_INIT_EXCEPTION
         = new CommunicationException("Not connected, initializing connection");
 
+    private static final int SCHEMA_RETRIES = 3;
+    private static final long QUEUE_SPACE_AWAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /**
+     * Stands for fire-and-forget requests which responses return
+     * in-flight permits.
+     */
+    private static final TarantoolOp<?> UNATTENDED_OP = new TarantoolOp<>(Code.PING);
+
     protected TarantoolClientConfig config;
 
     /**
@@ -40,19 +60,38 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
 
     protected volatile Exception thumbstone;
 
-    protected Map<Long, TarantoolOp<?>> futures;
+    protected ConcurrentLongMap<TarantoolOp<?>> futures;
     protected AtomicInteger pendingResponsesCount = new AtomicInteger();
 
+    /**
+     * Limit of requests waiting for responses
+     * or {@code null} if it's not limited.
+     * The window may be shared with other connections of a pool.
+     */
+    private final InFlightWindow inFlightWindow;
+
+    /**
+     * Shares requests of identical reads or {@code null}
+     * if it's disabled.
+     */
+    private ReadCoalescer readCoalescer;
+
+    /**
+     * Loading or loaded schema of the current connection.
+     */
+    private final Object schemaLock = new Object();
+    private volatile CompletableFuture<TarantoolSchema> schemaLoad;
+
     /**
      * Write properties.
      */
-    protected ByteBuffer sharedBuffer;
-    protected ReentrantLock bufferLock = new ReentrantLock(false);
-    protected Condition bufferNotEmpty = bufferLock.newCondition();
-    protected Condition bufferEmpty = bufferLock.newCondition();
+    private RequestQueue requestQueue;
+    private RequestFramePool framePool;
 
-    protected ByteBuffer writerBuffer;
-    protected ReentrantLock writeLock = new ReentrantLock(true);
+    /**
+     * Writer-confined requests which are being written.
+     */
+    private final RequestBatch writeBatch = new RequestBatch();
 
     /**
      * Interfaces.
@@ -60,6 +99,8 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
     protected SyncOps syncOps;
     protected FireAndForgetOps fireAndForgetOps;
     protected ComposableAsyncOps composableAsyncOps;
+    protected NamedSyncOps namedSyncOps;
+    protected NamedComposableAsyncOps namedComposableAsyncOps;
 
     /**
      * Inner.
@@ -68,6 +109,7 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
     protected StateHelper state = new StateHelper(StateHelper.RECONNECT);
     protected Thread reader;
     protected Thread writer;
+    private volatile EventLoopConnection loopConnection;
 
     protected Thread connector = new Thread(new Runnable() {
         @Override
@@ -84,29 +126,55 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
     });
 
     public TarantoolClientImpl(String address, TarantoolClientConfig config) {
-        this(new SingleSocketChannelProviderImpl(address), config);
+        this(new SingleSocketChannelProviderImpl(address, config.socketOptions), config);
     }
 
     public TarantoolClientImpl(SocketChannelProvider socketProvider, TarantoolClientConfig config) {
+        this(
+            socketProvider,
+            config,
+            config.maxInFlightRequests > 0 ? new InFlightWindow(config.maxInFlightRequests) : null
+        );
+    }
+
+    /**
+     * Constructs a client which limits requests in flight by the given
+     * window instead of its own one.
+     *
+     * @param socketProvider socket channel provider
+     * @param config         configuration
+     * @param inFlightWindow window shared with other clients or {@code null}
+     */
+    TarantoolClientImpl(SocketChannelProvider socketProvider,
+                        TarantoolClientConfig config,
+                        InFlightWindow inFlightWindow) {
         super();
         this.thumbstone = NOT_INIT_EXCEPTION;
         this.config = config;
         this.initialRequestSize = config.defaultRequestSize;
         this.socketProvider = socketProvider;
         this.stats = new TarantoolClientStats();
-        this.futures = new ConcurrentHashMap<>(config.predictedFutures);
-        this.sharedBuffer = ByteBuffer.allocateDirect(config.sharedBufferSize);
-        this.writerBuffer = ByteBuffer.allocateDirect(sharedBuffer.capacity());
+        this.futures = new ConcurrentLongMap<>(config.predictedFutures);
+        this.inFlightWindow = inFlightWindow;
+        if (config.coalesceReads) {
+            this.readCoalescer = new ReadCoalescer(stats, config.coalescedFunctions);
+        }
+        this.requestQueue = new RequestQueue(config.sharedBufferSize);
+        this.framePool = new RequestFramePool(config.defaultRequestSize, config.binaryReferenceThreshold);
         this.connector.setDaemon(true);
         this.connector.setName("Tarantool connector");
         this.syncOps = new SyncOps();
         this.composableAsyncOps = new ComposableAsyncOps();
         this.fireAndForgetOps = new FireAndForgetOps();
+        this.namedSyncOps = new NamedSyncOps();
+        this.namedComposableAsyncOps = new NamedComposableAsyncOps();
         if (config.useNewCall) {
             setCallCode(Code.CALL);
             this.syncOps.setCallCode(Code.CALL);
             this.fireAndForgetOps.setCallCode(Code.CALL);
             this.composableAsyncOps.setCallCode(Code.CALL);
+            this.namedSyncOps.setCallCode(Code.CALL);
+            this.namedComposableAsyncOps.setCallCode(Code.CALL);
         }
 
         startConnector(config);
@@ -164,16 +232,40 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
 
         channel.configureBlocking(false);
         this.channel = channel;
-        this.readChannel = new ReadableViaSelectorChannel(channel);
+        // the schema is loaded once per connection
+        synchronized (schemaLock) {
+            schemaLoad = null;
+        }
 
-        bufferLock.lock();
-        try {
-            sharedBuffer.clear();
-        } finally {
-            bufferLock.unlock();
+        requestQueue.clear();
+        writeBatch.clear();
+        if (config.eventLoopGroup != null) {
+            startEventLoop(channel);
+        } else {
+            this.thumbstone = null;
+            this.readChannel = new ReadableViaSelectorChannel(channel);
+            startThreads(channel.socket().getRemoteSocketAddress().toString());
         }
+    }
+
+    /**
+     * Hands the connected channel over to a thread of the shared
+     * event loop group instead of starting own IO threads.
+     * <p>
+     * The new connection is published before the client is seen alive,
+     * so requests sent meanwhile don't go to the previous closed one.
+     *
+     * @param channel connected non-blocking channel
+     */
+    protected void startEventLoop(SocketChannel channel) {
+        EventLoopConnection connection = new EventLoopConnection(config.eventLoopGroup.next(), channel);
+        this.loopConnection = connection;
         this.thumbstone = null;
-        startThreads(channel.socket().getRemoteSocketAddress().toString());
+        connection.register();
+        state.release(StateHelper.RECONNECT);
+        if (!state.acquire(StateHelper.ALIVE)) {
+            connection.close();
+        }
     }
 
     protected void startThreads(String threadName) throws InterruptedException {
@@ -227,53 +319,639 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
     }
 
     protected CompletableFuture<?> doExec(Code code, Object[] args) {
+        return doExec(code, args, false);
+    }
+
+    /**
+     * Executes an operation through the schema, the select cache
+     * and the read coalescer if they're configured.
+     *
+     * @param code           request code
+     * @param args           request body arguments
+     * @param awaitAdmission whether to wait for a free in-flight slot instead of
+     *                       failing the operation at once if the limit is reached
+     *
+     * @return operation to be completed by the response
+     *
+     * @see TarantoolClientConfig#selectCache
+     * @see TarantoolClientConfig#coalesceReads
+     * @see TarantoolClientConfig#useSchema
+     */
+    protected CompletableFuture<?> doExec(Code code, Object[] args, boolean awaitAdmission) {
+        return doExec(code, args, null, awaitAdmission);
+    }
+
+    /**
+     * Executes an operation which response data is decoded by the
+     * given decoder. Such results are neither cached nor shared
+     * with other reads, while writes still invalidate the cache.
+     *
+     * @param code           request code
+     * @param args           request body arguments
+     * @param dataDecoder    decoder of the response data or {@code null}
+     *                       to decode it as lists and maps
+     * @param awaitAdmission whether to wait for a free in-flight slot
+     *
+     * @return operation to be completed by the decoded data
+     *
+     * @see #doExec(Code, Object[], boolean)
+     */
+    protected CompletableFuture<?> doExec(Code code,
+                                          Object[] args,
+                                          DataDecoder<?> dataDecoder,
+                                          boolean awaitAdmission) {
+        return doExec(code, args, dataDecoder, awaitAdmission, config.operationTimeoutMillis);
+    }
+
+    /**
+     * Executes an operation with its own deadline.
+     *
+     * @param code           request code
+     * @param args           request body arguments
+     * @param dataDecoder    decoder of the response data or {@code null}
+     * @param awaitAdmission whether to wait for a free in-flight slot
+     * @param timeoutMillis  deadline of the operation, zero disables it
+     *
+     * @return operation to be completed by the response
+     *
+     * @see #doExec(Code, Object[], DataDecoder, boolean)
+     */
+    protected CompletableFuture<?> doExec(Code code,
+                                          Object[] args,
+                                          DataDecoder<?> dataDecoder,
+                                          boolean awaitAdmission,
+                                          long timeoutMillis) {
+        if (config.useSchema) {
+            return sendWithSchema(code, args, dataDecoder, awaitAdmission, timeoutMillis);
+        }
+        return execCached(code, args, null, dataDecoder, awaitAdmission, timeoutMillis);
+    }
+
+    /**
+     * Sends an operation through the select cache and the read
+     * coalescer if they're configured. Names of the operation must
+     * be already resolved, so the cache sees the ids of spaces
+     * written by name.
+     */
+    private CompletableFuture<?> execCached(Code code,
+                                            Object[] args,
+                                            Long schemaId,
+                                            DataDecoder<?> dataDecoder,
+                                            boolean awaitAdmission,
+                                            long timeoutMillis) {
+        TarantoolSelectCache cache = config.selectCache;
+        ReadCoalescer coalescer = dataDecoder == null ? readCoalescer : null;
+        if (cache == null && coalescer == null) {
+            return send(code, args, schemaId, dataDecoder, null, awaitAdmission, timeoutMillis);
+        }
+        Supplier<CompletableFuture<?>> sender =
+            () -> send(code, args, schemaId, dataDecoder, null, awaitAdmission, timeoutMillis);
+        if (coalescer != null) {
+            Supplier<CompletableFuture<?>> next = sender;
+            sender = () -> coalescer.exec(code, args, next);
+        }
+        if (cache == null) {
+            return sender.get();
+        }
+        return dataDecoder == null ? cache.exec(code, args, sender) : cache.bypass(code, args, sender);
+    }
+
+    /**
+     * Sends a request and registers an operation waiting for its response.
+     *
+     * @param code           request code
+     * @param args           request body arguments
+     * @param schemaId       schema version the request is built for or {@code null}
+     * @param dataDecoder    decoder of the response data or {@code null}
+     * @param template       pre-encoded request the arguments are made by or {@code null}
+     * @param awaitAdmission whether to wait for a free in-flight slot instead of
+     *                       failing the operation at once if the limit is reached
+     *
+     * @return operation to be completed by the response
+     *
+     * @see TarantoolClientConfig#maxInFlightRequests
+     */
+    protected CompletableFuture<?> send(Code code,
+                                        Object[] args,
+                                        Long schemaId,
+                                        DataDecoder<?> dataDecoder,
+                                        TarantoolRequestTemplate template,
+                                        boolean awaitAdmission) {
+        return send(code, args, schemaId, dataDecoder, template, awaitAdmission, config.operationTimeoutMillis);
+    }
+
+    /**
+     * Sends a request which operation has its own deadline.
+     *
+     * @param code           request code
+     * @param args           request body arguments
+     * @param schemaId       schema version the request is built for or {@code null}
+     * @param dataDecoder    decoder of the response data or {@code null}
+     * @param template       pre-encoded request the arguments are made by or {@code null}
+     * @param awaitAdmission whether to wait for a free in-flight slot
+     * @param timeoutMillis  deadline of the operation, zero disables it
+     *
+     * @return operation to be completed by the response
+     */
+    protected CompletableFuture<?> send(Code code,
+                                        Object[] args,
+                                        Long schemaId,
+                                        DataDecoder<?> dataDecoder,
+                                        TarantoolRequestTemplate template,
+                                        boolean awaitAdmission,
+                                        long timeoutMillis) {
         validateArgs(args);
         long sid = syncId.incrementAndGet();
-        TarantoolOp<?> future = new TarantoolOp<>(code);
+        TarantoolOp<?> future = makeOp(sid, code, args);
+        future.setSchemaId(schemaId);
+        future.setDataDecoder(dataDecoder);
+        future.setTemplate(template);
 
         if (isDead(future)) {
             return future;
         }
-        futures.put(sid, future);
+        if (!admit(future, awaitAdmission)) {
+            return future;
+        }
+        registerOp(sid, future);
         if (isDead(future)) {
-            futures.remove(sid);
+            unregisterOp(sid, future);
+            releaseInFlight(future);
             return future;
         }
+        scheduleTimeout(sid, future, timeoutMillis);
         try {
-            write(code, sid, null, args);
+            write(future, sid, args);
         } catch (Exception e) {
-            futures.remove(sid);
+            unregisterOp(sid, future);
+            releaseInFlight(future);
             fail(future, e);
         }
         return future;
     }
 
+    /**
+     * Resolves names of the operation by the schema of the connection
+     * and sends the request along with the schema version. If the
+     * server reports that the schema has changed or a name is not
+     * found, the schema is loaded again and the operation is retried.
+     */
+    private CompletableFuture<?> sendWithSchema(Code code,
+                                                Object[] args,
+                                                DataDecoder<?> dataDecoder,
+                                                boolean awaitAdmission,
+                                                long timeoutMillis) {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        sendWithSchema(code, args, dataDecoder, awaitAdmission, timeoutMillis, null, SCHEMA_RETRIES, result);
+        return result;
+    }
+
+    private void sendWithSchema(Code code,
+                                Object[] args,
+                                DataDecoder<?> dataDecoder,
+                                boolean awaitAdmission,
+                                long timeoutMillis,
+                                TarantoolSchema stale,
+                                int retries,
+                                CompletableFuture<Object> result) {
+        BiConsumer<TarantoolSchema, Throwable> action = (schema, loadError) -> {
+            if (loadError != null) {
+                result.completeExceptionally(unwrap(loadError));
+                return;
+            }
+            CompletableFuture<?> future;
+            try {
+                future = execCached(
+                    code, schema.resolve(code, args), schema.getVersion(), dataDecoder, awaitAdmission, timeoutMillis
+                );
+            } catch (TarantoolException e) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+            future.whenComplete((value, error) -> {
+                if (error == null) {
+                    result.complete(value);
+                } else if (retries > 0 && isSchemaError(error, stale == null)) {
+                    // don't load the schema by a reader thread
+                    ForkJoinPool.commonPool().execute(
+                        () -> sendWithSchema(
+                            code, args, dataDecoder, awaitAdmission, timeoutMillis, schema, retries - 1, result
+                        )
+                    );
+                } else {
+                    result.completeExceptionally(error);
+                }
+            });
+        };
+        CompletableFuture<TarantoolSchema> load = schema(stale);
+        if (load.isDone()) {
+            load.whenComplete(action);
+        } else {
+            // the send may block, so it's not done by a reader thread
+            load.whenCompleteAsync(action);
+        }
+    }
+
+    /**
+     * Checks whether the error may be caused by an outdated schema.
+     * A name which is not found makes the schema reload only once.
+     */
+    private static boolean isSchemaError(Throwable error, boolean firstAttempt) {
+        if (error instanceof TarantoolSchema.UnknownNameException) {
+            return firstAttempt;
+        }
+        return error instanceof TarantoolException &&
+            ((TarantoolException) error).getErrorCode() == TarantoolSchema.ERR_WRONG_SCHEMA_VERSION;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Gets the schema of the connection loading it if it's needed.
+     *
+     * @param stale outdated schema to be replaced or {@code null}
+     *
+     * @return loaded schema
+     */
+    private CompletableFuture<TarantoolSchema> schema(TarantoolSchema stale) {
+        CompletableFuture<TarantoolSchema> load = schemaLoad;
+        if (stale == null && load != null && !load.isCompletedExceptionally()) {
+            return load;
+        }
+        synchronized (schemaLock) {
+            load = schemaLoad;
+            if (load == null || load.isCompletedExceptionally() || stale != null && load.getNow(null) == stale) {
+                load = loadSchema();
+                schemaLoad = load;
+            }
+            return load;
+        }
+    }
+
+    private CompletableFuture<TarantoolSchema> loadSchema() {
+        CompletableFuture<?> spaces = send(Code.SELECT, selectAll(TarantoolSchema.VSPACE_ID), null, null, null, false);
+        CompletableFuture<?> indexes = send(Code.SELECT, selectAll(TarantoolSchema.VINDEX_ID), null, null, null, false);
+        return spaces.thenCombine(indexes, (spaceTuples, indexTuples) -> {
+            long version = ((TarantoolOp<?>) spaces).getResponseSchemaId();
+            if (version != ((TarantoolOp<?>) indexes).getResponseSchemaId()) {
+                // DDL happened between the selects
+                return null;
+            }
+            return TarantoolSchema.parse(version, (List<?>) spaceTuples, (List<?>) indexTuples);
+        }).thenCompose(schema -> schema == null ? loadSchema() : CompletableFuture.completedFuture(schema));
+    }
+
+    private static Object[] selectAll(int space) {
+        return new Object[] {
+            Key.SPACE, space,
+            Key.INDEX, 0,
+            Key.KEY, Collections.emptyList(),
+            Key.ITERATOR, Iterator.ALL.getValue(),
+            Key.LIMIT, Integer.MAX_VALUE,
+            Key.OFFSET, 0
+        };
+    }
+
+    /**
+     * Gets the schema loaded for the current connection.
+     *
+     * @return schema or {@code null} if it's not loaded yet
+     *
+     * @see TarantoolClientConfig#useSchema
+     */
+    public TarantoolSchema getSchema() {
+        CompletableFuture<TarantoolSchema> load = schemaLoad;
+        return load == null ? null : load.getNow(null);
+    }
+
+    /**
+     * Sends a batch of requests encoded into one frame.
+     * <br>
+     * In-flight slots for the whole batch are taken at once, so the
+     * batch is either admitted or all its operations fail. A batch
+     * larger than {@link TarantoolClientConfig#maxInFlightRequests}
+     * is never admitted.
+     *
+     * @param codes          request codes
+     * @param args           request body arguments
+     * @param awaitAdmission whether to wait for free in-flight slots
+     *
+     * @return operations in the order of the requests
+     */
+    protected List<CompletableFuture<?>> doExecBatch(List<Code> codes, List<Object[]> args, boolean awaitAdmission) {
+        TarantoolSelectCache cache = config.selectCache;
+        if (cache == null) {
+            return sendBatch(codes, args, awaitAdmission);
+        }
+        // selects of a batch are not cached, but writes invalidate it
+        for (int i = 0; i < codes.size(); i++) {
+            cache.onWrite(codes.get(i), args.get(i));
+        }
+        List<CompletableFuture<?>> result = sendBatch(codes, args, awaitAdmission);
+        for (int i = 0; i < codes.size(); i++) {
+            Code code = codes.get(i);
+            Object[] operationArgs = args.get(i);
+            result.get(i).whenComplete((value, error) -> cache.onWrite(code, operationArgs));
+        }
+        return result;
+    }
+
+    private List<CompletableFuture<?>> sendBatch(List<Code> codes, List<Object[]> args, boolean awaitAdmission) {
+        int count = codes.size();
+        List<CompletableFuture<?>> result = new ArrayList<>(count);
+        long[] syncIds = new long[count];
+        int[] indexes = new int[count];
+        List<TarantoolOp<?>> live = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            validateArgs(args.get(i));
+        }
+        for (int i = 0; i < count; i++) {
+            long sid = syncId.incrementAndGet();
+            TarantoolOp<?> future = makeOp(sid, codes.get(i), args.get(i));
+            result.add(future);
+            if (!isDead(future)) {
+                syncIds[live.size()] = sid;
+                indexes[live.size()] = i;
+                live.add(future);
+            }
+        }
+        if (live.isEmpty()) {
+            return result;
+        }
+        int liveCount = live.size();
+        try {
+            acquireInFlight(liveCount, awaitAdmission);
+        } catch (Exception e) {
+            for (TarantoolOp<?> future : live) {
+                future.completeExceptionally(e);
+            }
+            return result;
+        }
+        for (int i = 0; i < liveCount; i++) {
+            live.get(i).takePermit();
+            registerOp(syncIds[i], live.get(i));
+        }
+        if (thumbstone != null) {
+            for (int i = 0; i < liveCount; i++) {
+                if (unregisterOp(syncIds[i], live.get(i))) {
+                    releaseInFlight(live.get(i));
+                    isDead(live.get(i));
+                }
+            }
+            return result;
+        }
+        RequestFrame frame = framePool.acquire();
+        int encoded = 0;
+        for (int i = 0; i < liveCount; i++) {
+            TarantoolOp<?> future = live.get(i);
+            long mark = frame.mark();
+            try {
+                ProtoUtils.writePacket(
+                    frame.output(), MsgPackLite.INSTANCE, future.getCode(), syncIds[i], null, args.get(indexes[i])
+                );
+            } catch (Exception e) {
+                // only the operation which cannot be encoded fails
+                frame.rollback(mark);
+                unregisterOp(syncIds[i], future);
+                releaseInFlight(future);
+                fail(future, e);
+                continue;
+            }
+            scheduleTimeout(syncIds[i], future);
+            encoded++;
+        }
+        if (encoded == 0) {
+            return result;
+        }
+        try {
+            frame.complete();
+            sharedWrite(frame, encoded);
+        } catch (Exception e) {
+            for (int i = 0; i < liveCount; i++) {
+                TarantoolOp<?> future = live.get(i);
+                if (unregisterOp(syncIds[i], future)) {
+                    releaseInFlight(future);
+                    fail(future, e);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates an operation waiting for a response. A subclass may
+     * override this to keep extra info along with the operation.
+     *
+     * @param syncId sync id of the request
+     * @param code   request code
+     * @param args   request body arguments
+     *
+     * @return new operation
+     */
+    protected TarantoolOp<?> makeOp(long syncId, Code code, Object[] args) {
+        return new TarantoolOp<>(code);
+    }
+
+    /**
+     * Takes an in-flight slot for a new request if the amount of
+     * requests waiting for responses is limited.
+     *
+     * @param future operation which is failed if the slot is not taken
+     * @param await  whether to wait for a free slot up to
+     *               {@link TarantoolClientConfig#writeTimeoutMillis}
+     *
+     * @return {@code false} if the slot is not taken
+     */
+    protected boolean admit(CompletableFuture<?> future, boolean await) {
+        try {
+            acquireInFlight(await);
+            if (future instanceof TarantoolOp) {
+                ((TarantoolOp<?>) future).takePermit();
+            }
+            return true;
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+            return false;
+        }
+    }
+
+    private void acquireInFlight(boolean await) throws TimeoutException {
+        acquireInFlight(1, await);
+    }
+
+    private void acquireInFlight(int permits, boolean await) throws TimeoutException {
+        InFlightWindow window = inFlightWindow;
+        if (window == null || window.tryAcquire(permits)) {
+            return;
+        }
+        if (permits > window.getLimit()) {
+            throw new RejectedExecutionException(
+                "Batch of " + permits + " requests exceeds the limit of " + window.getLimit() + " requests in flight"
+            );
+        }
+        stats.increment(TarantoolClientStats.IN_FLIGHT_LIMIT_AWAIT);
+        if (!await) {
+            throw new RejectedExecutionException(
+                "Limit of " + window.getLimit() + " requests in flight is reached"
+            );
+        }
+        try {
+            if (!window.acquire(permits, config.writeTimeoutMillis)) {
+                throw new TimeoutException(
+                    config.writeTimeoutMillis + "ms is exceeded while waiting for " +
+                        "one of " + window.getLimit() + " requests in flight to be completed"
+                );
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CommunicationException("Interrupted", e);
+        }
+    }
+
+    protected void releaseInFlight() {
+        releaseInFlight(1);
+    }
+
+    protected void releaseInFlight(int permits) {
+        InFlightWindow window = inFlightWindow;
+        if (window != null) {
+            window.release(permits);
+        }
+    }
+
+    /**
+     * Returns the permit taken by the operation unless it's already
+     * returned, e.g. on the operation timeout or on the window reset.
+     *
+     * @param future admitted operation
+     */
+    protected void releaseInFlight(TarantoolOp<?> future) {
+        if (future.returnPermit()) {
+            releaseInFlight();
+        }
+    }
+
+    /**
+     * Arms the default operation deadline.
+     *
+     * @param syncId sync id of the operation
+     * @param future operation to be expired
+     *
+     * @see #scheduleTimeout(long, TarantoolOp, long)
+     */
+    protected void scheduleTimeout(long syncId, TarantoolOp<?> future) {
+        scheduleTimeout(syncId, future, config.operationTimeoutMillis);
+    }
+
+    /**
+     * Arms the operation deadline. The expired operation is removed from
+     * the registry of sent requests, so its late response is skipped, and
+     * returns its in-flight permit at once, so lost responses don't narrow
+     * the window.
+     * <p>
+     * The timer thread is shared by all the clients, so the operation is
+     * failed by the common pool to keep callbacks of the caller off it.
+     * Fire-and-forget placeholders have nobody to fail, they only leave
+     * the registry.
+     *
+     * @param syncId        sync id of the operation
+     * @param future        operation to be expired
+     * @param timeoutMillis deadline of the operation, zero disables it
+     */
+    protected void scheduleTimeout(long syncId, TarantoolOp<?> future, long timeoutMillis) {
+        if (timeoutMillis <= 0) {
+            return;
+        }
+        if (future == UNATTENDED_OP) {
+            HashedWheelTimer.shared().schedule(() -> {
+                if (unregisterOp(syncId, UNATTENDED_OP)) {
+                    releaseInFlight();
+                    stats.increment(TarantoolClientStats.TIMEOUTS);
+                }
+            }, timeoutMillis, TimeUnit.MILLISECONDS);
+            return;
+        }
+        future.setTimeout(HashedWheelTimer.shared().schedule(() -> {
+            if (unregisterOp(syncId, future)) {
+                releaseInFlight(future);
+            }
+            ForkJoinPool.commonPool().execute(() -> {
+                if (future.completeExceptionally(
+                    new TimeoutException("Operation timed out after " + timeoutMillis + "ms"))) {
+                    stats.increment(TarantoolClientStats.TIMEOUTS);
+                }
+            });
+        }, timeoutMillis, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Puts a sent operation into the registry and counts it as pending
+     * until it's unregistered by the response, the deadline or the write
+     * failure, whatever comes first.
+     *
+     * @param syncId sync id of the operation
+     * @param future operation waiting for the response
+     */
+    protected void registerOp(long syncId, TarantoolOp<?> future) {
+        futures.put(syncId, future);
+        pendingResponsesCount.incrementAndGet();
+    }
+
+    /**
+     * Removes the operation from the registry if it's still there.
+     *
+     * @param syncId sync id of the operation
+     * @param future expected operation
+     *
+     * @return whether the operation has been removed by this call
+     */
+    protected boolean unregisterOp(long syncId, TarantoolOp<?> future) {
+        if (futures.remove(syncId, future)) {
+            pendingResponsesCount.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes any operation registered by the sync id.
+     *
+     * @param syncId sync id of the operation
+     *
+     * @return removed operation or {@code null}
+     */
+    protected TarantoolOp<?> unregisterOp(long syncId) {
+        TarantoolOp<?> future = futures.remove(syncId);
+        if (future != null) {
+            pendingResponsesCount.decrementAndGet();
+        }
+        return future;
+    }
+
     protected synchronized void die(String message, Exception cause) {
         if (thumbstone != null) {
             return;
         }
         final CommunicationException error = new CommunicationException(message, cause);
         this.thumbstone = error;
+        // the window may be shared, so only permits of this connection are returned
+        AtomicInteger permits = new AtomicInteger();
         while (!futures.isEmpty()) {
-            Iterator<Map.Entry<Long, TarantoolOp<?>>> iterator = futures.entrySet().iterator();
-            while (iterator.hasNext()) {
-                Map.Entry<Long, TarantoolOp<?>> elem = iterator.next();
-                if (elem != null) {
-                    TarantoolOp<?> future = elem.getValue();
+            futures.drain(future -> {
+                if (future == UNATTENDED_OP) {
+                    permits.incrementAndGet();
+                } else {
+                    if (future.returnPermit()) {
+                        permits.incrementAndGet();
+                    }
                     fail(future, error);
                 }
-                iterator.remove();
-            }
+            });
         }
         pendingResponsesCount.set(0);
-
-        bufferLock.lock();
-        try {
-            sharedBuffer.clear();
-            bufferEmpty.signalAll();
-        } finally {
-            bufferLock.unlock();
-        }
+        releaseInFlight(permits.get());
         stopIO();
     }
 
@@ -283,97 +961,76 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
 
     protected void write(Code code, Long syncId, Long schemaId, Object... args)
         throws Exception {
-        ByteBuffer buffer = ProtoUtils.createPacket(code, syncId, schemaId, args);
+        RequestFrame frame = framePool.acquire();
+        ProtoUtils.writePacket(frame.output(), MsgPackLite.INSTANCE, code, syncId, schemaId, args);
+        frame.complete();
+        sharedWrite(frame, 1);
+    }
 
-        if (directWrite(buffer)) {
+    /**
+     * Writes the request of an operation using its template if any.
+     *
+     * @param op     operation
+     * @param syncId sync id of the request
+     * @param args   request body arguments
+     *
+     * @throws Exception if the request cannot be written
+     */
+    protected void write(TarantoolOp<?> op, long syncId, Object[] args) throws Exception {
+        TarantoolRequestTemplate template = op.getTemplate();
+        if (template == null || op.getSchemaId() != null) {
+            write(op.getCode(), syncId, op.getSchemaId(), args);
             return;
         }
-        sharedWrite(buffer);
-
+        RequestFrame frame = framePool.acquire();
+        ProtoUtils.writePacket(
+            frame.output(), MsgPackLite.INSTANCE,
+            template.getHeaderPrefix(), syncId, template.getBodyPrefix(), args[args.length - 1]
+        );
+        frame.complete();
+        sharedWrite(frame, 1);
     }
 
-    protected void sharedWrite(ByteBuffer buffer) throws InterruptedException, TimeoutException {
-        long start = System.currentTimeMillis();
-        if (bufferLock.tryLock(config.writeTimeoutMillis, TimeUnit.MILLISECONDS)) {
-            try {
-                int rem = buffer.remaining();
-                stats.sharedMaxPacketSize = Math.max(stats.sharedMaxPacketSize, rem);
-                if (rem > initialRequestSize) {
-                    stats.sharedPacketSizeGrowth++;
-                }
-                while (sharedBuffer.remaining() < buffer.limit()) {
-                    stats.sharedEmptyAwait++;
-                    long remaining = config.writeTimeoutMillis - (System.currentTimeMillis() - start);
-                    try {
-                        if (remaining < 1 || !bufferEmpty.await(remaining, TimeUnit.MILLISECONDS)) {
-                            stats.sharedEmptyAwaitTimeouts++;
-                            throw new TimeoutException(
-                                config.writeTimeoutMillis +
-                                    "ms is exceeded while waiting for empty buffer. " +
-                                    "You could configure write timeout it in TarantoolConfig"
-                            );
-                        }
-                    } catch (InterruptedException e) {
-                        throw new CommunicationException("Interrupted", e);
-                    }
-                }
-                sharedBuffer.put(buffer);
-                pendingResponsesCount.incrementAndGet();
-                bufferNotEmpty.signalAll();
-                stats.buffered++;
-            } finally {
-                bufferLock.unlock();
-            }
-        } else {
-            stats.sharedWriteLockTimeouts++;
-            throw new TimeoutException(
-                config.writeTimeoutMillis +
-                    "ms is exceeded while waiting for shared buffer lock. " +
-                    "You could configure write timeout in TarantoolConfig"
-            );
+    private void sharedWrite(RequestFrame frame, int requests) throws TimeoutException {
+        if (!requestQueue.offer(frame)) {
+            awaitQueueSpace(frame);
+        }
+        EventLoopConnection connection = loopConnection;
+        if (connection != null) {
+            connection.requestFlush();
         }
     }
 
-    private boolean directWrite(ByteBuffer buffer) throws InterruptedException, IOException, TimeoutException {
-        if (sharedBuffer.capacity() * config.directWriteFactor <= buffer.limit()) {
-            if (writeLock.tryLock(config.writeTimeoutMillis, TimeUnit.MILLISECONDS)) {
-                try {
-                    int rem = buffer.remaining();
-                    stats.directMaxPacketSize = Math.max(stats.directMaxPacketSize, rem);
-                    if (rem > initialRequestSize) {
-                        stats.directPacketSizeGrowth++;
-                    }
-                    writeFully(channel, buffer);
-                    stats.directWrite++;
-                    pendingResponsesCount.incrementAndGet();
-                } finally {
-                    writeLock.unlock();
-                }
-                return true;
-            } else {
-                stats.directWriteLockTimeouts++;
+    private void awaitQueueSpace(RequestFrame frame) throws TimeoutException {
+        long start = System.currentTimeMillis();
+        stats.increment(TarantoolClientStats.SHARED_EMPTY_AWAIT);
+        do {
+            if (thumbstone != null) {
+                throw new CommunicationException("Connection is dead", thumbstone);
+            }
+            long remaining = config.writeTimeoutMillis - (System.currentTimeMillis() - start);
+            if (remaining < 1) {
+                stats.increment(TarantoolClientStats.SHARED_EMPTY_AWAIT_TIMEOUTS);
                 throw new TimeoutException(
                     config.writeTimeoutMillis +
-                        "ms is exceeded while waiting for channel lock. " +
-                        "You could configure write timeout in TarantoolConfig"
+                        "ms is exceeded while waiting for empty buffer. " +
+                        "You could configure write timeout it in TarantoolConfig"
                 );
             }
-        }
-        return false;
+            LockSupport.parkNanos(this, QUEUE_SPACE_AWAIT_NANOS);
+            if (Thread.interrupted()) {
+                throw new CommunicationException("Interrupted", new InterruptedException());
+            }
+        } while (!requestQueue.offer(frame));
     }
 
     protected void readThread() {
+        TarantoolPacketDecoder decoder = new TarantoolPacketDecoder(config.readerBufferSize);
         while (!Thread.currentThread().isInterrupted()) {
             try {
-                TarantoolPacket packet = ProtoUtils.readPacket(readChannel);
-
-                Map<Integer, Object> headers = packet.getHeaders();
-
-                Long syncId = (Long) headers.get(Key.SYNC.getId());
-                TarantoolOp<?> future = futures.remove(syncId);
-                stats.received++;
-                pendingResponsesCount.decrementAndGet();
-                complete(packet, future);
+                if (receive(decoder, channel) == 0) {
+                    readChannel.awaitReadable();
+                }
             } catch (Exception e) {
                 die("Cant read answer", e);
                 return;
@@ -381,31 +1038,89 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         }
     }
 
+    /**
+     * Reads available bytes from the channel and processes
+     * all the responses received completely.
+     *
+     * @param decoder decoder which keeps received bytes
+     * @param channel non-blocking channel to read from
+     *
+     * @return the number of bytes read
+     *
+     * @throws IOException if the read fails or a response is malformed
+     */
+    private int receive(TarantoolPacketDecoder decoder, ReadableByteChannel channel) throws IOException {
+        int count = decoder.read(channel);
+        if (count < 0) {
+            throw new CommunicationException("Channel read failed: " + count);
+        }
+        stats.reads++;
+        while (decoder.nextHeader()) {
+            processPacket(decoder);
+        }
+        if (decoder.capacity() > stats.readBufferMaxSize) {
+            stats.readBufferMaxSize = decoder.capacity();
+        }
+        return count;
+    }
+
+    /**
+     * Completes the operation the decoded response header belongs to.
+     * The body of a response nobody waits for (e.g. a response to
+     * a fire-and-forget request) is skipped without decoding. Data
+     * of a successful response is passed to the decoder of the
+     * operation if it has one; the decoder failure fails only
+     * the operation.
+     *
+     * @param decoder decoder positioned at a response which header is decoded
+     *
+     * @throws IOException if the response body is malformed
+     */
+    protected void processPacket(TarantoolPacketDecoder decoder) throws IOException {
+        final TarantoolOp<?> future = unregisterOp(decoder.getSync());
+        stats.received++;
+        if (future == UNATTENDED_OP) {
+            releaseInFlight();
+            decoder.skipBody();
+            return;
+        }
+        if (future != null) {
+            releaseInFlight(future);
+        }
+        TarantoolPacket packet;
+        if (future == null) {
+            packet = decoder.skipBody();
+        } else if (future.getDataDecoder() != null && decoder.getCode() == 0) {
+            try {
+                packet = decoder.decodeBody(future.getDataDecoder());
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+                return;
+            }
+        } else {
+            packet = decoder.decodeBody();
+        }
+        complete(packet, future);
+    }
+
     protected void writeThread() {
-        writerBuffer.clear();
+        WriteCoalescer coalescer = config.writeLingerMicros > 0
+            ? new WriteCoalescer(TimeUnit.MICROSECONDS.toNanos(config.writeLingerMicros), config.writeCoalesceBytes)
+            : null;
         while (!Thread.currentThread().isInterrupted()) {
             try {
-                bufferLock.lock();
-                try {
-                    while (sharedBuffer.position() == 0) {
-                        bufferNotEmpty.await();
-                    }
-                    sharedBuffer.flip();
-                    writerBuffer.put(sharedBuffer);
-                    sharedBuffer.clear();
-                    bufferEmpty.signalAll();
-                } finally {
-                    bufferLock.unlock();
+                requestQueue.awaitNotEmpty();
+                if (takeQueuedRequests() && coalescer != null) {
+                    linger(coalescer);
                 }
-                writerBuffer.flip();
-                writeLock.lock();
-                try {
-                    writeFully(channel, writerBuffer);
-                } finally {
-                    writeLock.unlock();
-                }
-                writerBuffer.clear();
+                int frames = writeBatch.size();
+                long bytes = writeBatch.bytes();
+                writeBatch.writeFully(channel);
+                writeBatch.recycle(framePool);
                 stats.sharedWrites++;
+                if (coalescer != null) {
+                    coalescer.onFlush(frames, bytes);
+                }
             } catch (Exception e) {
                 die("Cant write bytes", e);
                 return;
@@ -413,6 +1128,51 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         }
     }
 
+    /**
+     * Keeps taking requests to the batch while the coalescer
+     * expects more of them to arrive soon.
+     */
+    private void linger(WriteCoalescer coalescer) {
+        long lingerNanos = coalescer.lingerNanos(writeBatch.bytes());
+        if (lingerNanos <= 0) {
+            return;
+        }
+        stats.lingers++;
+        long deadline = System.nanoTime() + lingerNanos;
+        while (!coalescer.isFilled(writeBatch.bytes()) && System.nanoTime() - deadline < 0) {
+            Thread.yield();
+            if (!takeQueuedRequests()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Moves queued requests to the write batch.
+     * Must be called only by a single writer.
+     *
+     * @return {@code false} if the batch is full
+     */
+    private boolean takeQueuedRequests() {
+        RequestFrame frame;
+        while ((frame = requestQueue.peek()) != null) {
+            if (!writeBatch.add(frame)) {
+                return false;
+            }
+            requestQueue.poll();
+            countSharedRequest(frame.size());
+        }
+        return true;
+    }
+
+    private void countSharedRequest(int size) {
+        stats.buffered++;
+        stats.sharedMaxPacketSize = Math.max(stats.sharedMaxPacketSize, size);
+        if (size > initialRequestSize) {
+            stats.sharedPacketSizeGrowth++;
+        }
+    }
+
     protected void fail(CompletableFuture<?> q, Exception e) {
         q.completeExceptionally(e);
     }
@@ -420,6 +1180,7 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
     protected void complete(TarantoolPacket packet, TarantoolOp<?> future) {
         if (future != null) {
             long code = packet.getCode();
+            future.setResponseSchemaId(packet.getSchemaId());
             if (code == 0) {
                 if (future.getCode() == Code.EXECUTE) {
                     completeSql(future, packet);
@@ -451,6 +1212,8 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
                 throw (CommunicationException) e.getCause();
             } else if (e.getCause() instanceof TarantoolException) {
                 throw (TarantoolException) e.getCause();
+            } else if (e.getCause() instanceof TimeoutException) {
+                throw new CommunicationException(e.getCause().getMessage(), e.getCause());
             } else {
                 throw new IllegalStateException(e.getCause());
             }
@@ -459,10 +1222,6 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         }
     }
 
-    protected void writeFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
-        ProtoUtils.writeFully(channel, buffer);
-    }
-
     @Override
     public void close() {
         close(new Exception("Connection is closed."));
@@ -487,6 +1246,10 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         if (writer != null) {
             writer.interrupt();
         }
+        EventLoopConnection connection = loopConnection;
+        if (connection != null) {
+            connection.close();
+        }
         if (readChannel != null) {
             try {
                 readChannel.close(); // also closes this.channel
@@ -497,41 +1260,280 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         closeChannel(channel);
     }
 
-    @Override
-    public boolean isAlive() {
-        return state.getState() == StateHelper.ALIVE && thumbstone == null;
+    @Override
+    public boolean isAlive() {
+        return state.getState() == StateHelper.ALIVE && thumbstone == null;
+    }
+
+    @Override
+    public void waitAlive() throws InterruptedException {
+        state.awaitState(StateHelper.ALIVE);
+    }
+
+    @Override
+    public boolean waitAlive(long timeout, TimeUnit unit) throws InterruptedException {
+        return state.awaitState(StateHelper.ALIVE, timeout, unit);
+    }
+
+    @Override
+    public TarantoolClientOps<Integer, List<?>, Object, List<?>> syncOps() {
+        return syncOps;
+    }
+
+    /**
+     * Gets sync operations which deadline differs from
+     * {@link TarantoolClientConfig#operationTimeoutMillis}.
+     * The returned operations can be kept and reused.
+     *
+     * @param timeout deadline of every operation, zero disables it
+     * @param unit    unit of the deadline
+     *
+     * @return sync operations
+     */
+    public TarantoolClientOps<Integer, List<?>, Object, List<?>> syncOps(long timeout, TimeUnit unit) {
+        return new TimedSyncOps(unit.toMillis(timeout));
+    }
+
+    @Override
+    public TarantoolClientOps<Integer, List<?>, Object, Future<List<?>>> asyncOps() {
+        return (TarantoolClientOps) this;
+    }
+
+    /**
+     * Gets async operations which deadline differs from
+     * {@link TarantoolClientConfig#operationTimeoutMillis}.
+     * The returned operations can be kept and reused.
+     *
+     * @param timeout deadline of every operation, zero disables it
+     * @param unit    unit of the deadline
+     *
+     * @return async operations
+     */
+    public TarantoolClientOps<Integer, List<?>, Object, Future<List<?>>> asyncOps(long timeout, TimeUnit unit) {
+        return (TarantoolClientOps) new TimedComposableAsyncOps(unit.toMillis(timeout));
+    }
+
+    @Override
+    public TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> composableAsyncOps() {
+        return composableAsyncOps;
+    }
+
+    /**
+     * Gets composable async operations which deadline differs from
+     * {@link TarantoolClientConfig#operationTimeoutMillis}.
+     * The returned operations can be kept and reused.
+     *
+     * @param timeout deadline of every operation, zero disables it
+     * @param unit    unit of the deadline
+     *
+     * @return composable async operations
+     */
+    public TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> composableAsyncOps(long timeout,
+                                                                                                     TimeUnit unit) {
+        return new TimedComposableAsyncOps(unit.toMillis(timeout));
+    }
+
+    @Override
+    public TarantoolClientOps<Integer, List<?>, Object, Long> fireAndForgetOps() {
+        return fireAndForgetOps;
+    }
+
+
+    /**
+     * Gets operations which take space and index names.
+     * Field names can be used in update operations as well.
+     *
+     * @return sync operations
+     *
+     * @throws IllegalStateException if the schema is not enabled
+     * @see TarantoolClientConfig#useSchema
+     */
+    public TarantoolClientOps<String, List<?>, Object, List<?>> namedSyncOps() {
+        requireSchema();
+        return namedSyncOps;
+    }
+
+    /**
+     * Gets operations which take space and index names.
+     * Field names can be used in update operations as well.
+     *
+     * @return composable async operations
+     *
+     * @throws IllegalStateException if the schema is not enabled
+     * @see TarantoolClientConfig#useSchema
+     */
+    public TarantoolClientOps<String, List<?>, Object, CompletionStage<List<?>>> namedComposableAsyncOps() {
+        requireSchema();
+        return namedComposableAsyncOps;
+    }
+
+    /**
+     * Gets operations which results are made by the decoder straight
+     * from the response data, so a caller may read only the fields it
+     * needs or fold the tuples as they are parsed instead of getting
+     * lists and maps.
+     * <p>
+     * Results of these operations bypass the select cache and
+     * the read coalescing.
+     *
+     * @param dataDecoder decoder of the response data
+     * @param <R>         type of the decoded results
+     *
+     * @return sync operations
+     *
+     * @see DataDecoder#foldTuples(Supplier, BiConsumer)
+     */
+    public <R> TarantoolClientOps<Integer, List<?>, Object, R> decodingSyncOps(DataDecoder<R> dataDecoder) {
+        return new DecodingSyncOps<>(dataDecoder);
+    }
+
+    /**
+     * Gets operations which results are made by the decoder straight
+     * from the response data.
+     *
+     * @param dataDecoder decoder of the response data
+     * @param <R>         type of the decoded results
+     *
+     * @return composable async operations
+     *
+     * @see #decodingSyncOps(DataDecoder)
+     */
+    public <R> TarantoolClientOps<Integer, List<?>, Object, CompletionStage<R>> decodingComposableAsyncOps(
+        DataDecoder<R> dataDecoder) {
+        return new DecodingComposableAsyncOps<>(dataDecoder);
     }
 
-    @Override
-    public void waitAlive() throws InterruptedException {
-        state.awaitState(StateHelper.ALIVE);
+    /**
+     * Gets operations which take tuples and keys encoded as MessagePack
+     * and return the response data as it's encoded, so a proxy can
+     * forward them with no decode and encode round trip. Other
+     * arguments may be encoded as well.
+     * <p>
+     * Results of these operations bypass the select cache and
+     * the read coalescing.
+     *
+     * @return sync operations
+     */
+    public TarantoolClientOps<Integer, MsgPackValue, Object, byte[]> rawSyncOps() {
+        return new DecodingSyncOps<>(DataDecoder.raw());
     }
 
-    @Override
-    public boolean waitAlive(long timeout, TimeUnit unit) throws InterruptedException {
-        return state.awaitState(StateHelper.ALIVE, timeout, unit);
+    /**
+     * Gets operations which take tuples and keys encoded as MessagePack
+     * and return the response data as it's encoded.
+     *
+     * @return composable async operations
+     *
+     * @see #rawSyncOps()
+     */
+    public TarantoolClientOps<Integer, MsgPackValue, Object, CompletionStage<byte[]>> rawComposableAsyncOps() {
+        return new DecodingComposableAsyncOps<>(DataDecoder.raw());
     }
 
-    @Override
-    public TarantoolClientOps<Integer, List<?>, Object, List<?>> syncOps() {
-        return syncOps;
+    /**
+     * Gets operations which decode result tuples straight from
+     * the response by the mapper without building lists first.
+     *
+     * @param mapper tuple mapper
+     * @param <T>    type of the mapped objects
+     *
+     * @return sync operations
+     *
+     * @see TupleMapper#of(Class, String...)
+     * @see #decodingSyncOps(DataDecoder)
+     */
+    public <T> TarantoolClientOps<Integer, List<?>, Object, List<T>> mappedSyncOps(TupleMapper<T> mapper) {
+        return decodingSyncOps(TupleMapper.listOf(mapper));
     }
 
-    @Override
-    public TarantoolClientOps<Integer, List<?>, Object, Future<List<?>>> asyncOps() {
-        return (TarantoolClientOps) this;
+    /**
+     * Gets operations which decode result tuples straight from
+     * the response by the mapper without building lists first.
+     *
+     * @param mapper tuple mapper
+     * @param <T>    type of the mapped objects
+     *
+     * @return composable async operations
+     *
+     * @see #mappedSyncOps(TupleMapper)
+     */
+    public <T> TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<T>>> mappedComposableAsyncOps(
+        TupleMapper<T> mapper) {
+        return decodingComposableAsyncOps(TupleMapper.listOf(mapper));
     }
 
-    @Override
-    public TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> composableAsyncOps() {
-        return composableAsyncOps;
+    /**
+     * Executes a pre-encoded operation.
+     *
+     * @param template operation template
+     * @param value    variable key or tuple of the operation
+     *
+     * @return operation result
+     */
+    public List<?> syncExec(TarantoolRequestTemplate template, Object value) {
+        return (List<?>) syncGet(execTemplate(template, value, null, true));
     }
 
-    @Override
-    public TarantoolClientOps<Integer, List<?>, Object, Long> fireAndForgetOps() {
-        return fireAndForgetOps;
+    /**
+     * Executes a pre-encoded operation.
+     *
+     * @param template operation template
+     * @param value    variable key or tuple of the operation
+     *
+     * @return operation result
+     */
+    @SuppressWarnings("unchecked")
+    public CompletionStage<List<?>> composableAsyncExec(TarantoolRequestTemplate template, Object value) {
+        return (CompletionStage<List<?>>) execTemplate(template, value, null, false);
+    }
+
+    /**
+     * Executes a pre-encoded operation which response data is
+     * decoded by the given decoder.
+     *
+     * @param template    operation template
+     * @param value       variable key or tuple of the operation
+     * @param dataDecoder decoder of the response data
+     * @param <R>         type of the decoded result
+     *
+     * @return decoded result
+     *
+     * @see #decodingSyncOps(DataDecoder)
+     */
+    @SuppressWarnings("unchecked")
+    public <R> CompletionStage<R> composableAsyncExec(TarantoolRequestTemplate template,
+                                                      Object value,
+                                                      DataDecoder<R> dataDecoder) {
+        return (CompletionStage<R>) execTemplate(template, value, dataDecoder, false);
+    }
+
+    private CompletableFuture<?> execTemplate(TarantoolRequestTemplate template,
+                                              Object value,
+                                              DataDecoder<?> dataDecoder,
+                                              boolean awaitAdmission) {
+        Code code = template.getCode();
+        Object[] args = template.args(value);
+        TarantoolSelectCache cache = config.selectCache;
+        if (cache == null) {
+            return send(code, args, null, dataDecoder, template, awaitAdmission);
+        }
+        return cache.bypass(code, args, () -> send(code, args, null, dataDecoder, template, awaitAdmission));
+    }
+
+    private void requireSchema() {
+        if (!config.useSchema) {
+            throw new IllegalStateException("Schema is not enabled, see TarantoolClientConfig.useSchema");
+        }
     }
 
+    /**
+     * Starts a batch of operations which are sent together.
+     *
+     * @return empty batch
+     */
+    public TarantoolBatch batch() {
+        return TarantoolBatch.create(config, (codes, args) -> doExecBatch(codes, args, false));
+    }
 
     @Override
     public TarantoolSQLOps<Object, Long, List<Map<String, Object>>> sqlSyncOps() {
@@ -539,12 +1541,14 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
 
             @Override
             public Long update(String sql, Object... bind) {
-                return (Long) syncGet(exec(Code.EXECUTE, Key.SQL_TEXT, sql, Key.SQL_BIND, bind));
+                return (Long) syncGet(doExec(Code.EXECUTE, new Object[] {Key.SQL_TEXT, sql, Key.SQL_BIND, bind}, true));
             }
 
             @Override
             public List<Map<String, Object>> query(String sql, Object... bind) {
-                return (List<Map<String, Object>>) syncGet(exec(Code.EXECUTE, Key.SQL_TEXT, sql, Key.SQL_BIND, bind));
+                return (List<Map<String, Object>>) syncGet(
+                    doExec(Code.EXECUTE, new Object[] {Key.SQL_TEXT, sql, Key.SQL_BIND, bind}, true)
+                );
             }
         };
     }
@@ -568,7 +1572,7 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
 
         @Override
         public List exec(Code code, Object... args) {
-            return (List) syncGet(TarantoolClientImpl.this.exec(code, args));
+            return (List) syncGet(doExec(code, args, true));
         }
 
         @Override
@@ -583,11 +1587,31 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         @Override
         public Long exec(Code code, Object... args) {
             if (thumbstone == null) {
+                TarantoolSelectCache cache = config.selectCache;
+                if (cache != null) {
+                    cache.onWrite(code, args);
+                }
+                try {
+                    acquireInFlight(true);
+                } catch (TimeoutException e) {
+                    throw new CommunicationException("Execute failed", e);
+                }
+                long syncId = TarantoolClientImpl.this.syncId.incrementAndGet();
+                registerOp(syncId, UNATTENDED_OP);
+                if (thumbstone != null) {
+                    if (unregisterOp(syncId, UNATTENDED_OP)) {
+                        releaseInFlight();
+                    }
+                    throw new CommunicationException("Connection is not alive", thumbstone);
+                }
+                scheduleTimeout(syncId, UNATTENDED_OP, config.operationTimeoutMillis);
                 try {
-                    long syncId = TarantoolClientImpl.this.syncId.incrementAndGet();
                     write(code, syncId, null, args);
                     return syncId;
                 } catch (Exception e) {
+                    if (unregisterOp(syncId, UNATTENDED_OP)) {
+                        releaseInFlight();
+                    }
                     throw new CommunicationException("Execute failed", e);
                 }
             } else {
@@ -617,6 +1641,131 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
 
     }
 
+    protected class TimedSyncOps extends AbstractTarantoolOps<Integer, List<?>, Object, List<?>> {
+
+        private final long timeoutMillis;
+
+        protected TimedSyncOps(long timeoutMillis) {
+            this.timeoutMillis = timeoutMillis;
+            if (config.useNewCall) {
+                setCallCode(Code.CALL);
+            }
+        }
+
+        @Override
+        public List exec(Code code, Object... args) {
+            return (List) syncGet(doExec(code, args, null, true, timeoutMillis));
+        }
+
+        @Override
+        public void close() {
+            throw new IllegalStateException("You should close TarantoolClient instead.");
+        }
+
+    }
+
+    protected class TimedComposableAsyncOps
+        extends AbstractTarantoolOps<Integer, List<?>, Object, CompletionStage<List<?>>> {
+
+        private final long timeoutMillis;
+
+        protected TimedComposableAsyncOps(long timeoutMillis) {
+            this.timeoutMillis = timeoutMillis;
+            if (config.useNewCall) {
+                setCallCode(Code.CALL);
+            }
+        }
+
+        @Override
+        public CompletionStage<List<?>> exec(Code code, Object... args) {
+            return (CompletionStage<List<?>>) doExec(code, args, null, false, timeoutMillis);
+        }
+
+        @Override
+        public void close() {
+            TarantoolClientImpl.this.close();
+        }
+
+    }
+
+    protected class NamedSyncOps extends AbstractTarantoolOps<String, List<?>, Object, List<?>> {
+
+        @Override
+        public List exec(Code code, Object... args) {
+            return (List) syncGet(doExec(code, args, true));
+        }
+
+        @Override
+        public void close() {
+            throw new IllegalStateException("You should close TarantoolClient instead.");
+        }
+
+    }
+
+    protected class NamedComposableAsyncOps
+        extends AbstractTarantoolOps<String, List<?>, Object, CompletionStage<List<?>>> {
+
+        @Override
+        public CompletionStage<List<?>> exec(Code code, Object... args) {
+            return (CompletionStage<List<?>>) TarantoolClientImpl.this.doExec(code, args);
+        }
+
+        @Override
+        public void close() {
+            TarantoolClientImpl.this.close();
+        }
+
+    }
+
+    protected class DecodingSyncOps<O, R> extends AbstractTarantoolOps<Integer, O, Object, R> {
+
+        private final DataDecoder<R> dataDecoder;
+
+        protected DecodingSyncOps(DataDecoder<R> dataDecoder) {
+            this.dataDecoder = dataDecoder;
+            if (config.useNewCall) {
+                setCallCode(Code.CALL);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public R exec(Code code, Object... args) {
+            return (R) syncGet(doExec(code, args, dataDecoder, true));
+        }
+
+        @Override
+        public void close() {
+            throw new IllegalStateException("You should close TarantoolClient instead.");
+        }
+
+    }
+
+    protected class DecodingComposableAsyncOps<O, R>
+        extends AbstractTarantoolOps<Integer, O, Object, CompletionStage<R>> {
+
+        private final DataDecoder<R> dataDecoder;
+
+        protected DecodingComposableAsyncOps(DataDecoder<R> dataDecoder) {
+            this.dataDecoder = dataDecoder;
+            if (config.useNewCall) {
+                setCallCode(Code.CALL);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public CompletionStage<R> exec(Code code, Object... args) {
+            return (CompletionStage<R>) doExec(code, args, dataDecoder, false);
+        }
+
+        @Override
+        public void close() {
+            TarantoolClientImpl.this.close();
+        }
+
+    }
+
     protected boolean isDead(CompletableFuture<?> q) {
         if (this.thumbstone != null) {
             fail(q, new CommunicationException("Connection is dead", thumbstone));
@@ -641,6 +1790,15 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         return stats;
     }
 
+    /**
+     * Gets amount of sent requests which are still waiting for responses.
+     *
+     * @return count of pending responses
+     */
+    public int getPendingResponsesCount() {
+        return pendingResponsesCount.get();
+    }
+
     /**
      * Manages state changes.
      */
@@ -824,6 +1982,121 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
 
     }
 
+    /**
+     * Performs IO of the current connection within
+     * a thread of the shared event loop group.
+     * <p>
+     * Requests are taken from the request queue the same way
+     * the writer thread does and written without blocking.
+     * If the socket isn't able to accept all the bytes the
+     * connection waits for the write readiness.
+     */
+    private final class EventLoopConnection implements TarantoolEventLoopGroup.ChannelHandler {
+
+        private final TarantoolEventLoopGroup.EventLoop loop;
+        private final SocketChannel channel;
+        private final TarantoolPacketDecoder decoder = new TarantoolPacketDecoder(config.readerBufferSize);
+        private final AtomicBoolean flushScheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        /**
+         * Loop-confined state.
+         */
+        private SelectionKey key;
+
+        EventLoopConnection(TarantoolEventLoopGroup.EventLoop loop, SocketChannel channel) {
+            this.loop = loop;
+            this.channel = channel;
+        }
+
+        void register() {
+            loop.execute(() -> {
+                if (closed.get()) {
+                    return;
+                }
+                try {
+                    key = loop.register(channel, this);
+                    // requests may be queued before the channel is registered
+                    flush();
+                } catch (Exception e) {
+                    die("Cant register channel", e);
+                }
+            });
+        }
+
+        void requestFlush() {
+            if (flushScheduled.compareAndSet(false, true)) {
+                loop.execute(this::flush);
+            }
+        }
+
+        @Override
+        public void onReadable() {
+            try {
+                receive(decoder, channel);
+            } catch (Exception e) {
+                die("Cant read answer", e);
+            }
+        }
+
+        @Override
+        public void onWritable() {
+            flush();
+        }
+
+        @Override
+        public void onShutdown() {
+            die("Event loop is closed", new CommunicationException("Event loop group is closed"));
+            close();
+        }
+
+        private void flush() {
+            flushScheduled.set(false);
+            if (closed.get() || key == null) {
+                return;
+            }
+            try {
+                while (true) {
+                    if (writeBatch.isEmpty()) {
+                        takeQueuedRequests();
+                        if (writeBatch.isEmpty()) {
+                            key.interestOps(SelectionKey.OP_READ);
+                            return;
+                        }
+                    }
+                    if (!writeBatch.write(channel)) {
+                        key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                        return;
+                    }
+                    writeBatch.recycle(framePool);
+                    stats.sharedWrites++;
+                }
+            } catch (Exception e) {
+                die("Cant write bytes", e);
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                if (loop.inEventLoop()) {
+                    doClose();
+                } else {
+                    loop.execute(this::doClose);
+                }
+            }
+        }
+
+        private void doClose() {
+            if (key != null) {
+                key.cancel();
+            }
+            closeChannel(channel);
+            state.release(StateHelper.READING | StateHelper.WRITING);
+            state.trySignalForReconnection();
+        }
+
+    }
+
     protected static class TarantoolOp<V> extends CompletableFuture<V> {
 
         /**
@@ -831,6 +2104,36 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
          */
         private final Code code;
 
+        /**
+         * Deadline of the operation if any.
+         */
+        private volatile HashedWheelTimer.Timeout timeout;
+
+        /**
+         * Schema version the request is built for if any.
+         */
+        private Long schemaId;
+
+        /**
+         * Schema version of the response.
+         */
+        private volatile long responseSchemaId = TarantoolPacket.NO_SCHEMA_ID;
+
+        /**
+         * Decoder of the response data if any.
+         */
+        private DataDecoder<?> dataDecoder;
+
+        /**
+         * Pre-encoded request the operation is made by if any.
+         */
+        private TarantoolRequestTemplate template;
+
+        /**
+         * Whether the operation holds an in-flight permit.
+         */
+        private final AtomicBoolean permit = new AtomicBoolean();
+
         public TarantoolOp(Code code) {
             this.code = code;
         }
@@ -838,6 +2141,79 @@ public class TarantoolClientImpl extends TarantoolBase<Future<?>> implements Tar
         public Code getCode() {
             return code;
         }
+
+        public Long getSchemaId() {
+            return schemaId;
+        }
+
+        void setSchemaId(Long schemaId) {
+            this.schemaId = schemaId;
+        }
+
+        public long getResponseSchemaId() {
+            return responseSchemaId;
+        }
+
+        void setResponseSchemaId(long responseSchemaId) {
+            this.responseSchemaId = responseSchemaId;
+        }
+
+        public DataDecoder<?> getDataDecoder() {
+            return dataDecoder;
+        }
+
+        void setDataDecoder(DataDecoder<?> dataDecoder) {
+            this.dataDecoder = dataDecoder;
+        }
+
+        public TarantoolRequestTemplate getTemplate() {
+            return template;
+        }
+
+        void setTemplate(TarantoolRequestTemplate template) {
+            this.template = template;
+        }
+
+        void takePermit() {
+            permit.set(true);
+        }
+
+        /**
+         * Gives up the in-flight permit.
+         *
+         * @return {@code false} if the operation doesn't hold it
+         */
+        boolean returnPermit() {
+            return permit.compareAndSet(true, false);
+        }
+
+        void setTimeout(HashedWheelTimer.Timeout timeout) {
+            this.timeout = timeout;
+            if (isDone()) {
+                timeout.cancel();
+            }
+        }
+
+        @Override
+        public boolean complete(V value) {
+            boolean completed = super.complete(value);
+            cancelTimeout();
+            return completed;
+        }
+
+        @Override
+        public boolean completeExceptionally(Throwable ex) {
+            boolean completed = super.completeExceptionally(ex);
+            cancelTimeout();
+            return completed;
+        }
+
+        private void cancelTimeout() {
+            HashedWheelTimer.Timeout deadline = timeout;
+            if (deadline != null) {
+                deadline.cancel();
+            }
+        }
     }
 
 }
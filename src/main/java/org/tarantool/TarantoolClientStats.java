@@ -1,19 +1,56 @@
 package org.tarantool;
 
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
 public class TarantoolClientStats {
+
+    /**
+     * Counters which can be updated by many caller threads at once.
+     */
+    static final AtomicLongFieldUpdater<TarantoolClientStats> SHARED_EMPTY_AWAIT =
+        AtomicLongFieldUpdater.newUpdater(TarantoolClientStats.class, "sharedEmptyAwait");
+    static final AtomicLongFieldUpdater<TarantoolClientStats> SHARED_EMPTY_AWAIT_TIMEOUTS =
+        AtomicLongFieldUpdater.newUpdater(TarantoolClientStats.class, "sharedEmptyAwaitTimeouts");
+    static final AtomicLongFieldUpdater<TarantoolClientStats> IN_FLIGHT_LIMIT_AWAIT =
+        AtomicLongFieldUpdater.newUpdater(TarantoolClientStats.class, "inFlightLimitAwait");
+    static final AtomicLongFieldUpdater<TarantoolClientStats> COALESCED_READS =
+        AtomicLongFieldUpdater.newUpdater(TarantoolClientStats.class, "coalescedReads");
+    static final AtomicLongFieldUpdater<TarantoolClientStats> TIMEOUTS =
+        AtomicLongFieldUpdater.newUpdater(TarantoolClientStats.class, "timeouts");
+
     final long start = System.currentTimeMillis();
     public long buffered;
     public long received;
+    public long reads;
+    public long readBufferMaxSize;
     public long sharedWrites;
     public long directWrite;
     public long directMaxPacketSize;
     public long sharedMaxPacketSize;
     public long directPacketSizeGrowth;
     public long sharedPacketSizeGrowth;
-    public long sharedEmptyAwait;
+    public volatile long sharedEmptyAwait;
     public long sharedWriteLockTimeouts;
     public long directWriteLockTimeouts;
-    public long sharedEmptyAwaitTimeouts;
+    public volatile long sharedEmptyAwaitTimeouts;
+    public volatile long timeouts;
+    public long lingers;
+    public volatile long inFlightLimitAwait;
+    public volatile long coalescedReads;
+
+    void increment(AtomicLongFieldUpdater<TarantoolClientStats> counter) {
+        counter.incrementAndGet(this);
+    }
+
+    /**
+     * Gets average amount of requests sent by one write.
+     *
+     * @return frames per flush
+     */
+    public double getAverageFramesPerFlush() {
+        long writes = sharedWrites;
+        return writes == 0 ? 0 : (double) buffered / writes;
+    }
 
     @Override
     public String toString() {
@@ -21,6 +58,8 @@ public class TarantoolClientStats {
                 "\nrunning = " + (System.currentTimeMillis() - start) + "ms" +
                 "\nbuffered = " + buffered +
                 "\nreceived = " + received +
+                "\nreads = " + reads +
+                "\nreadBufferMaxSize = " + readBufferMaxSize +
                 "\ndirectMaxPacketSize = " + directMaxPacketSize +
                 "\nsharedMaxPacketSize = " + sharedMaxPacketSize +
                 "\nsharedEmptyAwait = " + sharedEmptyAwait +
@@ -30,6 +69,11 @@ public class TarantoolClientStats {
                 "\ndirectWriteLockTimeouts = " + directWriteLockTimeouts +
                 "\nsharedWriteLockTimeouts = " + sharedWriteLockTimeouts +
                 "\ndirectWrite = " + directWrite +
-                "\nsharedWrites = " + sharedWrites + "\n";
+                "\nsharedWrites = " + sharedWrites +
+                "\nlingers = " + lingers +
+                "\naverageFramesPerFlush = " + getAverageFramesPerFlush() +
+                "\ntimeouts = " + timeouts +
+                "\ninFlightLimitAwait = " + inFlightLimitAwait +
+                "\ncoalescedReads = " + coalescedReads + "\n";
     }
 }
@@ -2,6 +2,7 @@ package org.tarantool;
 
 import org.tarantool.cluster.TarantoolClusterDiscoverer;
 import org.tarantool.cluster.TarantoolClusterStoredFunctionDiscoverer;
+import org.tarantool.protocol.DataDecoder;
 import org.tarantool.protocol.TarantoolPacket;
 import org.tarantool.util.StringUtils;
 
@@ -9,6 +10,7 @@ import java.io.IOException;
 import java.net.SocketAddress;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -52,7 +54,7 @@ public class TarantoolClusterClient extends TarantoolClientImpl {
      * @param addresses Array of addresses in the form of host[:port].
      */
     public TarantoolClusterClient(TarantoolClusterClientConfig config, String... addresses) {
-        this(config, makeClusterSocketProvider(addresses, config.operationExpiryTimeMillis));
+        this(config, makeClusterSocketProvider(addresses, config));
     }
 
     /**
@@ -101,11 +103,35 @@ public class TarantoolClusterClient extends TarantoolClientImpl {
     }
 
     @Override
-    protected CompletableFuture<?> doExec(Code code, Object[] args) {
+    protected CompletableFuture<?> send(Code code,
+                                        Object[] args,
+                                        Long schemaId,
+                                        DataDecoder<?> dataDecoder,
+                                        TarantoolRequestTemplate template,
+                                        boolean awaitAdmission,
+                                        long timeoutMillis) {
         validateArgs(args);
         long sid = syncId.incrementAndGet();
-        ExpirableOp<?> future = makeFuture(sid, code, args);
-        return registerOperation(future);
+        ExpirableOp<?> future = makeOp(sid, code, args);
+        future.setSchemaId(schemaId);
+        future.setDataDecoder(dataDecoder);
+        future.setTemplate(template);
+        scheduleTimeout(sid, future, timeoutMillis);
+        return registerOperation(future, awaitAdmission);
+    }
+
+    /**
+     * Sends the batch under the same discovery guard as single operations.
+     * Failed operations of the batch are retried one by one.
+     */
+    @Override
+    protected List<CompletableFuture<?>> doExecBatch(List<Code> codes, List<Object[]> args, boolean awaitAdmission) {
+        long stamp = discoveryLock.readLock();
+        try {
+            return super.doExecBatch(codes, args, awaitAdmission);
+        } finally {
+            discoveryLock.unlock(stamp);
+        }
     }
 
     /**
@@ -113,26 +139,32 @@ public class TarantoolClusterClient extends TarantoolClientImpl {
      * Registration is discovery-aware in term of synchronization and
      * it may be blocked util the discovery finishes its work.
      *
-     * @param future operation to be performed
+     * @param future         operation to be performed
+     * @param awaitAdmission whether to wait for a free in-flight slot
      *
      * @return registered operation
      */
-    private CompletableFuture<?> registerOperation(ExpirableOp<?> future) {
+    private CompletableFuture<?> registerOperation(ExpirableOp<?> future, boolean awaitAdmission) {
         long stamp = discoveryLock.readLock();
         try {
             if (isDead(future)) {
                 return future;
             }
-            futures.put(future.getId(), future);
+            if (!admit(future, awaitAdmission)) {
+                return future;
+            }
+            registerOp(future.getId(), future);
             if (isDead(future)) {
-                futures.remove(future.getId());
+                unregisterOp(future.getId(), future);
+                releaseInFlight(future);
                 return future;
             }
 
             try {
-                write(future.getCode(), future.getId(), null, future.getArgs());
+                write(future, future.getId(), future.getArgs());
             } catch (Exception e) {
-                futures.remove(future.getId());
+                unregisterOp(future.getId(), future);
+                releaseInFlight(future);
                 fail(future, e);
             }
 
@@ -187,7 +219,8 @@ public class TarantoolClusterClient extends TarantoolClientImpl {
         return false;
     }
 
-    private ExpirableOp<?> makeFuture(long id, Code code, Object... args) {
+    @Override
+    protected ExpirableOp<?> makeOp(long id, Code code, Object[] args) {
         int expireTime = ((TarantoolClusterClientConfig) config).operationExpiryTimeMillis;
         return new ExpirableOp(id, expireTime, code, args);
     }
@@ -205,8 +238,8 @@ public class TarantoolClusterClient extends TarantoolClientImpl {
         retries.clear();
         long now = System.currentTimeMillis();
         for (final ExpirableOp<?> future : futuresToRetry) {
-            if (!future.hasExpired(now)) {
-                executor.execute(() -> registerOperation(future));
+            if (!future.isDone() && !future.hasExpired(now)) {
+                executor.execute(() -> registerOperation(future, false));
             }
         }
     }
@@ -269,9 +302,10 @@ public class TarantoolClusterClient extends TarantoolClientImpl {
     }
 
     private static RoundRobinSocketProviderImpl makeClusterSocketProvider(String[] addresses,
-                                                                          int connectionTimeout) {
+                                                                          TarantoolClusterClientConfig config) {
         RoundRobinSocketProviderImpl socketProvider = new RoundRobinSocketProviderImpl(addresses);
-        socketProvider.setTimeout(connectionTimeout);
+        socketProvider.setTimeout(config.operationExpiryTimeMillis);
+        socketProvider.setSocketOptions(config.socketOptions);
         return socketProvider;
     }
 
@@ -1,5 +1,6 @@
 package org.tarantool;
 
+import org.tarantool.protocol.ByteBufferOutputStream;
 import org.tarantool.protocol.ProtoUtils;
 import org.tarantool.protocol.TarantoolPacket;
 
@@ -19,6 +20,12 @@ public class TarantoolConnection extends TarantoolBase<List<?>>
     protected OutputStream out;
     protected Socket socket;
 
+    /**
+     * Reused for all the requests as the connection sends
+     * one request at a time.
+     */
+    private ByteBufferOutputStream request;
+
     public TarantoolConnection(String username, String password, Socket socket) throws IOException {
         super(username, password, socket);
         this.socket = socket;
@@ -34,10 +41,14 @@ public class TarantoolConnection extends TarantoolBase<List<?>>
 
     protected TarantoolPacket writeAndRead(Code code, Object... args) {
         try {
-            ByteBuffer packet = ProtoUtils.createPacket(initialRequestSize, msgPackLite,
-                code, syncId.incrementAndGet(), null, args);
+            if (request == null) {
+                request = new ByteBufferOutputStream(initialRequestSize, false);
+            }
+            request.clear();
+            ProtoUtils.writePacket(request, msgPackLite, code, syncId.incrementAndGet(), null, args);
+            ByteBuffer packet = request.flip();
 
-            out.write(packet.array(), 0, packet.remaining());
+            out.write(packet.array(), packet.arrayOffset(), packet.remaining());
             out.flush();
 
             TarantoolPacket responsePacket = ProtoUtils.readPacket(in);
@@ -0,0 +1,224 @@
+package org.tarantool;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed group of IO threads which serve connections of many clients.
+ * <p>
+ * Each thread runs its own selector and performs non-blocking reads
+ * and writes for the connections assigned to it, so a client which uses
+ * the group does not start its own reader and writer threads.
+ * <p>
+ * The group is shared and owned by a user. It has to be closed after all
+ * the clients which use it are closed.
+ *
+ * @see TarantoolClientConfig#eventLoopGroup
+ */
+public class TarantoolEventLoopGroup implements AutoCloseable {
+
+    private final EventLoop[] loops;
+    private final AtomicInteger nextLoop = new AtomicInteger();
+
+    /**
+     * Creates and starts a new group.
+     *
+     * @param threads amount of IO threads
+     *
+     * @throws IOException if a selector cannot be opened
+     */
+    public TarantoolEventLoopGroup(int threads) throws IOException {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads count must be positive");
+        }
+        ThreadFactory threadFactory = new TarantoolThreadDaemonFactory("tarantoolEventLoop");
+        loops = new EventLoop[threads];
+        try {
+            for (int i = 0; i < threads; i++) {
+                loops[i] = new EventLoop(threadFactory);
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+        for (EventLoop loop : loops) {
+            loop.start();
+        }
+    }
+
+    /**
+     * Gets a loop to be assigned to a new connection.
+     *
+     * @return event loop
+     */
+    EventLoop next() {
+        return loops[(nextLoop.getAndIncrement() & Integer.MAX_VALUE) % loops.length];
+    }
+
+    /**
+     * Stops all the IO threads of the group.
+     */
+    @Override
+    public void close() {
+        for (EventLoop loop : loops) {
+            if (loop != null) {
+                loop.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Receives IO events of a registered channel.
+     * <p>
+     * All the methods are invoked within the loop thread.
+     */
+    interface ChannelHandler {
+
+        /**
+         * Called when the channel has bytes to be read.
+         */
+        void onReadable();
+
+        /**
+         * Called when the channel is ready to accept more bytes
+         * after a partial write.
+         */
+        void onWritable();
+
+        /**
+         * Called when the loop stops and does not serve the channel anymore.
+         */
+        void onShutdown();
+
+    }
+
+    /**
+     * Single IO thread with its own selector and a queue of tasks.
+     */
+    static final class EventLoop implements Runnable {
+
+        private final Selector selector;
+        private final Thread thread;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean wakeupPending = new AtomicBoolean();
+        private volatile boolean running = true;
+        private volatile boolean terminated;
+
+        EventLoop(ThreadFactory threadFactory) throws IOException {
+            this.selector = Selector.open();
+            this.thread = threadFactory.newThread(this);
+        }
+
+        void start() {
+            thread.start();
+        }
+
+        boolean inEventLoop() {
+            return Thread.currentThread() == thread;
+        }
+
+        /**
+         * Schedules a task to be performed within the loop thread.
+         * The task is run by the calling thread if the loop is terminated.
+         *
+         * @param task task to be executed
+         */
+        void execute(Runnable task) {
+            if (terminated) {
+                task.run();
+                return;
+            }
+            tasks.add(task);
+            if (terminated) {
+                // the loop may have run its last tasks before the task was added
+                runTasks();
+                return;
+            }
+            if (!inEventLoop() && wakeupPending.compareAndSet(false, true)) {
+                selector.wakeup();
+            }
+        }
+
+        /**
+         * Registers the channel for read events. Has to be called within the loop.
+         *
+         * @param channel non-blocking channel
+         * @param handler events receiver
+         *
+         * @return registration key
+         *
+         * @throws ClosedChannelException if the channel is closed
+         */
+        SelectionKey register(SocketChannel channel, ChannelHandler handler) throws ClosedChannelException {
+            return channel.register(selector, SelectionKey.OP_READ, handler);
+        }
+
+        void shutdown() {
+            running = false;
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    selector.select();
+                    wakeupPending.set(false);
+                    runTasks();
+                    processSelectedKeys();
+                }
+            } catch (IOException | RuntimeException ignored) {
+                // the selector is broken, stop serving the channels
+            } finally {
+                terminated = true;
+                for (SelectionKey key : selector.keys()) {
+                    ((ChannelHandler) key.attachment()).onShutdown();
+                }
+                runTasks();
+                try {
+                    selector.close();
+                } catch (IOException ignored) {
+                    // no-op
+                }
+            }
+        }
+
+        private void runTasks() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+
+        private void processSelectedKeys() {
+            Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+            while (iterator.hasNext()) {
+                SelectionKey key = iterator.next();
+                iterator.remove();
+                ChannelHandler handler = (ChannelHandler) key.attachment();
+                try {
+                    if (key.isValid() && key.isReadable()) {
+                        handler.onReadable();
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        handler.onWritable();
+                    }
+                } catch (CancelledKeyException ignored) {
+                    // the channel is closed concurrently
+                }
+            }
+        }
+
+    }
+
+}
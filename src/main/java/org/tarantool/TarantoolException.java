@@ -13,6 +13,11 @@ public class TarantoolException extends RuntimeException {
     public static final int ERR_LOADING = 116;
     public static final int ERR_LOCAL_INSTANCE_ID_IS_READ_ONLY = 128;
 
+    /**
+     * Flag of an error response code, the rest bits are the error code.
+     */
+    static final int ERROR_TYPE_MARKER = 0x8000;
+
     private static final long serialVersionUID = 1L;
     long code;
 
@@ -57,7 +62,23 @@ public class TarantoolException extends RuntimeException {
      * @return {@code true} if retry can possibly help to overcome this error.
      */
     boolean isTransient() {
-        switch ((int) code) {
+        return isTransient((int) code);
+    }
+
+    /**
+     * Determines whether an error code means transient circumstances.
+     * Unlike {@link #isTransient()} it's applied by callers which
+     * retry on their own to the code without the response type flag,
+     * so the failover of {@link TarantoolClusterClient} isn't affected.
+     *
+     * @param errorCode error code as listed in {@code src/box/errcode.h}
+     *
+     * @return {@code true} if retry can possibly help to overcome this error.
+     *
+     * @see #getErrorCode()
+     */
+    static boolean isTransient(int errorCode) {
+        switch (errorCode) {
         case ERR_READONLY:
         case ERR_TIMEOUT:
         case ERR_LOADING:
@@ -67,4 +88,13 @@ public class TarantoolException extends RuntimeException {
             return false;
         }
     }
+
+    /**
+     * Gets the error code without the response type flag.
+     *
+     * @return error code as listed in {@code src/box/errcode.h}
+     */
+    int getErrorCode() {
+        return (int) (code & ~ERROR_TYPE_MARKER);
+    }
 }
@@ -0,0 +1,364 @@
+package org.tarantool;
+
+import org.tarantool.pool.RoundRobinPoolBalancer;
+import org.tarantool.pool.TarantoolPoolBalancer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client that keeps several connections to the same instance
+ * and spreads requests among them.
+ * <p>
+ * Each connection is a separate {@link TarantoolClientImpl} with its own
+ * IO threads and its own registry of pending requests, so the pool
+ * is not limited by a throughput of a single TCP stream. A connection
+ * is chosen per request by a configured {@link TarantoolPoolBalancer}.
+ * <p>
+ * If the selected connection is not alive the request is redirected to
+ * the next alive one.
+ * <p>
+ * {@link TarantoolClientConfig#maxInFlightRequests} limits requests
+ * in flight of the whole pool, the connections share one window.
+ */
+public class TarantoolPooledClient implements TarantoolClient {
+
+    private final TarantoolPooledClientConfig config;
+    private final List<TarantoolClientImpl> connections;
+    private final TarantoolPoolBalancer balancer;
+
+    /**
+     * Limit of requests in flight shared by the connections
+     * or {@code null} if it's not limited.
+     */
+    private final InFlightWindow inFlightWindow;
+
+    /**
+     * Interfaces.
+     */
+    private final SyncOps syncOps;
+    private final AsyncOps asyncOps;
+    private final ComposableAsyncOps composableAsyncOps;
+    private final FireAndForgetOps fireAndForgetOps;
+    private final SqlSyncOps sqlSyncOps;
+    private final SqlAsyncOps sqlAsyncOps;
+
+    /**
+     * Constructs a new pool of connections to a single instance.
+     *
+     * @param address instance address in the form of host[:port]
+     * @param config  configuration
+     */
+    public TarantoolPooledClient(String address, TarantoolPooledClientConfig config) {
+        this(new SingleSocketChannelProviderImpl(address, config.socketOptions), config);
+    }
+
+    /**
+     * Constructs a new pool of connections.
+     *
+     * @param socketProvider provider used by all the connections of the pool
+     * @param config         configuration
+     */
+    public TarantoolPooledClient(SocketChannelProvider socketProvider, TarantoolPooledClientConfig config) {
+        if (config.poolSize < 1) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        this.config = config;
+        this.balancer = config.balancer == null ? new RoundRobinPoolBalancer() : config.balancer;
+        this.inFlightWindow = config.maxInFlightRequests > 0 ? new InFlightWindow(config.maxInFlightRequests) : null;
+
+        List<TarantoolClientImpl> connections = new ArrayList<>(config.poolSize);
+        try {
+            for (int i = 0; i < config.poolSize; i++) {
+                connections.add(makeConnection(socketProvider, config));
+            }
+        } catch (RuntimeException e) {
+            for (TarantoolClientImpl connection : connections) {
+                connection.close();
+            }
+            throw e;
+        }
+        this.connections = Collections.unmodifiableList(connections);
+
+        this.syncOps = new SyncOps();
+        this.asyncOps = new AsyncOps();
+        this.composableAsyncOps = new ComposableAsyncOps();
+        this.fireAndForgetOps = new FireAndForgetOps();
+        this.sqlSyncOps = new SqlSyncOps();
+        this.sqlAsyncOps = new SqlAsyncOps();
+        if (config.useNewCall) {
+            this.syncOps.setCallCode(Code.CALL);
+            this.asyncOps.setCallCode(Code.CALL);
+            this.composableAsyncOps.setCallCode(Code.CALL);
+            this.fireAndForgetOps.setCallCode(Code.CALL);
+        }
+    }
+
+    /**
+     * Creates a pool connection. A subclass may override this
+     * to provide a customized client implementation, such connections
+     * don't share the in-flight limit of the pool.
+     *
+     * @param socketProvider socket provider
+     * @param config         pool configuration
+     *
+     * @return connected client
+     */
+    protected TarantoolClientImpl makeConnection(SocketChannelProvider socketProvider,
+                                                 TarantoolPooledClientConfig config) {
+        return new TarantoolClientImpl(socketProvider, config, inFlightWindow);
+    }
+
+    /**
+     * Gets the pool connections.
+     *
+     * @return unmodifiable list of connections
+     */
+    public List<TarantoolClientImpl> getConnections() {
+        return connections;
+    }
+
+    /**
+     * Chooses a connection to perform the request.
+     *
+     * @param code operation code
+     * @param args operation arguments
+     *
+     * @return selected connection
+     */
+    protected TarantoolClientImpl selectConnection(Code code, Object[] args) {
+        int size = connections.size();
+        int index = balancer.select(code, args, connections);
+        for (int i = 0; i < size; i++) {
+            TarantoolClientImpl connection = connections.get((index + i) % size);
+            if (connection.isAlive()) {
+                return connection;
+            }
+        }
+        // nothing is alive, let the selected one report an error
+        return connections.get(index);
+    }
+
+    @Override
+    public TarantoolClientOps<Integer, List<?>, Object, List<?>> syncOps() {
+        return syncOps;
+    }
+
+    @Override
+    public TarantoolClientOps<Integer, List<?>, Object, Future<List<?>>> asyncOps() {
+        return asyncOps;
+    }
+
+    @Override
+    public TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> composableAsyncOps() {
+        return composableAsyncOps;
+    }
+
+    @Override
+    public TarantoolClientOps<Integer, List<?>, Object, Long> fireAndForgetOps() {
+        return fireAndForgetOps;
+    }
+
+    /**
+     * Starts a batch. Each operation of the batch goes through the
+     * connection the balancer chooses for it, operations which go through
+     * the same connection are sent there at once.
+     *
+     * @return empty batch
+     */
+    public TarantoolBatch batch() {
+        return TarantoolBatch.create(config, this::execBatch);
+    }
+
+    @Override
+    public TarantoolSQLOps<Object, Long, List<Map<String, Object>>> sqlSyncOps() {
+        return sqlSyncOps;
+    }
+
+    @Override
+    public TarantoolSQLOps<Object, Future<Long>, Future<List<Map<String, Object>>>> sqlAsyncOps() {
+        return sqlAsyncOps;
+    }
+
+    @Override
+    public void close() {
+        for (TarantoolClientImpl connection : connections) {
+            connection.close();
+        }
+    }
+
+    /**
+     * Checks whether all the pool connections are alive.
+     *
+     * @return {@code true} if all the connections are alive
+     */
+    @Override
+    public boolean isAlive() {
+        for (TarantoolClientImpl connection : connections) {
+            if (!connection.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void waitAlive() throws InterruptedException {
+        for (TarantoolClientImpl connection : connections) {
+            connection.waitAlive();
+        }
+    }
+
+    @Override
+    public boolean waitAlive(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (TarantoolClientImpl connection : connections) {
+            long remaining = deadline - System.nanoTime();
+            if (!connection.waitAlive(Math.max(remaining, 0), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Splits a batch by the connections chosen for its operations.
+     *
+     * @param codes codes of the operations
+     * @param args  arguments of the operations
+     *
+     * @return futures of the operations in the same order
+     */
+    private List<CompletableFuture<?>> execBatch(List<Code> codes, List<Object[]> args) {
+        Map<TarantoolClientImpl, List<Integer>> parts = new HashMap<>();
+        for (int i = 0; i < codes.size(); i++) {
+            parts.computeIfAbsent(selectConnection(codes.get(i), args.get(i)), c -> new ArrayList<>()).add(i);
+        }
+        if (parts.size() == 1) {
+            return parts.keySet().iterator().next().doExecBatch(codes, args, false);
+        }
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[codes.size()];
+        for (Map.Entry<TarantoolClientImpl, List<Integer>> part : parts.entrySet()) {
+            List<Integer> indexes = part.getValue();
+            List<Code> partCodes = new ArrayList<>(indexes.size());
+            List<Object[]> partArgs = new ArrayList<>(indexes.size());
+            for (int index : indexes) {
+                partCodes.add(codes.get(index));
+                partArgs.add(args.get(index));
+            }
+            List<CompletableFuture<?>> partFutures = part.getKey().doExecBatch(partCodes, partArgs, false);
+            for (int i = 0; i < indexes.size(); i++) {
+                futures[indexes.get(i)] = partFutures.get(i);
+            }
+        }
+        return Arrays.asList(futures);
+    }
+
+    private class SyncOps extends AbstractTarantoolOps<Integer, List<?>, Object, List<?>> {
+
+        @Override
+        protected List<?> exec(Code code, Object... args) {
+            TarantoolClientImpl connection = selectConnection(code, args);
+            return (List<?>) connection.syncGet(connection.doExec(code, args, true));
+        }
+
+        @Override
+        public void close() {
+            throw new IllegalStateException("You should close TarantoolClient instead.");
+        }
+
+    }
+
+    private class AsyncOps extends AbstractTarantoolOps<Integer, List<?>, Object, Future<List<?>>> {
+
+        @Override
+        protected Future<List<?>> exec(Code code, Object... args) {
+            return (Future<List<?>>) selectConnection(code, args).exec(code, args);
+        }
+
+        @Override
+        public void close() {
+            TarantoolPooledClient.this.close();
+        }
+
+    }
+
+    private class ComposableAsyncOps extends AbstractTarantoolOps<Integer, List<?>, Object, CompletionStage<List<?>>> {
+
+        @Override
+        protected CompletionStage<List<?>> exec(Code code, Object... args) {
+            return (CompletionStage<List<?>>) selectConnection(code, args).doExec(code, args);
+        }
+
+        @Override
+        public void close() {
+            TarantoolPooledClient.this.close();
+        }
+
+    }
+
+    private class SqlSyncOps implements TarantoolSQLOps<Object, Long, List<Map<String, Object>>> {
+
+        @Override
+        public Long update(String sql, Object... bind) {
+            return (Long) exec(sql, bind);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<Map<String, Object>> query(String sql, Object... bind) {
+            return (List<Map<String, Object>>) exec(sql, bind);
+        }
+
+        private Object exec(String sql, Object[] bind) {
+            Object[] args = new Object[] {Key.SQL_TEXT, sql, Key.SQL_BIND, bind};
+            TarantoolClientImpl connection = selectConnection(Code.EXECUTE, args);
+            return connection.syncGet(connection.doExec(Code.EXECUTE, args, true));
+        }
+
+    }
+
+    private class SqlAsyncOps implements TarantoolSQLOps<Object, Future<Long>, Future<List<Map<String, Object>>>> {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Future<Long> update(String sql, Object... bind) {
+            return (Future<Long>) exec(sql, bind);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Future<List<Map<String, Object>>> query(String sql, Object... bind) {
+            return (Future<List<Map<String, Object>>>) exec(sql, bind);
+        }
+
+        private Future<?> exec(String sql, Object[] bind) {
+            Object[] args = new Object[] {Key.SQL_TEXT, sql, Key.SQL_BIND, bind};
+            return selectConnection(Code.EXECUTE, args).doExec(Code.EXECUTE, args);
+        }
+
+    }
+
+    private class FireAndForgetOps extends AbstractTarantoolOps<Integer, List<?>, Object, Long> {
+
+        @Override
+        protected Long exec(Code code, Object... args) {
+            return selectConnection(code, args).fireAndForgetOps.exec(code, args);
+        }
+
+        @Override
+        public void close() {
+            throw new IllegalStateException("You should close TarantoolClient instead.");
+        }
+
+    }
+
+}
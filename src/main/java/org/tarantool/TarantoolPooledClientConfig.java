@@ -0,0 +1,30 @@
+package org.tarantool;
+
+import org.tarantool.pool.TarantoolPoolBalancer;
+
+/**
+ * Configuration for the {@link TarantoolPooledClient}.
+ * <p>
+ * The inherited settings are applied to each connection of the pool.
+ */
+public class TarantoolPooledClientConfig extends TarantoolClientConfig {
+
+    public static final int DEFAULT_POOL_SIZE = 4;
+
+    /**
+     * Amount of connections opened to the instance.
+     */
+    public int poolSize = DEFAULT_POOL_SIZE;
+
+    /**
+     * Strategy to distribute requests among the connections.
+     * Round-robin distribution is used if it isn't set.
+     *
+     * @see org.tarantool.pool.RoundRobinPoolBalancer
+     * @see org.tarantool.pool.LeastPendingPoolBalancer
+     * @see org.tarantool.pool.KeyHashPoolBalancer
+     * @see org.tarantool.pool.ThreadAffinityPoolBalancer
+     */
+    public TarantoolPoolBalancer balancer;
+
+}
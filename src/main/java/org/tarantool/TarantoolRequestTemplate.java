@@ -0,0 +1,143 @@
+package org.tarantool;
+
+import org.tarantool.protocol.ProtoUtils;
+
+import java.io.IOException;
+
+/**
+ * Operation which is repeated with different keys or tuples, e.g.
+ * a point lookup by the primary key.
+ * <br>
+ * The header and all the constant body entries are encoded once when
+ * the template is created, so only the sync id and the variable value
+ * are encoded per request. The template doesn't depend on a client
+ * and may be shared by many of them.
+ * <p>
+ * Templates take space and index ids, so requests made by them skip
+ * the schema and are not checked against the schema version. They
+ * aren't cached or coalesced either, writes still invalidate the
+ * select cache.
+ *
+ * @see TarantoolClientImpl#composableAsyncExec(TarantoolRequestTemplate, Object)
+ */
+public final class TarantoolRequestTemplate {
+
+    private final Code code;
+    private final Key variable;
+    private final Object[] constants;
+    private final byte[] headerPrefix;
+    private final byte[] bodyPrefix;
+
+    private TarantoolRequestTemplate(Code code, Key variable, Object[] constants) {
+        if (constants.length % 2 != 0) {
+            throw new IllegalArgumentException("Constants must be pairs of a key and a value");
+        }
+        for (int i = 0; i < constants.length; i += 2) {
+            if (!(constants[i] instanceof Key) || constants[i] == variable || constants[i + 1] == null) {
+                throw new IllegalArgumentException("Invalid constant " + constants[i] + " = " + constants[i + 1]);
+            }
+        }
+        this.code = code;
+        this.variable = variable;
+        this.constants = constants.clone();
+        this.headerPrefix = ProtoUtils.encodeHeaderPrefix(code);
+        try {
+            this.bodyPrefix = ProtoUtils.encodeBodyPrefix(MsgPackLite.INSTANCE, variable, this.constants);
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("Cannot encode the constants", e);
+        }
+    }
+
+    /**
+     * Creates a template of any operation.
+     *
+     * @param code      operation code
+     * @param variable  key of the body value given per request
+     * @param constants other body entries as pairs of {@link Key} and value
+     *
+     * @return operation template
+     */
+    public static TarantoolRequestTemplate of(Code code, Key variable, Object... constants) {
+        return new TarantoolRequestTemplate(code, variable, constants);
+    }
+
+    /**
+     * Creates a template of a select by a key.
+     *
+     * @param space    space id
+     * @param index    index id
+     * @param iterator iterator type
+     * @param offset   number of tuples to skip
+     * @param limit    maximal number of tuples
+     *
+     * @return operation template
+     */
+    public static TarantoolRequestTemplate select(int space, int index, Iterator iterator, int offset, int limit) {
+        return of(
+            Code.SELECT, Key.KEY,
+            Key.SPACE, space, Key.INDEX, index, Key.ITERATOR, iterator.getValue(), Key.OFFSET, offset, Key.LIMIT, limit
+        );
+    }
+
+    public static TarantoolRequestTemplate insert(int space) {
+        return of(Code.INSERT, Key.TUPLE, Key.SPACE, space);
+    }
+
+    public static TarantoolRequestTemplate replace(int space) {
+        return of(Code.REPLACE, Key.TUPLE, Key.SPACE, space);
+    }
+
+    public static TarantoolRequestTemplate delete(int space, int index) {
+        return of(Code.DELETE, Key.KEY, Key.SPACE, space, Key.INDEX, index);
+    }
+
+    /**
+     * Creates a template of a stored function call which
+     * arguments are given per request as a list.
+     *
+     * @param function function name
+     *
+     * @return operation template
+     */
+    public static TarantoolRequestTemplate call(String function) {
+        return of(Code.CALL, Key.TUPLE, Key.FUNCTION, function);
+    }
+
+    public Code getCode() {
+        return code;
+    }
+
+    public Key getVariable() {
+        return variable;
+    }
+
+    byte[] getHeaderPrefix() {
+        return headerPrefix;
+    }
+
+    byte[] getBodyPrefix() {
+        return bodyPrefix;
+    }
+
+    /**
+     * Builds complete arguments of a request, e.g. to encode
+     * it again on retry.
+     *
+     * @param value variable value
+     *
+     * @return body as pairs of {@link Key} and value
+     */
+    Object[] args(Object value) {
+        Object[] args = new Object[constants.length + 2];
+        System.arraycopy(constants, 0, args, 0, constants.length);
+        args[constants.length] = variable;
+        args[constants.length + 1] = value;
+        return args;
+    }
+
+    @Override
+    public String toString() {
+        return "TarantoolRequestTemplate{code=" + code + ", variable=" + variable + '}';
+    }
+
+}
@@ -0,0 +1,634 @@
+package org.tarantool;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Scan of a space or a range of an index which reads the tuples
+ * page by page.
+ * <br>
+ * Every next page is selected with {@link Iterator#GT} (or
+ * {@link Iterator#LT} for descending scans) starting from the key
+ * of the last received tuple, so the server never skips tuples by
+ * offset and the cost of a page doesn't depend on its position.
+ * The key is built from the tuple fields listed as the index parts.
+ * The key must identify a tuple, otherwise tuples which share the key
+ * of the last tuple of a page would be skipped. For a non-unique index
+ * append the primary key parts to its own parts: the server orders
+ * the index by such an extended key and accepts it in requests.
+ * <p>
+ * The next page is requested as soon as the previous one arrives
+ * while the consumer is still busy with the received tuples. The
+ * scan stops requesting when the configured number of pages is
+ * buffered and proceeds when the consumer takes one of them, so
+ * memory usage is bounded regardless of the space size.
+ * <p>
+ * Each {@link #iterator()} call starts an independent scan. The
+ * scan isn't a snapshot: tuples changed concurrently may or may not
+ * be seen.
+ *
+ * <pre>{@code
+ * new TarantoolScan(client.composableAsyncOps(), spaceId, 0, 0)
+ *     .pageSize(1000)
+ *     .stream()
+ *     .forEach(tuple -> ...);
+ * }</pre>
+ */
+public class TarantoolScan implements Iterable<List<?>> {
+
+    private static final int SAMPLES_PER_PARTITION = 32;
+
+    private static final String SAMPLE_EXPRESSION =
+        "local space, index, count = ... " +
+        "local idx = box.space[space].index[index] " +
+        "local tuples = {} " +
+        "for i = 1, count do " +
+        "local tuple = idx:random(math.random(0, 2147483647)) " +
+        "if tuple == nil then break end " +
+        "tuples[i] = tuple " +
+        "end " +
+        "return tuples";
+
+    private final TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> ops;
+    private final int space;
+    private final int index;
+    private final int[] keyFields;
+
+    private List<?> key = Collections.emptyList();
+    private Iterator iterator = Iterator.ALL;
+    private int pageSize = 1000;
+    private int prefetchPages = 2;
+
+    /**
+     * Creates a scan of the whole index in ascending order.
+     *
+     * @param ops       asynchronous client operations
+     * @param space     space id
+     * @param index     index id
+     * @param keyFields zero-based numbers of the tuple fields which
+     *                  are the index parts in the order of the parts
+     *                  followed by the primary key parts if the index
+     *                  is not unique
+     */
+    public TarantoolScan(TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> ops,
+                         int space,
+                         int index,
+                         int... keyFields) {
+        if (keyFields.length == 0) {
+            throw new IllegalArgumentException("Index key fields must be specified");
+        }
+        this.ops = ops;
+        this.space = space;
+        this.index = index;
+        this.keyFields = keyFields.clone();
+    }
+
+    /**
+     * Limits the scan by a key. Supported iterators are {@link Iterator#ALL},
+     * {@link Iterator#EQ}, {@link Iterator#GE}, {@link Iterator#GT} in
+     * ascending order and {@link Iterator#REQ}, {@link Iterator#LE},
+     * {@link Iterator#LT} in descending order.
+     *
+     * @param key      full or partial key
+     * @param iterator iterator type
+     *
+     * @return this scan
+     */
+    public TarantoolScan range(List<?> key, Iterator iterator) {
+        switch (iterator) {
+        case ALL:
+        case EQ:
+        case REQ:
+        case GE:
+        case GT:
+        case LE:
+        case LT:
+            break;
+        default:
+            throw new IllegalArgumentException("Iterator " + iterator + " cannot be paginated");
+        }
+        if (key.size() > keyFields.length) {
+            throw new IllegalArgumentException("Key has more parts than the index");
+        }
+        this.key = key;
+        this.iterator = iterator;
+        return this;
+    }
+
+    /**
+     * Sets the number of tuples selected by one request.
+     *
+     * @param pageSize tuples per page
+     *
+     * @return this scan
+     */
+    public TarantoolScan pageSize(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * Sets the number of pages which may be received ahead of
+     * the consumer.
+     *
+     * @param prefetchPages buffered pages limit
+     *
+     * @return this scan
+     */
+    public TarantoolScan prefetchPages(int prefetchPages) {
+        if (prefetchPages < 1) {
+            throw new IllegalArgumentException("Prefetch must be positive");
+        }
+        this.prefetchPages = prefetchPages;
+        return this;
+    }
+
+    /**
+     * Starts a new scan.
+     *
+     * @return iterator over the scanned tuples
+     */
+    @Override
+    public java.util.Iterator<List<?>> iterator() {
+        return new ScanIterator(cursor());
+    }
+
+    /**
+     * Starts a new scan. Closing the stream stops the prefetch.
+     *
+     * @return sequential stream of the scanned tuples
+     */
+    public Stream<List<?>> stream() {
+        ScanIterator scan = new ScanIterator(cursor());
+        return StreamSupport
+            .stream(Spliterators.spliteratorUnknownSize(scan, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(scan::close);
+    }
+
+    private static boolean isDescending(Iterator iterator) {
+        return iterator == Iterator.REQ || iterator == Iterator.LE || iterator == Iterator.LT;
+    }
+
+    private boolean matchesPrefix(List<?> prefix, List<?> tuple) {
+        for (int i = 0; i < prefix.size(); i++) {
+            if (!keyPartEquals(prefix.get(i), tuple.get(keyFields[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares integers regardless of the boxed types they are unpacked to.
+     */
+    private static boolean keyPartEquals(Object expected, Object actual) {
+        if (expected instanceof Number && actual instanceof Number &&
+            !(expected instanceof Float || expected instanceof Double) &&
+            !(actual instanceof Float || actual instanceof Double)) {
+            return ((Number) expected).longValue() == ((Number) actual).longValue();
+        }
+        return Objects.equals(expected, actual);
+    }
+
+    /**
+     * Compares keys by their common prefix.
+     */
+    static int compareKeys(List<?> a, List<?> b) {
+        for (int i = 0; i < Math.min(a.size(), b.size()); i++) {
+            int cmp = compareKeyParts(a.get(i), b.get(i));
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Orders values of different types the same way as
+     * the server does for the scalar type.
+     */
+    private static int compareKeyParts(Object a, Object b) {
+        int rankA = rank(a);
+        int rankB = rank(b);
+        if (rankA != rankB) {
+            return Integer.compare(rankA, rankB);
+        }
+        if (a instanceof Boolean) {
+            return Boolean.compare((Boolean) a, (Boolean) b);
+        } else if (a instanceof Number) {
+            Number x = (Number) a;
+            Number y = (Number) b;
+            if (x instanceof Float || x instanceof Double || y instanceof Float || y instanceof Double) {
+                return Double.compare(x.doubleValue(), y.doubleValue());
+            }
+            return Long.compare(x.longValue(), y.longValue());
+        } else if (a instanceof String) {
+            return ((String) a).compareTo((String) b);
+        }
+        return 0;
+    }
+
+    private static int rank(Object value) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof Boolean) {
+            return 1;
+        } else if (value instanceof Number) {
+            return 2;
+        } else if (value instanceof String) {
+            return 3;
+        }
+        throw new IllegalArgumentException("Key part of " + value.getClass() + " cannot be compared");
+    }
+
+    private List<Object> keyOf(List<?> tuple) {
+        List<Object> tupleKey = new ArrayList<>(keyFields.length);
+        for (int field : keyFields) {
+            tupleKey.add(tuple.get(field));
+        }
+        return tupleKey;
+    }
+
+    /**
+     * Starts a new sequence of page requests.
+     *
+     * @return cursor positioned before the first page
+     */
+    Cursor cursor() {
+        return new Cursor(key, iterator, null);
+    }
+
+    /**
+     * Splits an ascending scan into key ranges read in parallel.
+     * <br>
+     * The ranges are bounded by the split points: each range is read
+     * starting with {@link Iterator#GE} from its lower point and stops
+     * before the upper one, so every tuple belongs to exactly one range.
+     * Parallel streams read different ranges concurrently. Use the
+     * operations of a {@link TarantoolPooledClient} to spread the
+     * requests over several connections.
+     * <p>
+     * Key parts are compared by the client to find the range bounds.
+     * Numbers, strings (by code units), booleans and {@code null} are
+     * supported, so the index should be a TREE with the binary collation.
+     *
+     * @param splitPoints keys splitting the index in ascending order
+     *
+     * @return ordered stream of the tuples which can be made parallel
+     *
+     * @see #sampleSplitPoints(int)
+     */
+    public Stream<List<?>> partitionedStream(List<? extends List<?>> splitPoints) {
+        if (iterator != Iterator.ALL && iterator != Iterator.GE && iterator != Iterator.GT) {
+            throw new IllegalStateException("Only ascending scans can be partitioned");
+        }
+        List<Cursor> ranges = new ArrayList<>(splitPoints.size() + 1);
+        List<?> lower = key;
+        Iterator lowerIterator = iterator;
+        for (List<?> point : splitPoints) {
+            if (point.isEmpty() || point.size() > keyFields.length) {
+                throw new IllegalArgumentException("Split point must be a non-empty key");
+            }
+            if (!lower.isEmpty() && compareKeys(lower, point) >= 0) {
+                throw new IllegalArgumentException("Split points must be ascending and follow the start key");
+            }
+            ranges.add(new Cursor(lower, lowerIterator, point));
+            lower = point;
+            lowerIterator = Iterator.GE;
+        }
+        ranges.add(new Cursor(lower, lowerIterator, null));
+        return StreamSupport.stream(new PartitionSpliterator(ranges), false);
+    }
+
+    /**
+     * Picks split points for {@link #partitionedStream(List)} by
+     * sampling random tuples of the index with {@code index:random()}.
+     * The points divide the sampled keys into equal parts, so the
+     * ranges are roughly balanced for any key distribution.
+     *
+     * @param partitions desired number of ranges
+     *
+     * @return ascending split points, less than {@code partitions - 1}
+     *     if the index is small
+     */
+    public List<List<?>> sampleSplitPoints(int partitions) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("Number of partitions must be positive");
+        }
+        if (partitions == 1) {
+            return Collections.emptyList();
+        }
+        List<?> result = ops.eval(SAMPLE_EXPRESSION, space, index, partitions * SAMPLES_PER_PARTITION)
+            .toCompletableFuture()
+            .join();
+        List<List<?>> keys = new ArrayList<>();
+        if (!result.isEmpty() && result.get(0) instanceof List) {
+            for (Object tuple : (List<?>) result.get(0)) {
+                if (tuple instanceof List) {
+                    keys.add(keyOf((List<?>) tuple));
+                }
+            }
+        }
+        keys.sort(TarantoolScan::compareKeys);
+        List<List<?>> points = new ArrayList<>(partitions - 1);
+        for (int i = 1; i < partitions; i++) {
+            if (keys.isEmpty()) {
+                break;
+            }
+            List<?> point = keys.get(i * keys.size() / partitions);
+            if (points.isEmpty() || compareKeys(points.get(points.size() - 1), point) < 0) {
+                points.add(point);
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Position of a scan. Pages must be fetched one by one: the next
+     * fetch may start only when the previous one is completed.
+     */
+    final class Cursor {
+
+        private final List<?> startKey;
+        private final Iterator startIterator;
+        private final List<?> upperKey;
+        private final int limit = pageSize;
+        private List<?> nextKey;
+        private Iterator nextIterator;
+        private volatile boolean exhausted;
+
+        /**
+         * Creates a cursor of a range.
+         *
+         * @param startKey      start key
+         * @param startIterator iterator of the first page
+         * @param upperKey      exclusive upper bound or {@code null}
+         */
+        private Cursor(List<?> startKey, Iterator startIterator, List<?> upperKey) {
+            this.startKey = startKey;
+            this.startIterator = startIterator;
+            this.upperKey = upperKey;
+            this.nextKey = startKey;
+            this.nextIterator = startIterator;
+        }
+
+        /**
+         * Selects the next page and moves the cursor past it.
+         *
+         * @return tuples of the page, possibly empty
+         */
+        CompletionStage<List<?>> fetch() {
+            return ops.select(space, index, nextKey, 0, limit, nextIterator).thenApply(this::accept);
+        }
+
+        boolean isExhausted() {
+            return exhausted;
+        }
+
+        int getPageSize() {
+            return limit;
+        }
+
+        private List<?> accept(List<?> page) {
+            List<?> tuples = page;
+            if (page.size() < limit) {
+                exhausted = true;
+            } else if (page.size() > 1 && isSameKey(page.get(page.size() - 2), page.get(page.size() - 1))) {
+                throw new IllegalArgumentException(
+                    "Key fields don't identify tuples, append the primary key parts for a non-unique index"
+                );
+            }
+            if ((startIterator == Iterator.EQ || startIterator == Iterator.REQ) && !startKey.isEmpty()) {
+                tuples = takeMatching(page);
+            } else if (upperKey != null) {
+                tuples = takeBelow(page);
+            }
+            if (!tuples.isEmpty()) {
+                nextKey = keyOf((List<?>) page.get(page.size() - 1));
+                nextIterator = isDescending(startIterator) ? Iterator.LT : Iterator.GT;
+            }
+            return tuples;
+        }
+
+        private boolean isSameKey(Object a, Object b) {
+            for (int field : keyFields) {
+                if (!keyPartEquals(((List<?>) a).get(field), ((List<?>) b).get(field))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Cuts the page at the first tuple beyond the key prefix
+         * which means the end of the range.
+         */
+        private List<?> takeMatching(List<?> page) {
+            for (int i = 0; i < page.size(); i++) {
+                if (!matchesPrefix(startKey, (List<?>) page.get(i))) {
+                    exhausted = true;
+                    return page.subList(0, i);
+                }
+            }
+            return page;
+        }
+
+        /**
+         * Cuts the page at the first tuple which belongs
+         * to the next range.
+         */
+        private List<?> takeBelow(List<?> page) {
+            for (int i = 0; i < page.size(); i++) {
+                if (compareKeys(keyOf((List<?>) page.get(i)), upperKey) >= 0) {
+                    exhausted = true;
+                    return page.subList(0, i);
+                }
+            }
+            return page;
+        }
+
+    }
+
+    /**
+     * Reads ranges of a partitioned scan. Splitting hands over the
+     * first half of the ranges, so the encounter order is kept.
+     */
+    private final class PartitionSpliterator implements Spliterator<List<?>> {
+
+        private final List<Cursor> ranges;
+        private int next;
+        private ScanIterator current;
+
+        PartitionSpliterator(List<Cursor> ranges) {
+            this.ranges = ranges;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super List<?>> action) {
+            while (true) {
+                if (current != null && current.hasNext()) {
+                    action.accept(current.next());
+                    return true;
+                }
+                if (next == ranges.size()) {
+                    return false;
+                }
+                current = new ScanIterator(ranges.get(next++));
+            }
+        }
+
+        @Override
+        public Spliterator<List<?>> trySplit() {
+            int remaining = ranges.size() - next;
+            if (current != null || remaining < 2) {
+                return null;
+            }
+            int middle = next + remaining / 2;
+            PartitionSpliterator prefix = new PartitionSpliterator(ranges.subList(next, middle));
+            next = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL;
+        }
+
+    }
+
+    /**
+     * Scan state shared by the consumer and the threads completing
+     * the page requests. At most one page request is in flight.
+     */
+    private final class ScanIterator implements java.util.Iterator<List<?>>, ForkJoinPool.ManagedBlocker {
+
+        private final Cursor cursor;
+        private final int prefetch = prefetchPages;
+        private final Deque<List<?>> pages = new ArrayDeque<>();
+        private java.util.Iterator<?> current = Collections.emptyIterator();
+        private boolean requested;
+        private boolean exhausted;
+        private boolean closed;
+        private Throwable error;
+
+        ScanIterator(Cursor cursor) {
+            this.cursor = cursor;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (current.hasNext()) {
+                return true;
+            }
+            List<?> page;
+            synchronized (this) {
+                while (pages.isEmpty()) {
+                    if (error != null) {
+                        throw new CommunicationException("Scan failed", error);
+                    }
+                    if (exhausted || closed) {
+                        return false;
+                    }
+                    if (!requested) {
+                        // the page may be received right away
+                        request();
+                        continue;
+                    }
+                    try {
+                        // lets the common pool compensate a parallel stream worker
+                        ForkJoinPool.managedBlock(this);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new CommunicationException("Interrupted", e);
+                    }
+                }
+                page = pages.poll();
+                if (!requested && !exhausted) {
+                    request();
+                }
+            }
+            current = page.iterator();
+            return true;
+        }
+
+        @Override
+        public List<?> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return (List<?>) current.next();
+        }
+
+        synchronized void close() {
+            closed = true;
+            pages.clear();
+            notifyAll();
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            wait();
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return false;
+        }
+
+        /**
+         * Must be called under the lock. The page is handled by
+         * the common pool because the next page may be requested
+         * right away, which must not block a reader thread.
+         */
+        private void request() {
+            requested = true;
+            cursor.fetch().whenCompleteAsync(this::onPage);
+        }
+
+        private synchronized void onPage(List<?> tuples, Throwable failure) {
+            requested = false;
+            if (closed) {
+                return;
+            }
+            if (failure != null) {
+                error = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause()
+                    : failure;
+                notifyAll();
+                return;
+            }
+            exhausted = cursor.isExhausted();
+            if (!tuples.isEmpty()) {
+                pages.add(tuples);
+            }
+            if (!exhausted && pages.size() < prefetch) {
+                request();
+            }
+            notifyAll();
+        }
+
+    }
+
+}
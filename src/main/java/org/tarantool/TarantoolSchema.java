@@ -0,0 +1,304 @@
+package org.tarantool;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot of spaces, indexes and space formats loaded from the
+ * {@code _vspace} and {@code _vindex} system views.
+ * <br>
+ * The snapshot is bound to the schema version it was read at.
+ * The client sends the version with every request, so the server
+ * rejects requests built by an outdated snapshot and the client
+ * loads a new one.
+ * <p>
+ * Field numbers are zero-based as in update operations of the binary
+ * protocol.
+ *
+ * @see TarantoolClientConfig#useSchema
+ */
+public final class TarantoolSchema {
+
+    /* taken from src/box/errcode.h */
+    static final int ERR_NO_SUCH_INDEX = 35;
+    static final int ERR_NO_SUCH_SPACE = 36;
+    static final int ERR_NO_SUCH_FIELD = 37;
+    static final int ERR_WRONG_SCHEMA_VERSION = 109;
+
+    static final int VSPACE_ID = 281;
+    static final int VINDEX_ID = 289;
+
+    private final long version;
+    private final Map<String, Space> spacesByName;
+    private final Map<Integer, Space> spacesById;
+
+    private TarantoolSchema(long version, Map<String, Space> spacesByName, Map<Integer, Space> spacesById) {
+        this.version = version;
+        this.spacesByName = spacesByName;
+        this.spacesById = spacesById;
+    }
+
+    /**
+     * Builds a snapshot from the system view tuples.
+     *
+     * @param version schema version the tuples were selected at
+     * @param spaces  tuples of {@code _vspace}
+     * @param indexes tuples of {@code _vindex}
+     *
+     * @return schema snapshot
+     */
+    static TarantoolSchema parse(long version, List<?> spaces, List<?> indexes) {
+        Map<String, Space> byName = new HashMap<>();
+        Map<Integer, Space> byId = new HashMap<>();
+        for (Object tuple : spaces) {
+            List<?> fields = (List<?>) tuple;
+            Space space = new Space(((Number) fields.get(0)).intValue(), (String) fields.get(2));
+            if (fields.size() > 6 && fields.get(6) instanceof List) {
+                List<?> format = (List<?>) fields.get(6);
+                for (int i = 0; i < format.size(); i++) {
+                    Object name = format.get(i) instanceof Map ? ((Map<?, ?>) format.get(i)).get("name") : null;
+                    space.fieldNames.add(name instanceof String ? (String) name : null);
+                    if (name instanceof String) {
+                        space.fields.put((String) name, i);
+                    }
+                }
+            }
+            byName.put(space.name, space);
+            byId.put(space.id, space);
+        }
+        for (Object tuple : indexes) {
+            List<?> fields = (List<?>) tuple;
+            Space space = byId.get(((Number) fields.get(0)).intValue());
+            if (space != null) {
+                space.indexes.put((String) fields.get(2), ((Number) fields.get(1)).intValue());
+            }
+        }
+        return new TarantoolSchema(version, byName, byId);
+    }
+
+    /**
+     * Gets the schema version the snapshot was read at.
+     *
+     * @return schema version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean hasSpace(String space) {
+        return spacesByName.containsKey(space);
+    }
+
+    /**
+     * Resolves a space name.
+     *
+     * @param space space name
+     *
+     * @return space id
+     *
+     * @throws TarantoolException if there is no such space
+     */
+    public int getSpaceId(String space) {
+        return space(space).id;
+    }
+
+    /**
+     * Resolves an index name.
+     *
+     * @param space space id
+     * @param index index name
+     *
+     * @return index id
+     *
+     * @throws TarantoolException if there is no such space or index
+     */
+    public int getIndexId(int space, String index) {
+        Space meta = space(space);
+        Integer id = meta.indexes.get(index);
+        if (id == null) {
+            throw new UnknownNameException(
+                ERR_NO_SUCH_INDEX, "No index '" + index + "' is defined in space '" + meta.name + "'"
+            );
+        }
+        return id;
+    }
+
+    /**
+     * Resolves a field name by the space format.
+     *
+     * @param space space id
+     * @param field field name
+     *
+     * @return zero-based field number
+     *
+     * @throws TarantoolException if there is no such space or field
+     */
+    public int getFieldNumber(int space, String field) {
+        Space meta = space(space);
+        Integer number = meta.fields.get(field);
+        if (number == null) {
+            throw new UnknownNameException(
+                ERR_NO_SUCH_FIELD, "Field '" + field + "' is not defined in space '" + meta.name + "'"
+            );
+        }
+        return number;
+    }
+
+    /**
+     * Gets field names of a space in the order of the format.
+     *
+     * @param space space id
+     *
+     * @return field names, {@code null} for unnamed fields
+     */
+    public List<String> getFieldNames(int space) {
+        return Collections.unmodifiableList(space(space).fieldNames);
+    }
+
+    /**
+     * Replaces names of a space, an index and fields of update
+     * operations with their ids.
+     *
+     * @param code operation code
+     * @param args operation arguments
+     *
+     * @return arguments with the names resolved, the same array
+     *     if there are no names
+     */
+    Object[] resolve(Code code, Object[] args) {
+        switch (code) {
+        case SELECT:
+        case INSERT:
+        case REPLACE:
+        case UPDATE:
+        case UPSERT:
+        case DELETE:
+            break;
+        default:
+            return args;
+        }
+        Object[] resolved = args;
+        int space = -1;
+        for (int i = 0; i < args.length - 1; i += 2) {
+            Object value = args[i + 1];
+            Object replacement = value;
+            if (args[i] == Key.SPACE) {
+                if (value instanceof String) {
+                    space = getSpaceId((String) value);
+                    replacement = space;
+                } else if (value instanceof Number) {
+                    space = ((Number) value).intValue();
+                }
+            } else if (args[i] == Key.INDEX && value instanceof String) {
+                replacement = getIndexId(space, (String) value);
+            } else if (isOperations(code, (Key) args[i]) && value instanceof Object[]) {
+                replacement = resolveOperations(space, (Object[]) value);
+            }
+            if (replacement != value) {
+                if (resolved == args) {
+                    resolved = args.clone();
+                }
+                resolved[i + 1] = replacement;
+            }
+        }
+        return resolved;
+    }
+
+    private Object[] resolveOperations(int space, Object[] operations) {
+        Object[] resolved = operations;
+        for (int i = 0; i < operations.length; i++) {
+            Object operation = operations[i];
+            Object field = fieldOf(operation);
+            Object replacement = operation;
+            if (field instanceof String) {
+                Integer number = getFieldNumber(space, (String) field);
+                if (operation instanceof List) {
+                    List<Object> copy = new ArrayList<>((List<?>) operation);
+                    copy.set(1, number);
+                    replacement = copy;
+                } else {
+                    Object[] copy = Arrays.copyOf((Object[]) operation, ((Object[]) operation).length, Object[].class);
+                    copy[1] = number;
+                    replacement = copy;
+                }
+            }
+            if (replacement != operation) {
+                if (resolved == operations) {
+                    resolved = Arrays.copyOf(operations, operations.length, Object[].class);
+                }
+                resolved[i] = replacement;
+            }
+        }
+        return resolved;
+    }
+
+    private static boolean isOperations(Code code, Key key) {
+        return key == Key.TUPLE && code == Code.UPDATE || key == Key.UPSERT_OPS;
+    }
+
+    private static Object fieldOf(Object operation) {
+        if (operation instanceof List && ((List<?>) operation).size() > 1) {
+            return ((List<?>) operation).get(1);
+        }
+        if (operation instanceof Object[] && ((Object[]) operation).length > 1) {
+            return ((Object[]) operation)[1];
+        }
+        return null;
+    }
+
+    private Space space(String name) {
+        Space space = spacesByName.get(name);
+        if (space == null) {
+            throw new UnknownNameException(ERR_NO_SUCH_SPACE, "Space '" + name + "' does not exist");
+        }
+        return space;
+    }
+
+    private Space space(int id) {
+        Space space = spacesById.get(id);
+        if (space == null) {
+            throw new UnknownNameException(ERR_NO_SUCH_SPACE, "Space '" + id + "' does not exist");
+        }
+        return space;
+    }
+
+    @Override
+    public String toString() {
+        return "TarantoolSchema{version=" + version + ", spaces=" + spacesByName.keySet() + '}';
+    }
+
+    private static final class Space {
+
+        private final int id;
+        private final String name;
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final Map<String, Integer> fields = new HashMap<>();
+        private final List<String> fieldNames = new ArrayList<>();
+
+        Space(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+    }
+
+    /**
+     * Name which is not found in the snapshot. It may be created
+     * after the snapshot was read, so the client reloads the schema
+     * before it reports the error.
+     */
+    static final class UnknownNameException extends TarantoolException {
+
+        private static final long serialVersionUID = 1L;
+
+        UnknownNameException(long code, String message) {
+            super(code, message);
+        }
+
+    }
+
+}
@@ -0,0 +1,424 @@
+package org.tarantool;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Client side cache of select results.
+ * <br>
+ * Only selects from the registered spaces are cached. An entry is
+ * identified by the space, index, key, iterator, offset and limit of
+ * the select and lives up to the TTL of its space. The least recently
+ * used entries are evicted when either the number of entries or their
+ * total weight (the number of tuples by default) exceeds the bounds.
+ * <p>
+ * Inserts, replaces, updates, upserts and deletes sent by a client the
+ * cache is attached to invalidate all the entries of the space, selects
+ * which are in flight meanwhile are not cached. Names of operations
+ * are resolved by the schema of the client before the cache sees them,
+ * so spaces are always registered by id. Changes made by other
+ * clients or by calls and evals are not seen until the entries expire,
+ * so the cache suits read-mostly spaces such as dictionaries.
+ * <p>
+ * Cached results are unmodifiable copies shared between callers, the
+ * caller which missed the cache keeps the result it got from the server.
+ * The cache is thread-safe and may be shared by several clients.
+ *
+ * <pre>{@code
+ * config.selectCache = new TarantoolSelectCache(10_000, 1_000_000)
+ *     .cacheSpace(currencySpaceId, 1, TimeUnit.MINUTES)
+ *     .cacheSpace(settingsSpaceId, 5, TimeUnit.SECONDS);
+ * }</pre>
+ *
+ * @see TarantoolClientConfig#selectCache
+ */
+public class TarantoolSelectCache {
+
+    private final int maxEntries;
+    private final long maxWeight;
+    private final Map<Integer, SpaceState> spaces = new ConcurrentHashMap<>();
+    private final LinkedHashMap<SelectKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private volatile ToIntFunction<List<?>> weigher = result -> Math.max(result.size(), 1);
+
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxEntries highest number of cached results
+     * @param maxWeight  highest total weight of cached results
+     */
+    public TarantoolSelectCache(int maxEntries, long maxWeight) {
+        if (maxEntries < 1 || maxWeight < 1) {
+            throw new IllegalArgumentException("Cache bounds must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Enables caching of selects from the space.
+     *
+     * @param space space id
+     * @param ttl   time to live of a result, zero means until invalidated
+     * @param unit  unit of the time to live
+     *
+     * @return this cache
+     */
+    public TarantoolSelectCache cacheSpace(int space, long ttl, TimeUnit unit) {
+        if (ttl < 0) {
+            throw new IllegalArgumentException("TTL must not be negative");
+        }
+        spaces.computeIfAbsent(space, id -> new SpaceState()).ttlNanos = unit.toNanos(ttl);
+        return this;
+    }
+
+    /**
+     * Sets a weight function of a select result.
+     * By default the weight is the number of tuples.
+     *
+     * @param weigher weight function
+     *
+     * @return this cache
+     */
+    public TarantoolSelectCache weigher(ToIntFunction<List<?>> weigher) {
+        this.weigher = Objects.requireNonNull(weigher);
+        return this;
+    }
+
+    /**
+     * Removes all the cached results of the space.
+     *
+     * @param space space id
+     */
+    public void invalidate(int space) {
+        SpaceState state = spaces.get(space);
+        if (state != null) {
+            dropSpace(space, state);
+        }
+    }
+
+    /**
+     * Removes all the cached results.
+     */
+    public synchronized void clear() {
+        for (SpaceState state : spaces.values()) {
+            state.generation++;
+        }
+        invalidations += entries.size();
+        entries.clear();
+        weight = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gets the number of results removed to keep the cache bounds.
+     *
+     * @return evicted results
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized long getExpirations() {
+        return expirations;
+    }
+
+    /**
+     * Gets the number of results removed because of writes.
+     *
+     * @return invalidated results
+     */
+    public synchronized long getInvalidations() {
+        return invalidations;
+    }
+
+    public synchronized double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "TarantoolSelectCache{" +
+            "size=" + entries.size() +
+            ", weight=" + weight +
+            ", hits=" + hits +
+            ", misses=" + misses +
+            ", evictions=" + evictions +
+            ", expirations=" + expirations +
+            ", invalidations=" + invalidations +
+            '}';
+    }
+
+    /**
+     * Executes an operation through the cache. A cached select is
+     * completed at once, a write invalidates its space when it's sent
+     * and again when it's completed.
+     *
+     * @param code   operation code
+     * @param args   operation arguments
+     * @param sender sends the operation to the server
+     *
+     * @return operation result
+     */
+    CompletableFuture<?> exec(Code code, Object[] args, Supplier<CompletableFuture<?>> sender) {
+        if (code == Code.SELECT) {
+            SelectKey key = selectKey(args);
+            if (key == null) {
+                return sender.get();
+            }
+            List<?> cached = get(key);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+            CompletableFuture<?> future = sender.get();
+            future.thenAccept(result -> put(key, (List<?>) result));
+            return future;
+        }
+        return bypass(code, args, sender);
+    }
+
+    /**
+     * Executes an operation which result must not be cached, e.g.
+     * because it's decoded to another type. A write still invalidates
+     * its space like in {@link #exec}.
+     *
+     * @param code   operation code
+     * @param args   operation arguments
+     * @param sender sends the operation to the server
+     *
+     * @return operation result
+     */
+    CompletableFuture<?> bypass(Code code, Object[] args, Supplier<CompletableFuture<?>> sender) {
+        if (!isWrite(code)) {
+            return sender.get();
+        }
+        onWrite(code, args);
+        CompletableFuture<?> future = sender.get();
+        future.whenComplete((result, error) -> onWrite(code, args));
+        return future;
+    }
+
+    /**
+     * Invalidates the space of a write operation which
+     * doesn't go through {@link #exec}.
+     *
+     * @param code operation code
+     * @param args operation arguments
+     */
+    void onWrite(Code code, Object[] args) {
+        if (!isWrite(code)) {
+            return;
+        }
+        Object space = argument(args, Key.SPACE);
+        SpaceState state = space == null ? null : spaces.get(space);
+        if (state != null) {
+            dropSpace((Integer) space, state);
+        }
+    }
+
+    private static boolean isWrite(Code code) {
+        switch (code) {
+        case INSERT:
+        case REPLACE:
+        case UPDATE:
+        case UPSERT:
+        case DELETE:
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    private SelectKey selectKey(Object[] args) {
+        Object space = argument(args, Key.SPACE);
+        SpaceState state = space == null ? null : spaces.get(space);
+        if (state == null) {
+            return null;
+        }
+        Object key = argument(args, Key.KEY);
+        return new SelectKey(
+            (Integer) space,
+            argument(args, Key.INDEX),
+            key instanceof List ? new ArrayList<>((List<?>) key) : key,
+            argument(args, Key.ITERATOR),
+            argument(args, Key.OFFSET),
+            argument(args, Key.LIMIT),
+            state
+        );
+    }
+
+    private static Object argument(Object[] args, Key key) {
+        for (int i = 0; i < args.length - 1; i += 2) {
+            if (args[i] == key) {
+                return args[i + 1];
+            }
+        }
+        return null;
+    }
+
+    private synchronized List<?> get(SelectKey key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt != 0 && System.nanoTime() - entry.expiresAt >= 0) {
+            remove(key, entry);
+            expirations++;
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.result;
+    }
+
+    private void put(SelectKey key, List<?> response) {
+        // the caller which sent the select owns the response
+        List<?> result = Collections.unmodifiableList(new ArrayList<>(response));
+        int resultWeight = weigher.applyAsInt(result);
+        long ttl = key.state.ttlNanos;
+        long expiresAt = ttl == 0 ? 0 : (System.nanoTime() + ttl) | 1;
+        synchronized (this) {
+            // the space has been written since the select was sent
+            if (key.generation != key.state.generation || resultWeight > maxWeight) {
+                return;
+            }
+            Entry previous = entries.put(key, new Entry(result, resultWeight, expiresAt));
+            if (previous != null) {
+                weight -= previous.weight;
+            }
+            weight += resultWeight;
+            Iterator<Map.Entry<SelectKey, Entry>> eldest = entries.entrySet().iterator();
+            while (entries.size() > maxEntries || weight > maxWeight) {
+                Map.Entry<SelectKey, Entry> next = eldest.next();
+                weight -= next.getValue().weight;
+                eldest.remove();
+                evictions++;
+            }
+        }
+    }
+
+    private synchronized void dropSpace(int space, SpaceState state) {
+        state.generation++;
+        Iterator<Map.Entry<SelectKey, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<SelectKey, Entry> next = iterator.next();
+            if (next.getKey().space == space) {
+                weight -= next.getValue().weight;
+                iterator.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    private void remove(SelectKey key, Entry entry) {
+        entries.remove(key);
+        weight -= entry.weight;
+    }
+
+    private static final class SpaceState {
+
+        private volatile long ttlNanos;
+
+        /**
+         * Number of invalidations guarded by the cache lock.
+         */
+        private long generation;
+
+    }
+
+    private static final class Entry {
+
+        private final List<?> result;
+        private final int weight;
+        private final long expiresAt;
+
+        Entry(List<?> result, int weight, long expiresAt) {
+            this.result = result;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+        }
+
+    }
+
+    private final class SelectKey {
+
+        private final int space;
+        private final Object index;
+        private final Object key;
+        private final Object iterator;
+        private final Object offset;
+        private final Object limit;
+        private final SpaceState state;
+        private final long generation;
+
+        SelectKey(int space, Object index, Object key, Object iterator, Object offset, Object limit,
+                  SpaceState state) {
+            this.space = space;
+            this.index = index;
+            this.key = key;
+            this.iterator = iterator;
+            this.offset = offset;
+            this.limit = limit;
+            this.state = state;
+            synchronized (TarantoolSelectCache.this) {
+                this.generation = state.generation;
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SelectKey)) {
+                return false;
+            }
+            SelectKey that = (SelectKey) o;
+            return space == that.space &&
+                Objects.equals(index, that.index) &&
+                Objects.equals(key, that.key) &&
+                Objects.equals(iterator, that.iterator) &&
+                Objects.equals(offset, that.offset) &&
+                Objects.equals(limit, that.limit);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(space, index, key, iterator, offset, limit);
+        }
+
+    }
+
+}
@@ -0,0 +1,91 @@
+package org.tarantool;
+
+import org.tarantool.protocol.DataDecoder;
+import org.tarantool.protocol.MsgPackCursor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads a tuple straight from the response into an object.
+ * <br>
+ * A mapper is called by a reader thread of the client for every
+ * tuple of a response, so it should be fast and must not block.
+ *
+ * @param <T> type of the objects
+ *
+ * @see TarantoolClientImpl#mappedSyncOps(TupleMapper)
+ */
+@FunctionalInterface
+public interface TupleMapper<T> {
+
+    /**
+     * Reads one tuple.
+     *
+     * @param tuple cursor positioned at the tuple array
+     *
+     * @return object holding the tuple fields
+     */
+    T read(MsgPackCursor tuple);
+
+    /**
+     * Creates a mapper which fills properties of a bean class.
+     * <p>
+     * The class must have a public no-argument constructor and each
+     * property either a public setter or a public non-final field.
+     * Accessors are bound once when the mapper is created, so there is
+     * no reflection per tuple, and primitive properties are set
+     * without boxing. Nil fields leave primitives at their defaults.
+     *
+     * @param type       bean class
+     * @param properties property names in the order of the tuple
+     *                   fields, {@code null} for a field to be skipped;
+     *                   the names may be taken from the space format,
+     *                   see {@link TarantoolSchema#getFieldNames(int)}
+     * @param <T>        type of the beans
+     *
+     * @return tuple mapper
+     *
+     * @throws IllegalArgumentException if the class has no suitable
+     *                                  constructor or accessors
+     */
+    static <T> TupleMapper<T> of(Class<T> type, String... properties) {
+        return of(type, Arrays.asList(properties));
+    }
+
+    /**
+     * Creates a mapper which fills properties of a bean class.
+     *
+     * @param type       bean class
+     * @param properties property names in the order of the tuple fields
+     * @param <T>        type of the beans
+     *
+     * @return tuple mapper
+     *
+     * @see #of(Class, String...)
+     */
+    static <T> TupleMapper<T> of(Class<T> type, List<String> properties) {
+        return new BeanTupleMapper<>(type, properties);
+    }
+
+    /**
+     * Makes a decoder of a response data which holds tuples.
+     *
+     * @param mapper tuple mapper
+     * @param <T>    type of the objects
+     *
+     * @return decoder of all the tuples
+     */
+    static <T> DataDecoder<List<T>> listOf(TupleMapper<T> mapper) {
+        return data -> {
+            int size = data.readArrayHeader();
+            List<T> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(mapper.read(data));
+            }
+            return result;
+        };
+    }
+
+}
@@ -0,0 +1,77 @@
+package org.tarantool;
+
+/**
+ * Decides how long the writer should wait for more requests
+ * before it flushes a batch.
+ * <p>
+ * The coalescer estimates the rate of queued bytes from recent
+ * flushes. While requests arrive often enough to expect another
+ * one within the maximum linger, the writer waits until the batch
+ * reaches the byte threshold or the linger is over. When requests
+ * are sparse the batch is flushed at once, so an idle client doesn't
+ * pay the linger latency.
+ * <p>
+ * The coalescer is confined to the writer.
+ */
+final class WriteCoalescer {
+
+    /**
+     * Weight of the latest flush in the moving averages.
+     */
+    private static final double ALPHA = 0.25;
+
+    private final long maxLingerNanos;
+    private final long flushBytes;
+
+    private double bytesPerNano;
+    private double averageFrameSize;
+    private long lastFlushTime = System.nanoTime();
+
+    WriteCoalescer(long maxLingerNanos, long flushBytes) {
+        this.maxLingerNanos = maxLingerNanos;
+        this.flushBytes = flushBytes;
+    }
+
+    /**
+     * Estimates how long to wait for more requests.
+     *
+     * @param batchBytes bytes already taken to the batch
+     *
+     * @return time to wait in nanoseconds or zero to flush at once
+     */
+    long lingerNanos(long batchBytes) {
+        if (batchBytes >= flushBytes || bytesPerNano <= 0) {
+            return 0;
+        }
+        double nextFrameNanos = averageFrameSize / bytesPerNano;
+        if (nextFrameNanos > maxLingerNanos) {
+            return 0;
+        }
+        return (long) Math.min(maxLingerNanos, (flushBytes - batchBytes) / bytesPerNano);
+    }
+
+    boolean isFilled(long batchBytes) {
+        return batchBytes >= flushBytes;
+    }
+
+    /**
+     * Accounts a flushed batch.
+     *
+     * @param frames amount of requests in the batch
+     * @param bytes  size of the batch
+     */
+    void onFlush(int frames, long bytes) {
+        long now = System.nanoTime();
+        double rate = (double) bytes / Math.max(now - lastFlushTime, 1);
+        double frameSize = (double) bytes / Math.max(frames, 1);
+        if (averageFrameSize == 0) {
+            bytesPerNano = rate;
+            averageFrameSize = frameSize;
+        } else {
+            bytesPerNano += ALPHA * (rate - bytesPerNano);
+            averageFrameSize += ALPHA * (frameSize - averageFrameSize);
+        }
+        lastFlushTime = now;
+    }
+
+}
@@ -100,6 +100,7 @@ public class SQLConnection implements Connection {
      * <p>
      * A connect is guarded with user provided timeout. Socket is configured
      * to honor this timeout for the following read/write operations as well.
+     * TCP options given by the connection properties are set before connect.
      *
      * @return Connected socket.
      *
@@ -111,8 +112,14 @@ public class SQLConnection implements Connection {
         String host = properties.getProperty(PROP_HOST);
         int port = Integer.parseInt(properties.getProperty(PROP_PORT));
         try {
+            SQLDriver.socketOptions(properties).apply(socket);
             socket.connect(new InetSocketAddress(host, port), timeout);
         } catch (IOException e) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // No-op.
+            }
             throw new SQLException("Couldn't connect to " + host + ":" + port, e);
         }
         // Setup socket further.
@@ -1,5 +1,7 @@
 package org.tarantool.jdbc;
 
+import org.tarantool.SocketOptions;
+
 import java.net.Socket;
 import java.net.URI;
 import java.sql.Connection;
@@ -28,6 +30,11 @@ public class SQLDriver implements Driver {
     public static final String PROP_USER = "user";
     public static final String PROP_PASSWORD = "password";
     public static final String PROP_SOCKET_TIMEOUT = "socketTimeout";
+    public static final String PROP_TCP_NO_DELAY = "tcpNoDelay";
+    public static final String PROP_KEEP_ALIVE = "keepAlive";
+    public static final String PROP_SEND_BUFFER_SIZE = "sendBufferSize";
+    public static final String PROP_RECEIVE_BUFFER_SIZE = "receiveBufferSize";
+    public static final String PROP_TRAFFIC_CLASS = "trafficClass";
 
     // Define default values once here.
     static final Properties defaults = new Properties() {
@@ -120,9 +127,67 @@ public class SQLDriver implements Driver {
         if (timeout < 0) {
             throw new SQLException("Timeout must not be negative.");
         }
+        socketOptions(urlProperties);
         return urlProperties;
     }
 
+    /**
+     * Builds TCP options from the connection properties.
+     *
+     * @param properties connection properties
+     *
+     * @return socket options, unspecified options are {@code null}
+     *
+     * @throws SQLException if an option has a wrong value
+     */
+    static SocketOptions socketOptions(Properties properties) throws SQLException {
+        SocketOptions options = new SocketOptions();
+        options.tcpNoDelay = parseBoolean(properties, PROP_TCP_NO_DELAY);
+        options.keepAlive = parseBoolean(properties, PROP_KEEP_ALIVE);
+        options.sendBufferSize = parseSize(properties, PROP_SEND_BUFFER_SIZE);
+        options.receiveBufferSize = parseSize(properties, PROP_RECEIVE_BUFFER_SIZE);
+        options.trafficClass = parseInteger(properties, PROP_TRAFFIC_CLASS);
+        if (options.trafficClass != null && (options.trafficClass < 0 || options.trafficClass > 255)) {
+            throw new SQLException("Traffic class is out of range: " + options.trafficClass);
+        }
+        return options;
+    }
+
+    private static Boolean parseBoolean(Properties properties, String name) throws SQLException {
+        String value = properties.getProperty(name);
+        if (value == null) {
+            return null;
+        }
+        if (!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)) {
+            throw new SQLException(name + " must be true or false.");
+        }
+        return Boolean.valueOf(value);
+    }
+
+    /**
+     * Parses a buffer size. Zero is rejected as well as negative sizes
+     * because sockets don't accept it.
+     */
+    private static Integer parseSize(Properties properties, String name) throws SQLException {
+        Integer size = parseInteger(properties, name);
+        if (size != null && size <= 0) {
+            throw new SQLException(name + " must be positive.");
+        }
+        return size;
+    }
+
+    private static Integer parseInteger(Properties properties, String name) throws SQLException {
+        String value = properties.getProperty(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new SQLException(name + " must be a valid number.");
+        }
+    }
+
     protected SQLSocketProvider getSocketProviderInstance(String className) throws SQLException {
         SQLSocketProvider provider = providerCache.get(className);
         if (provider == null) {
@@ -188,7 +253,35 @@ public class SQLDriver implements Driver {
             socketTimeout.description = "The number of milliseconds to wait before a timeout is occurred on a socket" +
                 " connect or read. The default value is 0, which means infinite timeout.";
 
-            return new DriverPropertyInfo[] { host, port, user, password, socketProvider, socketTimeout };
+            DriverPropertyInfo tcpNoDelay = new DriverPropertyInfo(
+                PROP_TCP_NO_DELAY, properties.getProperty(PROP_TCP_NO_DELAY));
+            tcpNoDelay.required = false;
+            tcpNoDelay.description = "Whether to disable Nagle's algorithm (TCP_NODELAY) on the socket";
+
+            DriverPropertyInfo keepAlive = new DriverPropertyInfo(
+                PROP_KEEP_ALIVE, properties.getProperty(PROP_KEEP_ALIVE));
+            keepAlive.required = false;
+            keepAlive.description = "Whether to enable TCP keep-alive probes (SO_KEEPALIVE) on the socket";
+
+            DriverPropertyInfo sendBufferSize = new DriverPropertyInfo(
+                PROP_SEND_BUFFER_SIZE, properties.getProperty(PROP_SEND_BUFFER_SIZE));
+            sendBufferSize.required = false;
+            sendBufferSize.description = "Size of the socket send buffer (SO_SNDBUF) in bytes";
+
+            DriverPropertyInfo receiveBufferSize = new DriverPropertyInfo(
+                PROP_RECEIVE_BUFFER_SIZE, properties.getProperty(PROP_RECEIVE_BUFFER_SIZE));
+            receiveBufferSize.required = false;
+            receiveBufferSize.description = "Size of the socket receive buffer (SO_RCVBUF) in bytes";
+
+            DriverPropertyInfo trafficClass = new DriverPropertyInfo(
+                PROP_TRAFFIC_CLASS, properties.getProperty(PROP_TRAFFIC_CLASS));
+            trafficClass.required = false;
+            trafficClass.description = "IP traffic class or type-of-service octet (IP_TOS) of the socket";
+
+            return new DriverPropertyInfo[] {
+                host, port, user, password, socketProvider, socketTimeout,
+                tcpNoDelay, keepAlive, sendBufferSize, receiveBufferSize, trafficClass
+            };
         } catch (Exception e) {
             throw new SQLException(e);
         }
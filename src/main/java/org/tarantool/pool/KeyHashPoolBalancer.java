@@ -0,0 +1,71 @@
+package org.tarantool.pool;
+
+import org.tarantool.Code;
+import org.tarantool.Key;
+import org.tarantool.TarantoolClientImpl;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Routes requests by a hash of the space and the first field
+ * of the request key (or tuple).
+ * <p>
+ * Requests which address a tuple by a primary key starting with the
+ * first tuple field (that is the most common layout) are always sent
+ * through the same connection, so operations on one key are executed
+ * in the order they were issued. Requests without a key or a tuple
+ * (calls, evals, SQL) are routed using the caller thread affinity.
+ */
+public class KeyHashPoolBalancer implements TarantoolPoolBalancer {
+
+    @Override
+    public int select(Code code, Object[] args, List<? extends TarantoolClientImpl> connections) {
+        Object space = null;
+        Object key = null;
+        if (args != null) {
+            for (int i = 0; i < args.length; i += 2) {
+                if (args[i] == Key.SPACE) {
+                    space = args[i + 1];
+                } else if (args[i] == Key.KEY || (args[i] == Key.TUPLE && key == null)) {
+                    key = args[i + 1];
+                }
+            }
+        }
+        if (key == null || code == Code.EVAL || code == Code.CALL || code == Code.OLD_CALL) {
+            return ThreadAffinityPoolBalancer.spread(Thread.currentThread().getId(), connections.size());
+        }
+        long hash = 31L * hashOf(space) + hashOf(firstField(key));
+        return ThreadAffinityPoolBalancer.spread(hash, connections.size());
+    }
+
+    private static Object firstField(Object key) {
+        if (key instanceof List) {
+            List<?> list = (List<?>) key;
+            return list.isEmpty() ? null : list.get(0);
+        }
+        if (key instanceof Object[]) {
+            Object[] array = (Object[]) key;
+            return array.length == 0 ? null : array[0];
+        }
+        return key;
+    }
+
+    /**
+     * Gets a hash which is equal for the same values encoded
+     * using different java types (i.e. {@code 1} and {@code 1L}).
+     */
+    private static long hashOf(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Number && !(value instanceof Float || value instanceof Double)) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof byte[]) {
+            return Arrays.hashCode((byte[]) value);
+        }
+        return value.hashCode();
+    }
+
+}
@@ -0,0 +1,30 @@
+package org.tarantool.pool;
+
+import org.tarantool.Code;
+import org.tarantool.TarantoolClientImpl;
+
+import java.util.List;
+
+/**
+ * Sends a request to the connection which has the least
+ * amount of responses being awaited.
+ *
+ * @see TarantoolClientImpl#getPendingResponsesCount()
+ */
+public class LeastPendingPoolBalancer implements TarantoolPoolBalancer {
+
+    @Override
+    public int select(Code code, Object[] args, List<? extends TarantoolClientImpl> connections) {
+        int selected = 0;
+        int minPending = Integer.MAX_VALUE;
+        for (int i = 0; i < connections.size(); i++) {
+            int pending = connections.get(i).getPendingResponsesCount();
+            if (pending < minPending) {
+                minPending = pending;
+                selected = i;
+            }
+        }
+        return selected;
+    }
+
+}
@@ -0,0 +1,21 @@
+package org.tarantool.pool;
+
+import org.tarantool.Code;
+import org.tarantool.TarantoolClientImpl;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spreads requests among pool connections in a round-robin fashion.
+ */
+public class RoundRobinPoolBalancer implements TarantoolPoolBalancer {
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    @Override
+    public int select(Code code, Object[] args, List<? extends TarantoolClientImpl> connections) {
+        return (counter.getAndIncrement() & Integer.MAX_VALUE) % connections.size();
+    }
+
+}
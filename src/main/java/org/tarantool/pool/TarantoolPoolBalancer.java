@@ -0,0 +1,30 @@
+package org.tarantool.pool;
+
+import org.tarantool.Code;
+import org.tarantool.TarantoolClientImpl;
+
+import java.util.List;
+
+/**
+ * Distribution strategy which picks a pool connection
+ * to be used to perform a request.
+ * <p>
+ * Implementations have to be thread-safe because they are
+ * invoked concurrently by all the threads that use the pool.
+ *
+ * @see org.tarantool.TarantoolPooledClient
+ */
+public interface TarantoolPoolBalancer {
+
+    /**
+     * Selects a connection for the request.
+     *
+     * @param code        operation code
+     * @param args        operation arguments in a form of {@code Key, value} pairs
+     * @param connections non-empty list of pool connections
+     *
+     * @return index of the selected connection within {@code connections}
+     */
+    int select(Code code, Object[] args, List<? extends TarantoolClientImpl> connections);
+
+}
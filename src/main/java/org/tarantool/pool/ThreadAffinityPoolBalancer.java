@@ -0,0 +1,28 @@
+package org.tarantool.pool;
+
+import org.tarantool.Code;
+import org.tarantool.TarantoolClientImpl;
+
+import java.util.List;
+
+/**
+ * Binds each calling thread to one of the pool connections.
+ * <p>
+ * All the requests issued by the same thread are sent through the
+ * same connection and therefore are executed in the order they were
+ * issued.
+ */
+public class ThreadAffinityPoolBalancer implements TarantoolPoolBalancer {
+
+    @Override
+    public int select(Code code, Object[] args, List<? extends TarantoolClientImpl> connections) {
+        return spread(Thread.currentThread().getId(), connections.size());
+    }
+
+    static int spread(long hash, int size) {
+        int h = (int) (hash ^ (hash >>> 32));
+        h ^= (h >>> 16);
+        return (h & Integer.MAX_VALUE) % size;
+    }
+
+}
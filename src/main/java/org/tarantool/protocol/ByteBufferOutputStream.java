@@ -0,0 +1,246 @@
+package org.tarantool.protocol;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Output stream which writes into a growable {@link ByteBuffer}.
+ * <br>
+ * Unlike {@link java.io.ByteArrayOutputStream} it can be backed by
+ * a direct buffer, allows to overwrite already written bytes (for instance,
+ * to fill in a reserved size prefix) and can be reused after {@link #clear()}.
+ * <p>
+ * The stream isn't thread-safe.
+ */
+public class ByteBufferOutputStream extends OutputStream {
+
+    private final boolean direct;
+    private ByteBuffer buffer;
+
+    public ByteBufferOutputStream(int initialCapacity, boolean direct) {
+        this.direct = direct;
+        this.buffer = allocate(Math.max(initialCapacity, ProtoUtils.LENGTH_OF_SIZE_MESSAGE));
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(1);
+        buffer.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        buffer.put(bytes, offset, length);
+    }
+
+    public void writeShort(int value) {
+        ensureCapacity(2);
+        buffer.putShort((short) value);
+    }
+
+    public void writeInt(int value) {
+        ensureCapacity(4);
+        buffer.putInt(value);
+    }
+
+    public void writeLong(long value) {
+        ensureCapacity(8);
+        buffer.putLong(value);
+    }
+
+    /**
+     * Encodes characters to UTF-8 right into the buffer. Unpaired
+     * surrogates are replaced with {@code '?'} the same way
+     * {@link String#getBytes(java.nio.charset.Charset)} does.
+     *
+     * @param value         characters to encode
+     * @param encodedLength length of the encoding computed by
+     *                      {@link #utf8Length(CharSequence)}
+     */
+    public void writeUtf8(CharSequence value, int encodedLength) {
+        ensureCapacity(encodedLength);
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xc0 | c >> 6));
+                buffer.put((byte) (0x80 | c & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                if (isSurrogatePair(value, i)) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    buffer.put((byte) (0xf0 | codePoint >> 18));
+                    buffer.put((byte) (0x80 | codePoint >> 12 & 0x3f));
+                    buffer.put((byte) (0x80 | codePoint >> 6 & 0x3f));
+                    buffer.put((byte) (0x80 | codePoint & 0x3f));
+                } else {
+                    buffer.put((byte) '?');
+                }
+            } else {
+                buffer.put((byte) (0xe0 | c >> 12));
+                buffer.put((byte) (0x80 | c >> 6 & 0x3f));
+                buffer.put((byte) (0x80 | c & 0x3f));
+            }
+        }
+    }
+
+    /**
+     * Computes length of UTF-8 encoding of characters without
+     * encoding them.
+     *
+     * @param value characters to be encoded
+     *
+     * @return number of bytes
+     *
+     * @see #writeUtf8(CharSequence, int)
+     */
+    public static int utf8Length(CharSequence value) {
+        int length = value.length();
+        int encodedLength = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    encodedLength++;
+                } else if (!Character.isSurrogate(c)) {
+                    encodedLength += 2;
+                } else if (isSurrogatePair(value, i)) {
+                    encodedLength += 2;
+                    i++;
+                }
+            }
+        }
+        return encodedLength;
+    }
+
+    private static boolean isSurrogatePair(CharSequence value, int index) {
+        return Character.isHighSurrogate(value.charAt(index)) &&
+            index + 1 < value.length() &&
+            Character.isLowSurrogate(value.charAt(index + 1));
+    }
+
+    /**
+     * Reserves bytes to be filled in later.
+     *
+     * @param length amount of bytes to skip
+     */
+    public void skip(int length) {
+        ensureCapacity(length);
+        buffer.position(buffer.position() + length);
+    }
+
+    /**
+     * Overwrites a byte at the given position.
+     *
+     * @param index position of already written byte
+     * @param value byte value
+     */
+    public void put(int index, byte value) {
+        buffer.put(index, value);
+    }
+
+    /**
+     * Overwrites four bytes at the given position.
+     *
+     * @param index position of already written bytes
+     * @param value big-endian int value
+     */
+    public void putInt(int index, int value) {
+        buffer.putInt(index, value);
+    }
+
+    /**
+     * Discards bytes written after the position, e.g. a value
+     * which failed to be encoded.
+     *
+     * @param position position of already written byte
+     */
+    public void truncate(int position) {
+        if (position < 0 || position > buffer.position()) {
+            throw new IllegalArgumentException("Position " + position + " is out of written bytes");
+        }
+        buffer.position(position);
+    }
+
+    /**
+     * Gets amount of written bytes.
+     *
+     * @return current position
+     */
+    public int position() {
+        return buffer.position();
+    }
+
+    /**
+     * Gets amount of bytes written to the stream.
+     * It may exceed {@link #position()} if a subclass keeps some
+     * of the bytes outside of the buffer.
+     *
+     * @return total size
+     */
+    public int size() {
+        return buffer.position();
+    }
+
+    /**
+     * Gets written bytes.
+     * <p>
+     * The returned buffer shares the content with the stream and
+     * becomes invalid after next write to the stream.
+     *
+     * @return buffer ready to be read
+     */
+    public ByteBuffer toByteBuffer() {
+        ByteBuffer content = buffer.duplicate();
+        content.flip();
+        return content;
+    }
+
+    /**
+     * Switches the underlying buffer to read written bytes
+     * without copying. The stream has to be cleared before
+     * it's written again.
+     *
+     * @return underlying buffer ready to be read
+     */
+    public ByteBuffer flip() {
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Discards written bytes keeping the allocated memory.
+     */
+    public void clear() {
+        buffer.clear();
+    }
+
+    public int capacity() {
+        return buffer.capacity();
+    }
+
+    public boolean isDirect() {
+        return direct;
+    }
+
+    private void ensureCapacity(int length) {
+        if (buffer.remaining() < length) {
+            int required = buffer.position() + length;
+            if (required < 0) {
+                throw new OutOfMemoryError("Packet is too large");
+            }
+            int grown = buffer.capacity() << 1;
+            ByteBuffer extended = allocate(grown < required ? required : grown);
+            buffer.flip();
+            extended.put(buffer);
+            buffer = extended;
+        }
+    }
+
+    private ByteBuffer allocate(int capacity) {
+        return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
+}
@@ -0,0 +1,64 @@
+package org.tarantool.protocol;
+
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Decodes the data of a successful response straight from
+ * the receive buffer instead of the default lists and maps.
+ * <br>
+ * The decoder is called by a reader thread of the client, so it
+ * should neither block nor keep the cursor after it returns.
+ * Values of the data which are left unread are skipped.
+ *
+ * @param <R> type of the decoded result
+ */
+@FunctionalInterface
+public interface DataDecoder<R> {
+
+    /**
+     * Decodes the response data.
+     *
+     * @param data cursor positioned at the data value, usually
+     *             an array of tuples
+     *
+     * @return decoded result the operation is completed with
+     */
+    R decode(MsgPackCursor data);
+
+    /**
+     * Makes a decoder which returns the data as it's encoded, e.g. to
+     * be forwarded to another service without a decode and encode
+     * round trip.
+     *
+     * @return decoder of MessagePack bytes of the data
+     */
+    static DataDecoder<byte[]> raw() {
+        return MsgPackCursor::readRawValue;
+    }
+
+    /**
+     * Makes a decoder which folds the tuples of a response into an
+     * accumulator as they are parsed, e.g. to compute an aggregate
+     * without keeping the tuples.
+     * <p>
+     * The reader gets the cursor positioned at a tuple array and
+     * must read or skip exactly one value.
+     *
+     * @param accumulator creates an accumulator for each response
+     * @param reader      reads one tuple into the accumulator
+     * @param <A>         type of the accumulator
+     *
+     * @return decoder of the tuples
+     */
+    static <A> DataDecoder<A> foldTuples(Supplier<A> accumulator, BiConsumer<A, MsgPackCursor> reader) {
+        return data -> {
+            A result = accumulator.get();
+            for (int size = data.readArrayHeader(); size > 0; size--) {
+                reader.accept(result, data);
+            }
+            return result;
+        };
+    }
+
+}
@@ -0,0 +1,258 @@
+package org.tarantool.protocol;
+
+import org.tarantool.CommunicationException;
+import org.tarantool.MsgPackLite;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Forward-only reader of MessagePack values which lie in a buffer.
+ * <br>
+ * Scalars are read without boxing and containers are entered by
+ * their headers, so a caller may decode a response straight into
+ * its own objects without building lists and maps first. Any value
+ * may still be read as an object using {@link #readValue()}, which
+ * decodes it the same way {@link MsgPackLite} does.
+ * <p>
+ * All the methods advance the cursor and throw
+ * {@link CommunicationException} if the value has an unexpected type
+ * or is truncated.
+ * <p>
+ * The cursor isn't thread-safe.
+ */
+public final class MsgPackCursor {
+
+    private final ByteBuffer buffer;
+    private final ByteBufferBackedInputStream stream;
+
+    /**
+     * Creates a cursor over the remaining bytes of the buffer.
+     * The cursor moves the buffer position as it reads.
+     *
+     * @param buffer buffer ready for read
+     */
+    public MsgPackCursor(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.stream = new ByteBufferBackedInputStream(buffer);
+    }
+
+    /**
+     * Reads an array header. The array elements follow it.
+     *
+     * @return number of the array elements
+     */
+    public int readArrayHeader() {
+        try {
+            return MsgPackReader.readArrayHeader(buffer);
+        } catch (BufferUnderflowException e) {
+            throw truncated(e);
+        }
+    }
+
+    /**
+     * Reads a map header. The keys and the values follow it
+     * one after another.
+     *
+     * @return number of the map entries
+     */
+    public int readMapHeader() {
+        try {
+            return MsgPackReader.readMapHeader(buffer);
+        } catch (BufferUnderflowException e) {
+            throw truncated(e);
+        }
+    }
+
+    /**
+     * Checks whether the next value is nil without reading it.
+     *
+     * @return {@code true} if the value is nil
+     */
+    public boolean isNil() {
+        try {
+            return MsgPackReader.isNil(buffer);
+        } catch (IndexOutOfBoundsException e) {
+            throw truncated(e);
+        }
+    }
+
+    /**
+     * Reads the next value if it is nil.
+     *
+     * @return {@code true} if nil is read, {@code false} if the
+     *     value is not nil and the cursor stays before it
+     */
+    public boolean readNil() {
+        if (isNil()) {
+            buffer.get();
+            return true;
+        }
+        return false;
+    }
+
+    public boolean readBoolean() {
+        try {
+            return MsgPackReader.readBoolean(buffer);
+        } catch (BufferUnderflowException e) {
+            throw truncated(e);
+        }
+    }
+
+    /**
+     * Reads an integer of any width.
+     *
+     * @return integer value
+     */
+    public long readLong() {
+        try {
+            return MsgPackReader.readLong(buffer);
+        } catch (BufferUnderflowException e) {
+            throw truncated(e);
+        }
+    }
+
+    /**
+     * Reads an integer which fits {@code int}.
+     *
+     * @return integer value
+     *
+     * @throws CommunicationException if the value is out of range
+     */
+    public int readInt() {
+        long value = readLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new CommunicationException("Integer " + value + " is out of int range");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads a floating point number or an integer.
+     *
+     * @return numeric value
+     */
+    public double readDouble() {
+        try {
+            return MsgPackReader.readDouble(buffer);
+        } catch (BufferUnderflowException e) {
+            throw truncated(e);
+        }
+    }
+
+    public float readFloat() {
+        return (float) readDouble();
+    }
+
+    /**
+     * Reads a string or nil.
+     *
+     * @return decoded string or {@code null}
+     */
+    public String readString() {
+        if (readNil()) {
+            return null;
+        }
+        try {
+            int length = MsgPackReader.readStringHeader(buffer);
+            if (length > buffer.remaining()) {
+                throw new BufferUnderflowException();
+            }
+            if (buffer.hasArray()) {
+                int offset = buffer.arrayOffset() + buffer.position();
+                String value = new String(buffer.array(), offset, length, StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + length);
+                return value;
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        } catch (BufferUnderflowException e) {
+            throw truncated(e);
+        }
+    }
+
+    /**
+     * Reads a binary string, a usual string or nil.
+     *
+     * @return bytes of the string or {@code null}
+     */
+    public byte[] readBinary() {
+        if (readNil()) {
+            return null;
+        }
+        try {
+            byte[] bytes = new byte[MsgPackReader.readBinaryHeader(buffer)];
+            buffer.get(bytes);
+            return bytes;
+        } catch (BufferUnderflowException e) {
+            throw truncated(e);
+        }
+    }
+
+    /**
+     * Reads a value of any type as an object.
+     *
+     * @return decoded value
+     */
+    public Object readValue() {
+        try {
+            return MsgPackLite.INSTANCE.unpack(stream);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new CommunicationException("Malformed MessagePack value", e);
+        }
+    }
+
+    /**
+     * Copies the encoded bytes of a value of any type.
+     *
+     * @return MessagePack encoding of the value
+     */
+    public byte[] readRawValue() {
+        int start = buffer.position();
+        skipValue();
+        byte[] bytes = new byte[buffer.position() - start];
+        buffer.position(start);
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Skips a value of any type including nested arrays and maps.
+     */
+    public void skipValue() {
+        try {
+            MsgPackReader.skipValue(buffer);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw truncated(e);
+        }
+    }
+
+    /**
+     * Skips a number of values, e.g. the rest of a tuple which
+     * fields are not needed.
+     *
+     * @param count number of values to skip
+     */
+    public void skipValues(int count) {
+        for (int i = 0; i < count; i++) {
+            skipValue();
+        }
+    }
+
+    /**
+     * Checks whether there are values left.
+     *
+     * @return {@code true} if the end is not reached
+     */
+    public boolean hasNext() {
+        return buffer.hasRemaining();
+    }
+
+    private static CommunicationException truncated(RuntimeException cause) {
+        return new CommunicationException("MessagePack value is truncated", cause);
+    }
+
+}
@@ -0,0 +1,351 @@
+package org.tarantool.protocol;
+
+import org.tarantool.CommunicationException;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads MessagePack values straight from a {@link ByteBuffer}
+ * without materializing them as objects.
+ * <br>
+ * All the methods advance the buffer position and throw
+ * {@link java.nio.BufferUnderflowException} if the value
+ * is truncated by the buffer limit.
+ */
+final class MsgPackReader {
+
+    private MsgPackReader() {
+    }
+
+    /**
+     * Reads a map header.
+     *
+     * @param buffer source buffer
+     *
+     * @return number of the map entries
+     *
+     * @throws CommunicationException if the value is not a map
+     */
+    static int readMapHeader(ByteBuffer buffer) {
+        int type = buffer.get() & 0xff;
+        if ((type & 0xf0) == 0x80) {
+            return type & 0x0f;
+        } else if (type == 0xde) {
+            return buffer.getShort() & 0xffff;
+        } else if (type == 0xdf) {
+            return toSize(buffer.getInt() & 0xffffffffL);
+        }
+        throw new CommunicationException("Expected a map but got type " + type);
+    }
+
+    /**
+     * Reads an array header.
+     *
+     * @param buffer source buffer
+     *
+     * @return number of the array elements
+     *
+     * @throws CommunicationException if the value is not an array
+     */
+    static int readArrayHeader(ByteBuffer buffer) {
+        int type = buffer.get() & 0xff;
+        if ((type & 0xf0) == 0x90) {
+            return type & 0x0f;
+        } else if (type == 0xdc) {
+            return buffer.getShort() & 0xffff;
+        } else if (type == 0xdd) {
+            return toSize(buffer.getInt() & 0xffffffffL);
+        }
+        throw new CommunicationException("Expected an array but got type " + type);
+    }
+
+    /**
+     * Checks whether the next value is nil without reading it.
+     *
+     * @param buffer source buffer
+     *
+     * @return {@code true} if the value is nil
+     */
+    static boolean isNil(ByteBuffer buffer) {
+        return (buffer.get(buffer.position()) & 0xff) == 0xc0;
+    }
+
+    /**
+     * Reads a boolean.
+     *
+     * @param buffer source buffer
+     *
+     * @return boolean value
+     *
+     * @throws CommunicationException if the value is not a boolean
+     */
+    static boolean readBoolean(ByteBuffer buffer) {
+        int type = buffer.get() & 0xff;
+        if (type == 0xc2) {
+            return false;
+        } else if (type == 0xc3) {
+            return true;
+        }
+        throw new CommunicationException("Expected a boolean but got type " + type);
+    }
+
+    /**
+     * Reads a signed or an unsigned integer. An unsigned value above
+     * {@link Long#MAX_VALUE} is returned in two's complement form.
+     *
+     * @param buffer source buffer
+     *
+     * @return integer value
+     *
+     * @throws CommunicationException if the value is not an integer
+     */
+    static long readLong(ByteBuffer buffer) {
+        int type = buffer.get() & 0xff;
+        if (type <= 0x7f) {
+            return type;
+        } else if (type >= 0xe0) {
+            return (byte) type;
+        }
+        return readInteger(buffer, type);
+    }
+
+    /**
+     * Reads a floating point number. Integers are accepted as well
+     * because the server may store integral numbers this way.
+     *
+     * @param buffer source buffer
+     *
+     * @return floating point value
+     *
+     * @throws CommunicationException if the value is not a number
+     */
+    static double readDouble(ByteBuffer buffer) {
+        int type = buffer.get() & 0xff;
+        if (type <= 0x7f) {
+            return type;
+        } else if (type >= 0xe0) {
+            return (byte) type;
+        } else if (type == 0xca) {
+            return buffer.getFloat();
+        } else if (type == 0xcb) {
+            return buffer.getDouble();
+        } else if (type == 0xcf) {
+            long value = buffer.getLong();
+            return value >= 0 ? value : (value >>> 1) * 2.0 + (value & 1);
+        }
+        return readInteger(buffer, type);
+    }
+
+    /**
+     * Reads a string header.
+     *
+     * @param buffer source buffer
+     *
+     * @return length of the string in bytes
+     *
+     * @throws CommunicationException if the value is not a string
+     */
+    static int readStringHeader(ByteBuffer buffer) {
+        int type = buffer.get() & 0xff;
+        if ((type & 0xe0) == 0xa0) {
+            return type & 0x1f;
+        }
+        switch (type) {
+        case 0xd9:
+            return buffer.get() & 0xff;
+        case 0xda:
+            return buffer.getShort() & 0xffff;
+        case 0xdb:
+            return toSize(buffer.getInt() & 0xffffffffL);
+        default:
+            throw new CommunicationException("Expected a string but got type " + type);
+        }
+    }
+
+    /**
+     * Reads a header of a binary string. Headers of usual strings
+     * are accepted as well.
+     *
+     * @param buffer source buffer
+     *
+     * @return length of the binary string in bytes
+     *
+     * @throws CommunicationException if the value is not a binary string
+     */
+    static int readBinaryHeader(ByteBuffer buffer) {
+        int type = buffer.get(buffer.position()) & 0xff;
+        switch (type) {
+        case 0xc4:
+            buffer.get();
+            return buffer.get() & 0xff;
+        case 0xc5:
+            buffer.get();
+            return buffer.getShort() & 0xffff;
+        case 0xc6:
+            buffer.get();
+            return toSize(buffer.getInt() & 0xffffffffL);
+        default:
+            return readStringHeader(buffer);
+        }
+    }
+
+    /**
+     * Reads a non-negative integer.
+     *
+     * @param buffer source buffer
+     *
+     * @return unsigned value
+     *
+     * @throws CommunicationException if the value is not an unsigned integer
+     */
+    static long readUnsigned(ByteBuffer buffer) {
+        int type = buffer.get() & 0xff;
+        if (type <= 0x7f) {
+            return type;
+        }
+        switch (type) {
+        case 0xcc:
+            return buffer.get() & 0xff;
+        case 0xcd:
+            return buffer.getShort() & 0xffff;
+        case 0xce:
+            return buffer.getInt() & 0xffffffffL;
+        case 0xcf:
+            return buffer.getLong();
+        default:
+            throw new CommunicationException("Expected an unsigned integer but got type " + type);
+        }
+    }
+
+    /**
+     * Skips a value of any type including nested arrays and maps.
+     *
+     * @param buffer source buffer
+     *
+     * @throws CommunicationException if the value has an unknown type
+     */
+    static void skipValue(ByteBuffer buffer) {
+        long pending = 1;
+        while (pending-- > 0) {
+            int type = buffer.get() & 0xff;
+            if (type <= 0x7f || type >= 0xe0) {
+                continue;
+            } else if (type <= 0x8f) {
+                pending += 2 * (type & 0x0f);
+                continue;
+            } else if (type <= 0x9f) {
+                pending += type & 0x0f;
+                continue;
+            } else if (type <= 0xbf) {
+                skip(buffer, type & 0x1f);
+                continue;
+            }
+            switch (type) {
+            case 0xc0:
+            case 0xc2:
+            case 0xc3:
+                break;
+            case 0xc4:
+            case 0xd9:
+                skip(buffer, buffer.get() & 0xff);
+                break;
+            case 0xc5:
+            case 0xda:
+                skip(buffer, buffer.getShort() & 0xffff);
+                break;
+            case 0xc6:
+            case 0xdb:
+                skip(buffer, toSize(buffer.getInt() & 0xffffffffL));
+                break;
+            case 0xc7:
+                skip(buffer, (buffer.get() & 0xff) + 1);
+                break;
+            case 0xc8:
+                skip(buffer, (buffer.getShort() & 0xffff) + 1);
+                break;
+            case 0xc9:
+                skip(buffer, toSize((buffer.getInt() & 0xffffffffL) + 1));
+                break;
+            case 0xcc:
+            case 0xd0:
+                skip(buffer, 1);
+                break;
+            case 0xcd:
+            case 0xd1:
+            case 0xd4:
+                skip(buffer, 2);
+                break;
+            case 0xd5:
+                skip(buffer, 3);
+                break;
+            case 0xca:
+            case 0xce:
+            case 0xd2:
+                skip(buffer, 4);
+                break;
+            case 0xd6:
+                skip(buffer, 5);
+                break;
+            case 0xcb:
+            case 0xcf:
+            case 0xd3:
+                skip(buffer, 8);
+                break;
+            case 0xd7:
+                skip(buffer, 9);
+                break;
+            case 0xd8:
+                skip(buffer, 17);
+                break;
+            case 0xdc:
+                pending += buffer.getShort() & 0xffff;
+                break;
+            case 0xdd:
+                pending += buffer.getInt() & 0xffffffffL;
+                break;
+            case 0xde:
+                pending += 2 * (buffer.getShort() & 0xffff);
+                break;
+            case 0xdf:
+                pending += 2 * (buffer.getInt() & 0xffffffffL);
+                break;
+            default:
+                throw new CommunicationException("Unknown MessagePack type " + type);
+            }
+        }
+    }
+
+    private static long readInteger(ByteBuffer buffer, int type) {
+        switch (type) {
+        case 0xcc:
+            return buffer.get() & 0xff;
+        case 0xcd:
+            return buffer.getShort() & 0xffff;
+        case 0xce:
+            return buffer.getInt() & 0xffffffffL;
+        case 0xcf:
+        case 0xd3:
+            return buffer.getLong();
+        case 0xd0:
+            return buffer.get();
+        case 0xd1:
+            return buffer.getShort();
+        case 0xd2:
+            return buffer.getInt();
+        default:
+            throw new CommunicationException("Expected an integer but got type " + type);
+        }
+    }
+
+    private static void skip(ByteBuffer buffer, int length) {
+        buffer.position(buffer.position() + length);
+    }
+
+    private static int toSize(long size) {
+        if (size > Integer.MAX_VALUE) {
+            throw new CommunicationException("Value is too large: " + size);
+        }
+        return (int) size;
+    }
+
+}
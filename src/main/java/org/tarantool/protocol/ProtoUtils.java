@@ -8,7 +8,6 @@ import org.tarantool.Key;
 import org.tarantool.MsgPackLite;
 import org.tarantool.TarantoolException;
 
-import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -22,7 +21,7 @@ import java.nio.channels.SocketChannel;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
-import java.util.EnumMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -33,6 +32,15 @@ public abstract class ProtoUtils {
     private static final int DEFAULT_INITIAL_REQUEST_SIZE = 4096;
     private static final String WELCOME = "Tarantool ";
 
+    private static final int MP_NULL = 0xc0;
+    private static final int MP_UINT8 = 0xcc;
+    private static final int MP_UINT16 = 0xcd;
+    private static final int MP_UINT32 = 0xce;
+    private static final int MP_UINT64 = 0xcf;
+    private static final int MP_FIXMAP = 0x80;
+    private static final int MP_MAP16 = 0xde;
+    private static final int MAX_FIXMAP_SIZE = 0xf;
+
     /**
      * Reads tarantool binary protocol's packet from {@code inputStream}.
      *
@@ -83,7 +91,26 @@ public abstract class ProtoUtils {
         bufferReader.read(buffer);
 
         buffer.flip();
-        ByteBufferBackedInputStream msgBytesStream = new ByteBufferBackedInputStream(buffer);
+        return decodePacket(buffer);
+    }
+
+    /**
+     * Decodes a tarantool's binary protocol packet.
+     *
+     * @param buffer buffer ready for read (flipped) which contains packet headers
+     *               and body only, i.e. without the size prefix
+     *
+     * @return tarantool binary protocol message wrapped by instance of {@link TarantoolPacket}
+     *
+     * @throws IOException            if buffer contains a truncated message
+     * @throws CommunicationException buffer bytes constitute msg pack message in wrong format
+     */
+    public static TarantoolPacket decodePacket(ByteBuffer buffer) throws CommunicationException, IOException {
+        return decodePacket(new ByteBufferBackedInputStream(buffer));
+    }
+
+    static TarantoolPacket decodePacket(ByteBufferBackedInputStream msgBytesStream)
+        throws CommunicationException, IOException {
         Object unpackedHeaders = getMsgPackLite().unpack(msgBytesStream);
         if (!(unpackedHeaders instanceof Map)) {
             //noinspection ConstantConditions
@@ -98,22 +125,26 @@ public abstract class ProtoUtils {
 
         Map<Integer, Object> body = null;
         if (msgBytesStream.hasAvailable()) {
-            Object unpackedBody = getMsgPackLite().unpack(msgBytesStream);
-            if (!(unpackedBody instanceof Map)) {
-                //noinspection ConstantConditions
-                throw new CommunicationException(
-                    "Error while unpacking body of tarantool response: " +
-                        "expected type Map but was " +
-                        unpackedBody != null ? unpackedBody.getClass().toString() : "null"
-                );
-            }
-            //noinspection unchecked (checked above)
-            body = (Map<Integer, Object>) unpackedBody;
+            body = decodeBody(msgBytesStream);
         }
 
         return new TarantoolPacket(headers, body);
     }
 
+    static Map<Integer, Object> decodeBody(InputStream msgBytesStream) throws CommunicationException, IOException {
+        Object unpackedBody = getMsgPackLite().unpack(msgBytesStream);
+        if (!(unpackedBody instanceof Map)) {
+            //noinspection ConstantConditions
+            throw new CommunicationException(
+                "Error while unpacking body of tarantool response: " +
+                    "expected type Map but was " +
+                    unpackedBody != null ? unpackedBody.getClass().toString() : "null"
+            );
+        }
+        //noinspection unchecked (checked above)
+        return (Map<Integer, Object>) unpackedBody;
+    }
+
     /**
      * Connects to a tarantool node described by {@code socket}. Performs an authentication if required
      *
@@ -213,7 +244,7 @@ public abstract class ProtoUtils {
     }
 
     public static void writeFully(OutputStream stream, ByteBuffer buffer) throws IOException {
-        stream.write(buffer.array());
+        stream.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
         stream.flush();
     }
 
@@ -274,38 +305,178 @@ public abstract class ProtoUtils {
                                           Long syncId,
                                           Long schemaId,
                                           Object... args) throws IOException {
-        ByteArrayOutputStream bos = new ByteArrayOutputStream(initialRequestSize);
-        bos.write(new byte[5]);
-        final DataOutputStream ds = new DataOutputStream(bos);
-        Map<Key, Object> header = new EnumMap<>(Key.class);
-        Map<Key, Object> body = new EnumMap<>(Key.class);
-        header.put(Key.CODE, code);
-        header.put(Key.SYNC, syncId);
-        if (schemaId != null) {
-            header.put(Key.SCHEMA_ID, schemaId);
+        ByteBufferOutputStream out = new ByteBufferOutputStream(initialRequestSize, false);
+        writePacket(out, msgPackLite, code, syncId, schemaId, args);
+        return out.toByteBuffer();
+    }
+
+    /**
+     * Encodes a request packet straight into the output.
+     * <p>
+     * The size prefix is reserved before the packet and filled in
+     * when the header and the body are written.
+     *
+     * @param out         output to append the packet to
+     * @param msgPackLite encoder of the body values
+     * @param code        request code
+     * @param syncId      request id
+     * @param schemaId    expected schema version or {@code null}
+     * @param args        body as pairs of {@link Key} and value
+     *
+     * @throws IOException if a value cannot be encoded
+     */
+    public static void writePacket(ByteBufferOutputStream out,
+                                   MsgPackLite msgPackLite,
+                                   Code code,
+                                   Long syncId,
+                                   Long schemaId,
+                                   Object... args) throws IOException {
+        final int start = out.position();
+        final int startSize = out.size();
+        out.skip(LENGTH_OF_SIZE_MESSAGE);
+
+        out.write(MP_FIXMAP | (schemaId == null ? 2 : 3));
+        out.write(Key.CODE.getId());
+        writeUnsigned(out, code.getId());
+        out.write(Key.SYNC.getId());
+        if (syncId == null) {
+            out.write(MP_NULL);
+        } else {
+            writeUnsigned(out, syncId);
         }
-        if (args != null) {
-            for (int i = 0, e = args.length; i < e; i += 2) {
-                Object value = args[i + 1];
-                body.put((Key) args[i], value);
-            }
+        if (schemaId != null) {
+            out.write(Key.SCHEMA_ID.getId());
+            writeUnsigned(out, schemaId);
         }
-        msgPackLite.pack(header, ds);
-        msgPackLite.pack(body, ds);
-        ds.flush();
-        ByteBuffer buffer = bos.toByteBuffer();
-        buffer.put(0, (byte) 0xce);
-        buffer.putInt(1, bos.size() - 5);
-        return buffer;
+
+        writeBody(out, msgPackLite, args);
+
+        out.put(start, (byte) MP_UINT32);
+        out.putInt(start + 1, out.size() - startSize - LENGTH_OF_SIZE_MESSAGE);
     }
 
-    private static class ByteArrayOutputStream extends java.io.ByteArrayOutputStream {
-        public ByteArrayOutputStream(int size) {
-            super(size);
+    /**
+     * Encodes a request packet which header and body start with
+     * pre-encoded bytes. Only the sync id and the last body value
+     * are encoded per call.
+     *
+     * @param out          output to append the packet to
+     * @param msgPackLite  encoder of the body value
+     * @param headerPrefix header up to the sync id, see {@link #encodeHeaderPrefix}
+     * @param syncId       request id
+     * @param bodyPrefix   body up to the last value, see {@link #encodeBodyPrefix}
+     * @param value        last body value
+     *
+     * @throws IOException if the value cannot be encoded
+     */
+    public static void writePacket(ByteBufferOutputStream out,
+                                   MsgPackLite msgPackLite,
+                                   byte[] headerPrefix,
+                                   long syncId,
+                                   byte[] bodyPrefix,
+                                   Object value) throws IOException {
+        final int start = out.position();
+        final int startSize = out.size();
+        out.skip(LENGTH_OF_SIZE_MESSAGE);
+        out.write(headerPrefix, 0, headerPrefix.length);
+        writeUnsigned(out, syncId);
+        out.write(bodyPrefix, 0, bodyPrefix.length);
+        msgPackLite.pack(value, out);
+        out.put(start, (byte) MP_UINT32);
+        out.putInt(start + 1, out.size() - startSize - LENGTH_OF_SIZE_MESSAGE);
+    }
+
+    /**
+     * Encodes a request header without a schema id up to the
+     * sync id value.
+     *
+     * @param code request code
+     *
+     * @return header bytes
+     */
+    public static byte[] encodeHeaderPrefix(Code code) {
+        ByteBufferOutputStream out = new ByteBufferOutputStream(16, false);
+        out.write(MP_FIXMAP | 2);
+        out.write(Key.CODE.getId());
+        writeUnsigned(out, code.getId());
+        out.write(Key.SYNC.getId());
+        return toByteArray(out);
+    }
+
+    /**
+     * Encodes a request body map up to the value of the last key.
+     *
+     * @param msgPackLite encoder of the body values
+     * @param last        key of the value which is encoded separately
+     * @param args        other body entries as pairs of {@link Key} and value
+     *
+     * @return body bytes
+     *
+     * @throws IOException if a value cannot be encoded
+     */
+    public static byte[] encodeBodyPrefix(MsgPackLite msgPackLite, Key last, Object... args) throws IOException {
+        ByteBufferOutputStream out = new ByteBufferOutputStream(64, false);
+        Object[] entries = new Object[args.length + 2];
+        System.arraycopy(args, 0, entries, 0, args.length);
+        entries[args.length] = last;
+        writeBody(out, msgPackLite, entries);
+        byte[] bytes = toByteArray(out);
+        // drop the nil placeholder of the last value
+        return Arrays.copyOf(bytes, bytes.length - 1);
+    }
+
+    private static byte[] toByteArray(ByteBufferOutputStream out) {
+        ByteBuffer buffer = out.toByteBuffer();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Encodes a request body map.
+     *
+     * @param out         output to append the body to
+     * @param msgPackLite encoder of the body values
+     * @param args        body as pairs of {@link Key} and value
+     *
+     * @throws IOException if a value cannot be encoded
+     */
+    public static void writeBody(ByteBufferOutputStream out, MsgPackLite msgPackLite, Object... args)
+        throws IOException {
+        int size = args == null ? 0 : args.length / 2;
+        if (size <= MAX_FIXMAP_SIZE) {
+            out.write(MP_FIXMAP | size);
+        } else {
+            out.write(MP_MAP16);
+            out.writeShort(size);
         }
+        for (int i = 0; i < size * 2; i += 2) {
+            out.write(((Key) args[i]).getId());
+            msgPackLite.pack(args[i + 1], out);
+        }
+    }
 
-        ByteBuffer toByteBuffer() {
-            return ByteBuffer.wrap(buf, 0, count);
+    /**
+     * Writes non-negative header value using the shortest MsgPack form.
+     */
+    private static void writeUnsigned(ByteBufferOutputStream out, long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative header value " + value);
+        }
+        if (value <= 0x7f) {
+            out.write((int) value);
+        } else if (value <= 0xff) {
+            out.write(MP_UINT8);
+            out.write((int) value);
+        } else if (value <= 0xffff) {
+            out.write(MP_UINT16);
+            out.writeShort((int) value);
+        } else if (value <= 0xffffffffL) {
+            out.write(MP_UINT32);
+            out.writeInt((int) value);
+        } else {
+            out.write(MP_UINT64);
+            out.writeLong(value);
         }
     }
 
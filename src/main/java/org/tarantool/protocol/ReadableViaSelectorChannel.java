@@ -51,6 +51,16 @@ public class ReadableViaSelectorChannel implements ReadableByteChannel {
         return count;
     }
 
+    /**
+     * Blocks until the channel has bytes to be read.
+     *
+     * @throws IOException if the selector fails
+     */
+    public void awaitReadable() throws IOException {
+        selector.select();
+        selector.selectedKeys().clear();
+    }
+
     @Override
     public boolean isOpen() {
         return channel.isOpen();
@@ -2,11 +2,21 @@ package org.tarantool.protocol;
 
 import org.tarantool.Key;
 
+import java.util.HashMap;
 import java.util.Map;
 
 public class TarantoolPacket {
-    private final Map<Integer, Object> headers;
+
+    /**
+     * Schema id value of a packet without the schema id header.
+     */
+    public static final long NO_SCHEMA_ID = -1;
+
+    private Map<Integer, Object> headers;
     private final Map<Integer, Object> body;
+    private long code;
+    private long sync;
+    private long schemaId;
 
     public TarantoolPacket(Map<Integer, Object> headers, Map<Integer, Object> body) {
         this.headers = headers;
@@ -18,7 +28,26 @@ public class TarantoolPacket {
         body = null;
     }
 
+    /**
+     * Creates a packet from the header fields decoded separately.
+     * The headers map is built only if it is requested.
+     *
+     * @param code     response code
+     * @param sync     sync id
+     * @param schemaId schema id or {@link #NO_SCHEMA_ID}
+     * @param body     decoded body or {@code null}
+     */
+    public TarantoolPacket(long code, long sync, long schemaId, Map<Integer, Object> body) {
+        this.code = code;
+        this.sync = sync;
+        this.schemaId = schemaId;
+        this.body = body;
+    }
+
     public Long getCode() {
+        if (headers == null) {
+            return code;
+        }
         Object potenticalCode = headers.get(Key.CODE.getId());
 
         if (!(potenticalCode instanceof Long)) {
@@ -34,10 +63,35 @@ public class TarantoolPacket {
     }
 
     public Long getSync() {
+        if (headers == null) {
+            return sync;
+        }
         return (Long) getHeaders().get(Key.SYNC.getId());
     }
 
+    /**
+     * Gets the schema version the response is made at.
+     *
+     * @return schema id or {@link #NO_SCHEMA_ID}
+     */
+    public long getSchemaId() {
+        if (headers == null) {
+            return schemaId;
+        }
+        Object value = headers.get(Key.SCHEMA_ID.getId());
+        return value instanceof Number ? ((Number) value).longValue() : NO_SCHEMA_ID;
+    }
+
     public Map<Integer, Object> getHeaders() {
+        if (headers == null) {
+            Map<Integer, Object> decoded = new HashMap<>(4);
+            decoded.put(Key.CODE.getId(), code);
+            decoded.put(Key.SYNC.getId(), sync);
+            if (schemaId != NO_SCHEMA_ID) {
+                decoded.put(Key.SCHEMA_ID.getId(), schemaId);
+            }
+            headers = decoded;
+        }
         return headers;
     }
 
@@ -0,0 +1,384 @@
+package org.tarantool.protocol;
+
+import org.tarantool.CommunicationException;
+import org.tarantool.Key;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Incremental decoder of tarantool binary protocol packets.
+ * <br>
+ * Accumulates bytes read from a non-blocking channel into a reusable
+ * buffer and extracts complete packets from them, so a single read
+ * may bring many packets. A packet which is received partially stays
+ * in the buffer until the rest of its bytes arrive.
+ * <p>
+ * If a packet doesn't fit the buffer, the buffer grows at least twice.
+ * The grown buffer is shrunk back to the initial size after it stays
+ * empty for a number of reads, so a rare large response doesn't pin
+ * the memory.
+ * <p>
+ * Header fields are decoded straight from the buffer, so a caller
+ * may look at the sync id first and skip the body of a response
+ * nobody waits for without decoding it.
+ * <p>
+ * The decoder isn't thread-safe.
+ */
+public class TarantoolPacketDecoder {
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Amount of reads which the grown buffer has to stay
+     * empty for before it's shrunk.
+     */
+    private static final int SHRINK_AFTER_READS = 64;
+
+    private static final byte MP_UINT8 = (byte) 0xcc;
+    private static final byte MP_UINT16 = (byte) 0xcd;
+    private static final byte MP_UINT32 = (byte) 0xce;
+
+    private final int initialSize;
+    private final boolean direct;
+
+    /**
+     * Received bytes which are not decoded yet.
+     * The buffer is always kept ready for read.
+     */
+    private ByteBuffer buffer;
+    private ByteBufferBackedInputStream stream;
+    private MsgPackCursor cursor;
+    private int idleReads;
+
+    /**
+     * State of the packet which header is decoded.
+     * Zero length means there is no such packet.
+     */
+    private int packetLength;
+    private int bodyOffset;
+    private long code;
+    private long sync;
+    private long schemaId;
+
+    public TarantoolPacketDecoder() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    public TarantoolPacketDecoder(int initialSize) {
+        this(initialSize, false);
+    }
+
+    /**
+     * Creates a decoder.
+     *
+     * @param initialSize initial (and usual) size of the receive buffer
+     * @param direct      whether the receive buffer is direct
+     */
+    public TarantoolPacketDecoder(int initialSize, boolean direct) {
+        this.initialSize = Math.max(initialSize, ProtoUtils.LENGTH_OF_SIZE_MESSAGE);
+        this.direct = direct;
+        ByteBuffer initial = allocate(this.initialSize);
+        initial.flip();
+        replaceBuffer(initial);
+    }
+
+    /**
+     * Reads available bytes from the channel.
+     *
+     * @param channel channel to read from
+     *
+     * @return the number of bytes read, possibly zero,
+     *     or {@code -1} if the channel has reached end-of-stream
+     *
+     * @throws IOException if any IO-error occurred during read from the channel
+     */
+    public int read(ReadableByteChannel channel) throws IOException {
+        shrinkIfIdle();
+        buffer.compact();
+        try {
+            return channel.read(buffer);
+        } finally {
+            buffer.flip();
+        }
+    }
+
+    /**
+     * Extracts next received packet.
+     *
+     * @return decoded packet or {@code null} if there are
+     *     no complete packets received
+     *
+     * @throws IOException            if the packet is malformed
+     * @throws CommunicationException if the packet has unexpected format
+     */
+    public TarantoolPacket next() throws IOException {
+        return nextHeader() ? decodeBody() : null;
+    }
+
+    /**
+     * Decodes only the header of the next complete packet.
+     * <p>
+     * Header fields are available through {@link #getCode()},
+     * {@link #getSync()} and {@link #getSchemaId()} until the packet
+     * is finished by either {@link #decodeBody()} or {@link #skipBody()}.
+     *
+     * @return {@code false} if there are no complete packets received
+     *
+     * @throws CommunicationException if the packet has unexpected format
+     */
+    public boolean nextHeader() {
+        if (packetLength > 0) {
+            throw new IllegalStateException("Body of the previous packet is not consumed");
+        }
+        int start = buffer.position();
+        int available = buffer.remaining();
+        if (available == 0) {
+            return false;
+        }
+
+        int prefixLength;
+        byte type = buffer.get(start);
+        if (type >= 0) {
+            prefixLength = 1;
+        } else if (type == MP_UINT8) {
+            prefixLength = 2;
+        } else if (type == MP_UINT16) {
+            prefixLength = 3;
+        } else if (type == MP_UINT32) {
+            prefixLength = ProtoUtils.LENGTH_OF_SIZE_MESSAGE;
+        } else {
+            throw new CommunicationException("Unexpected packet size type " + type);
+        }
+        if (available < prefixLength) {
+            return false;
+        }
+
+        long size;
+        if (prefixLength == 1) {
+            size = type;
+        } else if (prefixLength == 2) {
+            size = buffer.get(start + 1) & 0xff;
+        } else if (prefixLength == 3) {
+            size = buffer.getShort(start + 1) & 0xffff;
+        } else {
+            size = buffer.getInt(start + 1) & 0xffffffffL;
+        }
+        if (size > Integer.MAX_VALUE - prefixLength) {
+            throw new CommunicationException("Packet is too large: " + size);
+        }
+
+        int length = prefixLength + (int) size;
+        if (available < length) {
+            ensureCapacity(length);
+            return false;
+        }
+
+        int limit = buffer.limit();
+        buffer.limit(start + length);
+        buffer.position(start + prefixLength);
+        try {
+            decodeHeader();
+            bodyOffset = buffer.position() - start;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new CommunicationException("Malformed packet header", e);
+        } finally {
+            buffer.limit(limit);
+            buffer.position(start);
+        }
+        packetLength = length;
+        return true;
+    }
+
+    /**
+     * Decodes the body of the packet which header is decoded.
+     *
+     * @return decoded packet
+     *
+     * @throws IOException            if the body is malformed
+     * @throws CommunicationException if the body has unexpected format
+     */
+    public TarantoolPacket decodeBody() throws IOException {
+        checkHeader();
+        int start = buffer.position();
+        int limit = buffer.limit();
+        buffer.limit(start + packetLength);
+        buffer.position(start + bodyOffset);
+        try {
+            Map<Integer, Object> body = null;
+            if (buffer.hasRemaining()) {
+                body = ProtoUtils.decodeBody(stream);
+            }
+            return new TarantoolPacket(code, sync, schemaId, body);
+        } finally {
+            buffer.limit(limit);
+            finishPacket(start);
+        }
+    }
+
+    /**
+     * Decodes the body of the packet which header is decoded passing
+     * its data to the given decoder. Other body keys are skipped.
+     * <p>
+     * The packet is consumed even if the decoder fails, so the next
+     * packet can be decoded anyway.
+     *
+     * @param dataDecoder decoder of the response data
+     *
+     * @return packet which body holds the decoded data under {@link Key#DATA}
+     *
+     * @throws CommunicationException if the body has unexpected format
+     * @throws RuntimeException       if the decoder fails
+     */
+    public TarantoolPacket decodeBody(DataDecoder<?> dataDecoder) {
+        checkHeader();
+        int start = buffer.position();
+        int limit = buffer.limit();
+        buffer.limit(start + packetLength);
+        buffer.position(start + bodyOffset);
+        try {
+            Object data = null;
+            if (buffer.hasRemaining()) {
+                for (int entries = MsgPackReader.readMapHeader(buffer); entries > 0; entries--) {
+                    if (MsgPackReader.readUnsigned(buffer) == Key.DATA.getId()) {
+                        data = decodeData(dataDecoder);
+                    } else {
+                        MsgPackReader.skipValue(buffer);
+                    }
+                }
+            }
+            return new TarantoolPacket(code, sync, schemaId, Collections.singletonMap(Key.DATA.getId(), data));
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new CommunicationException("Malformed packet body", e);
+        } finally {
+            buffer.limit(limit);
+            finishPacket(start);
+        }
+    }
+
+    /**
+     * Passes the data value to the decoder limiting the buffer by
+     * the end of the value, so the decoder can't read past it.
+     */
+    private Object decodeData(DataDecoder<?> dataDecoder) {
+        int start = buffer.position();
+        MsgPackReader.skipValue(buffer);
+        int end = buffer.position();
+        int limit = buffer.limit();
+        buffer.limit(end);
+        buffer.position(start);
+        try {
+            return dataDecoder.decode(cursor);
+        } finally {
+            buffer.limit(limit);
+            buffer.position(end);
+        }
+    }
+
+    /**
+     * Drops the body of the packet which header is decoded.
+     *
+     * @return packet without body
+     */
+    public TarantoolPacket skipBody() {
+        checkHeader();
+        finishPacket(buffer.position());
+        return new TarantoolPacket(code, sync, schemaId, null);
+    }
+
+    public long getCode() {
+        checkHeader();
+        return code;
+    }
+
+    public long getSync() {
+        checkHeader();
+        return sync;
+    }
+
+    /**
+     * Gets schema id of the packet which header is decoded.
+     *
+     * @return schema id or {@link TarantoolPacket#NO_SCHEMA_ID}
+     */
+    public long getSchemaId() {
+        checkHeader();
+        return schemaId;
+    }
+
+    /**
+     * Gets current size of the receive buffer.
+     *
+     * @return buffer capacity
+     */
+    public int capacity() {
+        return buffer.capacity();
+    }
+
+    private void decodeHeader() {
+        code = 0;
+        sync = 0;
+        schemaId = TarantoolPacket.NO_SCHEMA_ID;
+        for (int entries = MsgPackReader.readMapHeader(buffer); entries > 0; entries--) {
+            long key = MsgPackReader.readUnsigned(buffer);
+            if (key == Key.CODE.getId()) {
+                code = MsgPackReader.readUnsigned(buffer);
+            } else if (key == Key.SYNC.getId()) {
+                sync = MsgPackReader.readUnsigned(buffer);
+            } else if (key == Key.SCHEMA_ID.getId()) {
+                schemaId = MsgPackReader.readUnsigned(buffer);
+            } else {
+                MsgPackReader.skipValue(buffer);
+            }
+        }
+    }
+
+    private void checkHeader() {
+        if (packetLength == 0) {
+            throw new IllegalStateException("Packet header is not decoded");
+        }
+    }
+
+    private void finishPacket(int start) {
+        buffer.position(start + packetLength);
+        packetLength = 0;
+    }
+
+    /**
+     * Makes sure that a packet of the given length fits into the buffer.
+     */
+    private void ensureCapacity(int packetLength) {
+        idleReads = 0;
+        if (buffer.capacity() < packetLength) {
+            int doubled = buffer.capacity() << 1;
+            ByteBuffer grown = allocate(doubled < packetLength ? packetLength : doubled);
+            grown.put(buffer);
+            grown.flip();
+            replaceBuffer(grown);
+        }
+    }
+
+    private void shrinkIfIdle() {
+        if (buffer.capacity() > initialSize && !buffer.hasRemaining() && ++idleReads >= SHRINK_AFTER_READS) {
+            idleReads = 0;
+            ByteBuffer shrunk = allocate(initialSize);
+            shrunk.flip();
+            replaceBuffer(shrunk);
+        }
+    }
+
+    private void replaceBuffer(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.stream = new ByteBufferBackedInputStream(buffer);
+        this.cursor = new MsgPackCursor(buffer);
+    }
+
+    private ByteBuffer allocate(int capacity) {
+        return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
+}
@@ -0,0 +1,269 @@
+package org.tarantool.util;
+
+import java.util.function.Consumer;
+
+/**
+ * Concurrent map with primitive {@code long} keys.
+ * <br>
+ * The map is split into independently locked stripes chosen by
+ * the lowest bits of a key, so sequential keys (such as request
+ * sync ids) are spread over all the stripes. Each stripe is an
+ * open-addressing table with linear probing which keeps keys and
+ * values in plain arrays, so neither keys are boxed nor entry
+ * nodes are allocated.
+ * <p>
+ * A stripe doubles when it becomes half full and halves when it
+ * is mostly empty, so the map doesn't hold a large table after
+ * a burst is over.
+ * <p>
+ * Null values are not permitted.
+ *
+ * @param <V> type of values
+ */
+public final class ConcurrentLongMap<V> {
+
+    private static final int MIN_STRIPE_CAPACITY = 8;
+    private static final int MAX_STRIPES = 64;
+
+    private final Stripe<V>[] stripes;
+    private final int stripeMask;
+
+    /**
+     * Creates a map which can hold the expected amount
+     * of entries without growing.
+     *
+     * @param expectedSize expected amount of entries
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentLongMap(int expectedSize) {
+        int stripesCount = Math.min(ceilingPowerOfTwo(Runtime.getRuntime().availableProcessors() * 2), MAX_STRIPES);
+        int stripeCapacity = ceilingPowerOfTwo(Math.max(expectedSize / stripesCount * 2, MIN_STRIPE_CAPACITY));
+        this.stripes = new Stripe[stripesCount];
+        this.stripeMask = stripesCount - 1;
+        for (int i = 0; i < stripesCount; i++) {
+            stripes[i] = new Stripe<>(stripeCapacity);
+        }
+    }
+
+    /**
+     * Associates the value with the key.
+     *
+     * @param key   key
+     * @param value non-null value
+     *
+     * @return previous value or {@code null}
+     */
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new NullPointerException("Value must not be null");
+        }
+        return stripe(key).put(key, value);
+    }
+
+    public V get(long key) {
+        return stripe(key).get(key);
+    }
+
+    public V remove(long key) {
+        return stripe(key).remove(key);
+    }
+
+    /**
+     * Removes the entry only if the key is mapped to the given value.
+     *
+     * @param key   key
+     * @param value expected value
+     *
+     * @return {@code true} if the entry was removed
+     */
+    public boolean remove(long key, V value) {
+        return stripe(key).remove(key, value);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe<V> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        for (Stripe<V> stripe : stripes) {
+            if (stripe.size() > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes all the entries passing their values to the action.
+     * The action is invoked outside of the locks, so it may safely
+     * modify the map.
+     *
+     * @param action receiver of the removed values
+     */
+    public void drain(Consumer<? super V> action) {
+        for (Stripe<V> stripe : stripes) {
+            for (Object value : stripe.removeAll()) {
+                if (value != null) {
+                    @SuppressWarnings("unchecked")
+                    V removed = (V) value;
+                    action.accept(removed);
+                }
+            }
+        }
+    }
+
+    private Stripe<V> stripe(long key) {
+        return stripes[(int) key & stripeMask];
+    }
+
+    private static int ceilingPowerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    private static final class Stripe<V> {
+
+        private final int minCapacity;
+        private long[] keys;
+        private Object[] values;
+        private int shift;
+        private volatile int size;
+
+        Stripe(int capacity) {
+            this.minCapacity = capacity;
+            allocate(capacity);
+        }
+
+        int size() {
+            return size;
+        }
+
+        synchronized V put(long key, V value) {
+            if (size >= values.length >> 1) {
+                rehash(values.length << 1);
+            }
+            int mask = values.length - 1;
+            int i = slot(key);
+            while (values[i] != null) {
+                if (keys[i] == key) {
+                    V previous = cast(values[i]);
+                    values[i] = value;
+                    return previous;
+                }
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+            size++;
+            return null;
+        }
+
+        synchronized V get(long key) {
+            int i = find(key);
+            return i < 0 ? null : cast(values[i]);
+        }
+
+        synchronized boolean remove(long key, Object value) {
+            int i = find(key);
+            if (i < 0 || values[i] != value) {
+                return false;
+            }
+            removeAt(i);
+            return true;
+        }
+
+        synchronized V remove(long key) {
+            int i = find(key);
+            if (i < 0) {
+                return null;
+            }
+            V removed = cast(values[i]);
+            removeAt(i);
+            return removed;
+        }
+
+        private void removeAt(int i) {
+            // shift back the following entries of the run
+            // instead of leaving a tombstone
+            int mask = values.length - 1;
+            int gap = i;
+            int next = i;
+            while (true) {
+                next = (next + 1) & mask;
+                if (values[next] == null) {
+                    break;
+                }
+                int home = slot(keys[next]);
+                if (((next - home) & mask) >= ((next - gap) & mask)) {
+                    keys[gap] = keys[next];
+                    values[gap] = values[next];
+                    gap = next;
+                }
+            }
+            values[gap] = null;
+            size--;
+            if (values.length > minCapacity && size < values.length >> 3) {
+                rehash(values.length >> 1);
+            }
+        }
+
+        synchronized Object[] removeAll() {
+            Object[] removed = values;
+            allocate(minCapacity);
+            size = 0;
+            return removed;
+        }
+
+        private int find(long key) {
+            int mask = values.length - 1;
+            int i = slot(key);
+            while (values[i] != null) {
+                if (keys[i] == key) {
+                    return i;
+                }
+                i = (i + 1) & mask;
+            }
+            return -1;
+        }
+
+        /**
+         * Fibonacci hashing spreads sequential keys evenly.
+         */
+        private int slot(long key) {
+            return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+        }
+
+        private void rehash(int capacity) {
+            long[] oldKeys = keys;
+            Object[] oldValues = values;
+            allocate(capacity);
+            int mask = capacity - 1;
+            for (int j = 0; j < oldValues.length; j++) {
+                if (oldValues[j] != null) {
+                    int i = slot(oldKeys[j]);
+                    while (values[i] != null) {
+                        i = (i + 1) & mask;
+                    }
+                    keys[i] = oldKeys[j];
+                    values[i] = oldValues[j];
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            values = new Object[capacity];
+            shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <V> V cast(Object value) {
+            return (V) value;
+        }
+
+    }
+
+}
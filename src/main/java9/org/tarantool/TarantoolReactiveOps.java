@@ -0,0 +1,310 @@
+package org.tarantool;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Client operations returning {@link Flow.Publisher}s which can be
+ * consumed by any Reactive Streams implementation through the JDK
+ * adapters.
+ * <br>
+ * Publishers are cold: a request is sent for each subscription and
+ * only when the subscriber signals demand. An operation publisher
+ * emits the operation result as a single item. A scan publisher
+ * emits tuples one by one and selects the next page only when all
+ * the received tuples are delivered and more of them are requested,
+ * so the amount of buffered tuples never exceeds a page.
+ * <p>
+ * The class is available on Java 9 and above.
+ *
+ * <pre>{@code
+ * TarantoolReactiveOps ops = TarantoolReactiveOps.of(client);
+ * ops.scan(new TarantoolScan(client.composableAsyncOps(), spaceId, 0, 0).pageSize(500))
+ *     .subscribe(subscriber);
+ * }</pre>
+ */
+public final class TarantoolReactiveOps
+    extends AbstractTarantoolOps<Integer, List<?>, Object, Flow.Publisher<List<?>>> {
+
+    private final TarantoolClient client;
+    private final TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> asyncOps;
+
+    private TarantoolReactiveOps(TarantoolClient client) {
+        this.client = client;
+        this.asyncOps = client.composableAsyncOps();
+    }
+
+    /**
+     * Creates reactive operations backed by the client.
+     *
+     * @param client client to send requests through
+     *
+     * @return reactive operations
+     */
+    public static TarantoolReactiveOps of(TarantoolClient client) {
+        return new TarantoolReactiveOps(Objects.requireNonNull(client));
+    }
+
+    @Override
+    public Flow.Publisher<List<?>> select(Integer space, Integer index, List<?> key,
+                                          int offset, int limit, int iterator) {
+        return defer(() -> asyncOps.select(space, index, key, offset, limit, iterator));
+    }
+
+    @Override
+    public Flow.Publisher<List<?>> insert(Integer space, List<?> tuple) {
+        return defer(() -> asyncOps.insert(space, tuple));
+    }
+
+    @Override
+    public Flow.Publisher<List<?>> replace(Integer space, List<?> tuple) {
+        return defer(() -> asyncOps.replace(space, tuple));
+    }
+
+    @Override
+    public Flow.Publisher<List<?>> update(Integer space, List<?> key, Object... ops) {
+        return defer(() -> asyncOps.update(space, key, ops));
+    }
+
+    @Override
+    public Flow.Publisher<List<?>> upsert(Integer space, List<?> key, List<?> def, Object... ops) {
+        return defer(() -> asyncOps.upsert(space, key, def, ops));
+    }
+
+    @Override
+    public Flow.Publisher<List<?>> delete(Integer space, List<?> key) {
+        return defer(() -> asyncOps.delete(space, key));
+    }
+
+    @Override
+    public Flow.Publisher<List<?>> call(String function, Object... args) {
+        return defer(() -> asyncOps.call(function, args));
+    }
+
+    @Override
+    public Flow.Publisher<List<?>> eval(String expression, Object... args) {
+        return defer(() -> asyncOps.eval(expression, args));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Flow.Publisher<List<?>> exec(Code code, Object... args) {
+        return defer(
+            () -> ((AbstractTarantoolOps<Integer, List<?>, Object, CompletionStage<List<?>>>) asyncOps).exec(code, args)
+        );
+    }
+
+    /**
+     * Pings the server. Unlike the other operations it blocks
+     * the caller until the response is received.
+     */
+    @Override
+    public void ping() {
+        client.syncOps().ping();
+    }
+
+    /**
+     * Creates a publisher of the scanned tuples.
+     *
+     * @param scan scan settings, its prefetch is not used because
+     *             pages are selected by demand
+     *
+     * @return publisher of tuples
+     */
+    public Flow.Publisher<List<?>> scan(TarantoolScan scan) {
+        return subscriber -> {
+            Objects.requireNonNull(subscriber);
+            subscriber.onSubscribe(new ScanSubscription(subscriber, scan.cursor()));
+        };
+    }
+
+    @Override
+    public void close() {
+        throw new IllegalStateException("You should close TarantoolClient instead.");
+    }
+
+    private static Flow.Publisher<List<?>> defer(Supplier<CompletionStage<List<?>>> operation) {
+        return subscriber -> {
+            Objects.requireNonNull(subscriber);
+            subscriber.onSubscribe(new OperationSubscription(subscriber, operation));
+        };
+    }
+
+    /**
+     * Emits a result of one operation sent on the first demand.
+     */
+    private static final class OperationSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super List<?>> subscriber;
+        private final Supplier<CompletionStage<List<?>>> operation;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private volatile boolean cancelled;
+
+        OperationSubscription(Flow.Subscriber<? super List<?>> subscriber,
+                              Supplier<CompletionStage<List<?>>> operation) {
+            this.subscriber = subscriber;
+            this.operation = operation;
+        }
+
+        @Override
+        public void request(long n) {
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+            if (n <= 0) {
+                subscriber.onError(new IllegalArgumentException("Non-positive request: " + n));
+                return;
+            }
+            CompletionStage<List<?>> result;
+            try {
+                result = operation.get();
+            } catch (Exception e) {
+                subscriber.onError(e);
+                return;
+            }
+            result.whenComplete((value, error) -> {
+                if (cancelled) {
+                    return;
+                }
+                if (error != null) {
+                    subscriber.onError(error);
+                } else {
+                    subscriber.onNext(value);
+                    subscriber.onComplete();
+                }
+            });
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            started.set(true);
+        }
+
+    }
+
+    /**
+     * Emits scanned tuples selecting pages by demand.
+     * <p>
+     * All the signals are issued by a drain loop which is entered by
+     * one thread at a time: either a requesting subscriber or a thread
+     * of the common pool handling a page. Pages are never handled by
+     * a reader thread of the client, so neither the subscriber nor
+     * the next page request may block it.
+     */
+    private static final class ScanSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super List<?>> subscriber;
+        private final TarantoolScan.Cursor cursor;
+        private final Queue<List<?>> tuples = new ConcurrentLinkedQueue<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean fetching;
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+        private boolean done;
+
+        ScanSubscription(Flow.Subscriber<? super List<?>> subscriber, TarantoolScan.Cursor cursor) {
+            this.subscriber = subscriber;
+            this.cursor = cursor;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("Non-positive request: " + n);
+            } else {
+                long current;
+                long next;
+                do {
+                    current = requested.get();
+                    next = current + n;
+                    if (next < 0) {
+                        next = Long.MAX_VALUE;
+                    }
+                } while (!requested.compareAndSet(current, next));
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            if (wip.getAndIncrement() == 0) {
+                tuples.clear();
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                emit();
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            if (cancelled || done) {
+                tuples.clear();
+                return;
+            }
+            Throwable failure = error;
+            if (failure != null) {
+                done = true;
+                tuples.clear();
+                subscriber.onError(failure);
+                return;
+            }
+            long demand = requested.get();
+            long emitted = 0;
+            List<?> tuple;
+            while (emitted < demand && !cancelled && (tuple = tuples.poll()) != null) {
+                subscriber.onNext(tuple);
+                emitted++;
+            }
+            if (emitted > 0 && demand != Long.MAX_VALUE) {
+                requested.addAndGet(-emitted);
+            }
+            if (cancelled || fetching || !tuples.isEmpty()) {
+                return;
+            }
+            if (cursor.isExhausted()) {
+                done = true;
+                subscriber.onComplete();
+            } else if (requested.get() > 0) {
+                fetch();
+            }
+        }
+
+        private void fetch() {
+            fetching = true;
+            cursor.fetch().whenCompleteAsync((page, failure) -> {
+                if (failure != null) {
+                    error = failure instanceof CompletionException && failure.getCause() != null
+                        ? failure.getCause()
+                        : failure;
+                } else {
+                    for (Object tuple : page) {
+                        tuples.add((List<?>) tuple);
+                    }
+                }
+                fetching = false;
+                drain();
+            });
+        }
+
+    }
+
+}
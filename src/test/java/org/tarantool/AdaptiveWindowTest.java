@@ -0,0 +1,69 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("An adaptive window")
+class AdaptiveWindowTest {
+
+    private static final long LATENCY_LIMIT = 1_000_000_000L;
+
+    /**
+     * Server which completes a request per microsecond
+     * with 100 requests in flight or more.
+     */
+    private static final int SATURATION = 100;
+
+    private long now;
+
+    @Test
+    @DisplayName("grew while the throughput grew and settled near the saturation point")
+    public void testGrowth() {
+        AdaptiveWindow window = new AdaptiveWindow(4, 1, 4096, LATENCY_LIMIT);
+        runRound(window);
+        assertEquals(8, window.getLimit());
+        for (int i = 0; i < 200; i++) {
+            runRound(window);
+        }
+        assertTrue(window.getLimit() >= SATURATION / 2, "limit " + window.getLimit());
+        assertTrue(window.getLimit() <= SATURATION * 8, "limit " + window.getLimit());
+    }
+
+    @Test
+    @DisplayName("shrank when the latency approached the limit")
+    public void testLatencyLimit() {
+        AdaptiveWindow window = new AdaptiveWindow(64, 1, 64, 10_000);
+        for (int i = 0; i < AdaptiveWindow.MIN_ROUND; i++) {
+            window.onSuccess(8_000, now += 1000);
+        }
+        assertEquals(48, window.getLimit());
+    }
+
+    @Test
+    @DisplayName("halved on overload")
+    public void testOverload() {
+        AdaptiveWindow window = new AdaptiveWindow(32, 4, 64, LATENCY_LIMIT);
+        window.onOverload();
+        assertEquals(16, window.getLimit());
+        window.onOverload();
+        window.onOverload();
+        window.onOverload();
+        assertEquals(4, window.getLimit());
+    }
+
+    private void runRound(AdaptiveWindow window) {
+        int limit = window.getLimit();
+        int completions = Math.max(limit, AdaptiveWindow.MIN_ROUND);
+        // requests per microsecond and the latency by Little's law
+        double rate = Math.min(limit, SATURATION) / (double) SATURATION;
+        long latency = (long) (limit / rate * 1000);
+        for (int i = 0; i < completions; i++) {
+            now += (long) (1000 / rate);
+            window.onSuccess(latency, now);
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Tests for synchronous operations of {@link TarantoolClientImpl} class
+ * served by a shared {@link TarantoolEventLoopGroup}.
+ *
+ * Actual tests reside in base class.
+ */
+public class EventLoopClientOperationsIT extends AbstractTarantoolOpsIT {
+
+    private static TarantoolEventLoopGroup eventLoopGroup;
+
+    private TarantoolClient client;
+
+    @BeforeAll
+    public static void setupGroup() throws IOException {
+        eventLoopGroup = new TarantoolEventLoopGroup(2);
+    }
+
+    @AfterAll
+    public static void tearDownGroup() {
+        eventLoopGroup.close();
+    }
+
+    @BeforeEach
+    public void setup() {
+        client = makeEventLoopClient();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        client.close();
+    }
+
+    @Override
+    protected TarantoolClientOps<Integer, List<?>, Object, List<?>> getOps() {
+        return client.syncOps();
+    }
+
+    @Test
+    public void testSeveralClientsShareLoops() throws Exception {
+        List<TarantoolClient> clients = new ArrayList<>();
+        try {
+            List<CompletableFuture<List<?>>> futures = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                TarantoolClient next = makeEventLoopClient();
+                clients.add(next);
+                for (int j = 0; j < 100; j++) {
+                    futures.add(next.composableAsyncOps().eval("return ...", i, j).toCompletableFuture());
+                }
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals(Arrays.asList(i / 100, i % 100), futures.get(i).get());
+            }
+        } finally {
+            for (TarantoolClient next : clients) {
+                next.close();
+            }
+        }
+    }
+
+    @Test
+    public void testLargeRequest() {
+        char[] chars = new char[4096];
+        Arrays.fill(chars, 'x');
+        String value = new String(chars);
+        List<?> result = getOps().eval("return ...", value);
+        assertEquals(Collections.singletonList(value), result);
+    }
+
+    private TarantoolClient makeEventLoopClient() {
+        TarantoolClientConfig config = makeClientConfig();
+        config.eventLoopGroup = eventLoopGroup;
+        return new TarantoolClientImpl(socketChannelProvider, config);
+    }
+
+}
@@ -0,0 +1,53 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@DisplayName("A hashed wheel timer")
+class HashedWheelTimerTest {
+
+    private final HashedWheelTimer timer =
+        new HashedWheelTimer(1, TimeUnit.MILLISECONDS, 8, new TarantoolThreadDaemonFactory("testTimer"));
+
+    @Test
+    @DisplayName("expired a timeout not earlier than its delay")
+    public void testExpiration() throws InterruptedException {
+        CountDownLatch expired = new CountDownLatch(1);
+        long start = System.nanoTime();
+        HashedWheelTimer.Timeout timeout = timer.schedule(expired::countDown, 30, TimeUnit.MILLISECONDS);
+
+        assertTrue(expired.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(30));
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.cancel());
+    }
+
+    @Test
+    @DisplayName("didn't run cancelled timeouts")
+    public void testCancellation() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        List<HashedWheelTimer.Timeout> timeouts = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            timeouts.add(timer.schedule(runs::incrementAndGet, 500 + i % 50, TimeUnit.MILLISECONDS));
+        }
+        for (int i = 0; i < timeouts.size(); i += 2) {
+            assertTrue(timeouts.get(i).cancel());
+        }
+
+        CountDownLatch last = new CountDownLatch(1);
+        timer.schedule(last::countDown, 600, TimeUnit.MILLISECONDS);
+        assertTrue(last.await(5, TimeUnit.SECONDS));
+        assertEquals(5_000, runs.get());
+    }
+
+}
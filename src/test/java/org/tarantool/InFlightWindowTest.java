@@ -0,0 +1,110 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@DisplayName("An in-flight window")
+class InFlightWindowTest {
+
+    @Test
+    @DisplayName("rejected requests over the limit until a slot is released")
+    public void testLimit() {
+        InFlightWindow window = new InFlightWindow(2);
+        assertTrue(window.tryAcquire());
+        assertTrue(window.tryAcquire());
+        assertFalse(window.tryAcquire());
+
+        window.release();
+        assertTrue(window.tryAcquire());
+        assertFalse(window.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("took several slots at once or none of them")
+    public void testAcquireMany() {
+        InFlightWindow window = new InFlightWindow(4);
+        assertTrue(window.tryAcquire());
+        assertFalse(window.tryAcquire(4));
+        assertTrue(window.tryAcquire(3));
+        assertFalse(window.tryAcquire());
+
+        window.release(2);
+        assertTrue(window.tryAcquire(2));
+        assertFalse(window.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("ignored releases over the taken permits")
+    public void testOverRelease() {
+        InFlightWindow window = new InFlightWindow(1);
+        assertTrue(window.tryAcquire());
+        window.release(2);
+        window.release();
+
+        assertTrue(window.tryAcquire());
+        assertFalse(window.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("waited for a released slot")
+    public void testAcquire() throws Exception {
+        InFlightWindow window = new InFlightWindow(1);
+        assertTrue(window.tryAcquire());
+        assertFalse(window.acquire(10));
+
+        CompletableFuture<Boolean> acquired = CompletableFuture.supplyAsync(() -> {
+            try {
+                return window.acquire(5000);
+            } catch (InterruptedException e) {
+                return false;
+            }
+        });
+        Thread.sleep(20);
+        window.release();
+        assertTrue(acquired.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("woke waiters in the arrival order")
+    public void testWaitersOrder() throws Exception {
+        InFlightWindow window = new InFlightWindow(2);
+        assertTrue(window.tryAcquire(2));
+        final CompletableFuture<Boolean> many = acquireAsync(window, 2);
+        Thread.sleep(20);
+        final CompletableFuture<Boolean> one = acquireAsync(window, 1);
+        Thread.sleep(20);
+
+        window.release();
+        Thread.sleep(20);
+        assertFalse(many.isDone());
+        assertFalse(one.isDone());
+
+        window.release();
+        assertTrue(many.get(5, TimeUnit.SECONDS));
+        assertFalse(one.isDone());
+
+        window.release();
+        assertTrue(one.get(5, TimeUnit.SECONDS));
+    }
+
+    private static CompletableFuture<Boolean> acquireAsync(InFlightWindow window, int permits) {
+        CompletableFuture<Boolean> acquired = new CompletableFuture<>();
+        Thread waiter = new Thread(() -> {
+            try {
+                acquired.complete(window.acquire(permits, 5000));
+            } catch (InterruptedException e) {
+                acquired.completeExceptionally(e);
+            }
+        });
+        waiter.setDaemon(true);
+        waiter.start();
+        return acquired;
+    }
+
+}
@@ -0,0 +1,102 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.tarantool.jdbc.SQLMsgPackLite;
+import org.tarantool.protocol.ByteBufferOutputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+@DisplayName("A MsgPackLite encoder")
+class MsgPackLiteTest {
+
+    private static final String HIGH_SURROGATE = String.valueOf((char) 0xd83d);
+    private static final String LOW_SURROGATE = String.valueOf((char) 0xdc00);
+
+    @Test
+    @DisplayName("wrote into a buffer the same bytes as into a stream")
+    public void testBufferEncoding() throws IOException {
+        StringBuilder longString = new StringBuilder();
+        for (int i = 0; i < 70000; i++) {
+            longString.append((char) ('a' + i % 26));
+        }
+        Map<Object, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < 20; i++) {
+            map.put("key" + i, i * 1000);
+        }
+        Object[] values = {
+            null, true, false, 0, 127, 128, 255, 256, 65535, 65536, 4294967295L, 4294967296L, Long.MAX_VALUE,
+            -1, -32, -33, -128, -129, -32768, -32769, Integer.MIN_VALUE, Long.MIN_VALUE, (short) 5, (byte) -7,
+            new BigInteger("18446744073709551615"), BigInteger.valueOf(-5), 1.5f, -2.25, Code.SELECT,
+            "", "a", "1234567890123456789012345678901", "12345678901234567890123456789012",
+            "ünïcödé", "日本語", "😀 face", HIGH_SURROGATE + " lone", "lone " + LOW_SURROGATE, longString.toString(),
+            new byte[0], new byte[300], new byte[70000],
+            Collections.emptyList(), Arrays.asList(1, "a", null), new Object[] {1, 2.5, "x"}, new int[] {1, 2},
+            Collections.nCopies(20, 1), map, Collections.singletonMap(1, Collections.singletonList("x")),
+            (Callable<Object>) () -> "called",
+            MsgPackValue.of(new byte[] {(byte) 0x93, 1, 2, 3}),
+        };
+        for (Object value : values) {
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            MsgPackLite.INSTANCE.pack(value, expected);
+            for (boolean direct : new boolean[] {false, true}) {
+                ByteBufferOutputStream actual = new ByteBufferOutputStream(16, direct);
+                MsgPackLite.INSTANCE.pack(value, actual);
+                ByteBuffer bytes = actual.flip();
+                assertEquals(ByteBuffer.wrap(expected.toByteArray()), bytes, String.valueOf(value));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("encoded strings to UTF-8 from their characters")
+    public void testUtf8() {
+        String[] strings = {
+            "ascii", "ünïcödé", "日本語", "😀😁", LOW_SURROGATE, "a" + LOW_SURROGATE + "b", HIGH_SURROGATE,
+        };
+        for (String string : strings) {
+            byte[] expected = string.getBytes(StandardCharsets.UTF_8);
+            assertEquals(expected.length, ByteBufferOutputStream.utf8Length(string), string);
+            ByteBufferOutputStream out = new ByteBufferOutputStream(4, false);
+            out.writeUtf8(string, expected.length);
+            byte[] actual = new byte[out.position()];
+            out.flip().get(actual);
+            assertArrayEquals(expected, actual, string);
+        }
+    }
+
+    @Test
+    @DisplayName("applied conversions of a subclass to nested values")
+    public void testSubclass() throws IOException {
+        Object value = Arrays.asList(new Timestamp(1500000000000L), new BigDecimal("1.50"));
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        MsgPackLite.INSTANCE.pack(Arrays.asList(1500000000000L, "1.50"), expected);
+        ByteBufferOutputStream actual = new ByteBufferOutputStream(16, false);
+        SQLMsgPackLite.INSTANCE.pack(value, actual);
+        assertEquals(ByteBuffer.wrap(expected.toByteArray()), actual.flip());
+    }
+
+    @Test
+    @DisplayName("rejected unsupported types")
+    public void testUnsupportedType() {
+        ByteBufferOutputStream out = new ByteBufferOutputStream(16, false);
+        assertThrows(IllegalArgumentException.class, () -> MsgPackLite.INSTANCE.pack(new Object(), out));
+    }
+
+}
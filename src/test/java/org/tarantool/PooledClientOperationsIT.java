@@ -0,0 +1,73 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.tarantool.pool.KeyHashPoolBalancer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Tests for synchronous operations of {@link TarantoolPooledClient} class.
+ *
+ * Actual tests reside in base class.
+ */
+public class PooledClientOperationsIT extends AbstractTarantoolOpsIT {
+
+    private TarantoolPooledClient client;
+
+    @BeforeEach
+    public void setup() {
+        client = new TarantoolPooledClient(socketChannelProvider, makePooledClientConfig());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        client.close();
+    }
+
+    @Override
+    protected TarantoolClientOps<Integer, List<?>, Object, List<?>> getOps() {
+        return client.syncOps();
+    }
+
+    @Test
+    public void testAllConnectionsAreOpened() {
+        assertEquals(3, client.getConnections().size());
+        assertTrue(client.isAlive());
+    }
+
+    @Test
+    public void testOrderedOperationsOnSameKey() throws Exception {
+        TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> ops = client.composableAsyncOps();
+        List<CompletableFuture<List<?>>> futures = new ArrayList<>();
+        futures.add(ops.insert(SPACE_ID, Arrays.asList(500, "0")).toCompletableFuture());
+        for (int i = 1; i <= 100; i++) {
+            futures.add(ops.replace(SPACE_ID, Arrays.asList(500, String.valueOf(i))).toCompletableFuture());
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+
+        checkTupleResult(consoleSelect(SPACE_NAME, Arrays.asList(500)), Arrays.asList(500, "100"));
+        ops.delete(SPACE_ID, Arrays.asList(500)).toCompletableFuture().get();
+    }
+
+    private static TarantoolPooledClientConfig makePooledClientConfig() {
+        TarantoolPooledClientConfig config = new TarantoolPooledClientConfig();
+        config.username = username;
+        config.password = password;
+        config.initTimeoutMillis = RESTART_TIMEOUT;
+        config.sharedBufferSize = 128;
+        config.poolSize = 3;
+        config.balancer = new KeyHashPoolBalancer();
+        return config;
+    }
+
+}
@@ -0,0 +1,150 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+@DisplayName("A read coalescer")
+class ReadCoalescerTest {
+
+    private final TarantoolClientStats stats = new TarantoolClientStats();
+    private final ReadCoalescer coalescer = new ReadCoalescer(stats, Collections.singleton("get"));
+    private final Ops ops = new Ops();
+    private final List<CompletableFuture<List<?>>> sent = new ArrayList<>();
+
+    @Test
+    @DisplayName("sent one request for identical reads in flight")
+    public void testCoalesce() {
+        final CompletionStage<List<?>> first = select(1);
+        final CompletionStage<List<?>> second = select(1);
+        final CompletionStage<List<?>> other = select(2);
+        final CompletionStage<List<?>> call = ops.call("get", 1);
+        ops.call("get", 1);
+        assertEquals(3, sent.size());
+        assertEquals(2, stats.coalescedReads);
+
+        List<?> result = new ArrayList<>(Collections.singletonList(Arrays.asList(1, "a")));
+        sent.get(0).complete(result);
+        assertSame(result, first.toCompletableFuture().join());
+        List<?> copy = second.toCompletableFuture().join();
+        assertEquals(result, copy);
+        assertNotSame(result, copy);
+        assertFalse(other.toCompletableFuture().isDone());
+        assertFalse(call.toCompletableFuture().isDone());
+        assertEquals(2, coalescer.getInFlight());
+
+        select(1);
+        assertEquals(4, sent.size());
+    }
+
+    @Test
+    @DisplayName("shared an error and kept followers isolated from each other")
+    public void testFailure() {
+        final CompletionStage<List<?>> first = select(1);
+        final CompletionStage<List<?>> second = select(1);
+        final CompletionStage<List<?>> third = select(1);
+        third.toCompletableFuture().cancel(false);
+        assertFalse(first.toCompletableFuture().isDone());
+
+        sent.get(0).completeExceptionally(new TarantoolException(1, "error"));
+        CompletionException error = assertThrows(CompletionException.class, second.toCompletableFuture()::join);
+        assertEquals(TarantoolException.class, error.getCause().getClass());
+        assertEquals(0, coalescer.getInFlight());
+    }
+
+    @Test
+    @DisplayName("did not coalesce evals and calls of functions not known to be read-only")
+    public void testUnsafeReads() {
+        ops.eval("return box.space.test:get(1)");
+        ops.eval("return box.space.test:get(1)");
+        ops.call("put", 1);
+        ops.call("put", 1);
+        assertEquals(4, sent.size());
+        assertEquals(0, stats.coalescedReads);
+
+        ReadCoalescer selectsOnly = new ReadCoalescer(stats, Collections.emptySet());
+        for (int i = 0; i < 2; i++) {
+            selectsOnly.exec(Code.CALL, new Object[] {Key.FUNCTION, "get", Key.TUPLE, new Object[0]}, () -> {
+                CompletableFuture<List<?>> future = new CompletableFuture<>();
+                sent.add(future);
+                return future;
+            });
+        }
+        assertEquals(6, sent.size());
+        assertEquals(0, stats.coalescedReads);
+    }
+
+    @Test
+    @DisplayName("did not coalesce writes")
+    public void testWrites() {
+        ops.replace(1, Arrays.asList(1, "a"));
+        ops.replace(1, Arrays.asList(1, "a"));
+        assertEquals(2, sent.size());
+        assertEquals(0, stats.coalescedReads);
+    }
+
+    @Test
+    @DisplayName("did not join reads sent before a write")
+    public void testReadYourWrites() {
+        final CompletionStage<List<?>> before = select(1);
+        final CompletionStage<List<?>> otherSpace = ops.select(513, 0, Collections.singletonList(1), 0, 1, Iterator.EQ);
+        ops.call("get", 1);
+        ops.replace(512, Arrays.asList(1, "b"));
+        assertEquals(4, sent.size());
+
+        final CompletionStage<List<?>> after = select(1);
+        ops.select(513, 0, Collections.singletonList(1), 0, 1, Iterator.EQ);
+        ops.call("get", 1);
+        assertEquals(6, sent.size());
+        assertEquals(1, stats.coalescedReads);
+
+        List<?> stale = Collections.singletonList(Arrays.asList(1, "a"));
+        List<?> fresh = Collections.singletonList(Arrays.asList(1, "b"));
+        sent.get(0).complete(stale);
+        sent.get(4).complete(fresh);
+        assertEquals(stale, before.toCompletableFuture().join());
+        assertEquals(fresh, after.toCompletableFuture().join());
+        assertFalse(otherSpace.toCompletableFuture().isDone());
+
+        ops.eval("box.space.other:truncate()");
+        ops.select(513, 0, Collections.singletonList(1), 0, 1, Iterator.EQ);
+        assertEquals(8, sent.size());
+        assertEquals(1, stats.coalescedReads);
+    }
+
+    private CompletionStage<List<?>> select(int key) {
+        return ops.select(512, 0, Collections.singletonList(key), 0, 1, Iterator.EQ);
+    }
+
+    private final class Ops extends AbstractTarantoolOps<Integer, List<?>, Object, CompletionStage<List<?>>> {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected CompletionStage<List<?>> exec(Code code, Object... args) {
+            return (CompletionStage<List<?>>) coalescer.exec(code, args, () -> {
+                CompletableFuture<List<?>> future = new CompletableFuture<>();
+                sent.add(future);
+                return future;
+            });
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
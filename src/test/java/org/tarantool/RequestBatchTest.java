@@ -0,0 +1,169 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.tarantool.protocol.ProtoUtils;
+import org.tarantool.protocol.TarantoolPacket;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.Arrays;
+import java.util.List;
+
+@DisplayName("A request batch")
+class RequestBatchTest {
+
+    @Test
+    @DisplayName("wrote a large binary argument without copying it")
+    public void testBinaryReference() throws IOException {
+        byte[] payload = new byte[1000];
+        Arrays.fill(payload, (byte) 7);
+        RequestFrame frame = new RequestFrame(64, 512);
+        ProtoUtils.writePacket(frame.output(), MsgPackLite.INSTANCE, Code.INSERT, 1L, null,
+            Key.SPACE, 512, Key.TUPLE, Arrays.asList(payload, 1));
+        frame.complete();
+
+        assertEquals(3, frame.partCount());
+        assertSame(payload, frame.parts()[1].array());
+
+        ByteBuffer sent = writeBatch(frame);
+        assertEquals(frame.size(), sent.remaining());
+        TarantoolPacket packet = decode(sent);
+        List<?> tuple = (List<?>) packet.getBody().get(Key.TUPLE.getId());
+        assertArrayEquals(payload, (byte[]) tuple.get(0));
+    }
+
+    @Test
+    @DisplayName("resumed a partially written batch")
+    public void testPartialWrite() throws IOException {
+        RequestBatch batch = new RequestBatch();
+        for (long i = 0; i < 5; i++) {
+            RequestFrame frame = new RequestFrame(16);
+            ProtoUtils.writePacket(frame.output(), MsgPackLite.INSTANCE, Code.PING, i, null);
+            frame.complete();
+            assertTrue(batch.add(frame));
+        }
+        LimitedChannel channel = new LimitedChannel(7);
+        int calls = 0;
+        while (!batch.write(channel)) {
+            channel.allow(7);
+            calls++;
+        }
+        assertTrue(calls > 0);
+        batch.recycle(new RequestFramePool(16, 0));
+        assertTrue(batch.isEmpty());
+
+        ByteBuffer sent = channel.content();
+        for (long i = 0; i < 5; i++) {
+            assertEquals(i, ((Number) decode(sent).getHeaders().get(Key.SYNC.getId())).longValue());
+        }
+        assertFalse(sent.hasRemaining());
+    }
+
+    @Test
+    @DisplayName("dropped a request which failed to be encoded")
+    public void testRollback() throws IOException {
+        byte[] payload = new byte[1000];
+        RequestFrame frame = new RequestFrame(64, 512);
+        ProtoUtils.writePacket(frame.output(), MsgPackLite.INSTANCE, Code.INSERT, 1L, null,
+            Key.SPACE, 512, Key.TUPLE, Arrays.asList(payload, 1));
+        long mark = frame.mark();
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> ProtoUtils.writePacket(frame.output(), MsgPackLite.INSTANCE, Code.INSERT, 2L, null,
+                Key.SPACE, 512, Key.TUPLE, Arrays.asList(payload, new Object()))
+        );
+        frame.rollback(mark);
+        ProtoUtils.writePacket(frame.output(), MsgPackLite.INSTANCE, Code.PING, 3L, null);
+        frame.complete();
+
+        ByteBuffer sent = writeBatch(frame);
+        assertEquals(frame.size(), sent.remaining());
+        assertEquals(1L, ((Number) decode(sent).getHeaders().get(Key.SYNC.getId())).longValue());
+        assertEquals(3L, ((Number) decode(sent).getHeaders().get(Key.SYNC.getId())).longValue());
+        assertFalse(sent.hasRemaining());
+    }
+
+    private static ByteBuffer writeBatch(RequestFrame frame) throws IOException {
+        RequestBatch batch = new RequestBatch();
+        batch.add(frame);
+        LimitedChannel channel = new LimitedChannel(Integer.MAX_VALUE);
+        batch.writeFully(channel);
+        return channel.content();
+    }
+
+    private static TarantoolPacket decode(ByteBuffer buffer) throws IOException {
+        int size = buffer.getInt(buffer.position() + 1);
+        ByteBuffer packet = buffer.duplicate();
+        packet.position(buffer.position() + ProtoUtils.LENGTH_OF_SIZE_MESSAGE);
+        packet.limit(packet.position() + size);
+        buffer.position(packet.limit());
+        return ProtoUtils.decodePacket(packet);
+    }
+
+    /**
+     * Accepts a limited amount of bytes until more are allowed.
+     */
+    private static class LimitedChannel implements GatheringByteChannel {
+
+        private final ByteBuffer content = ByteBuffer.allocate(64 * 1024);
+        private long allowed;
+
+        LimitedChannel(long allowed) {
+            this.allowed = allowed;
+        }
+
+        void allow(long bytes) {
+            allowed += bytes;
+        }
+
+        ByteBuffer content() {
+            ByteBuffer result = content.duplicate();
+            result.flip();
+            return result;
+        }
+
+        @Override
+        public long write(ByteBuffer[] sources, int offset, int length) {
+            long written = 0;
+            for (int i = offset; i < offset + length && allowed > 0; i++) {
+                while (sources[i].hasRemaining() && allowed > 0) {
+                    content.put(sources[i].get());
+                    allowed--;
+                    written++;
+                }
+            }
+            return written;
+        }
+
+        @Override
+        public long write(ByteBuffer[] sources) {
+            return write(sources, 0, sources.length);
+        }
+
+        @Override
+        public int write(ByteBuffer source) {
+            return (int) write(new ByteBuffer[] {source});
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
@@ -0,0 +1,88 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+@DisplayName("A request queue")
+class RequestQueueTest {
+
+    @Test
+    @DisplayName("limited queued bytes")
+    public void testByteCapacity() {
+        RequestQueue queue = new RequestQueue(100);
+        assertTrue(queue.offer(frame(60)));
+        assertFalse(queue.offer(frame(50)));
+        assertTrue(queue.offer(frame(40)));
+
+        assertEquals(60, queue.poll().size());
+        assertTrue(queue.offer(frame(50)));
+    }
+
+    @Test
+    @DisplayName("accepted an oversized request when it was empty")
+    public void testOversizedRequest() {
+        RequestQueue queue = new RequestQueue(100);
+        RequestFrame large = frame(500);
+        assertTrue(queue.offer(large));
+        assertFalse(queue.offer(frame(1)));
+        assertSame(large, queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    private static RequestFrame frame(int size) {
+        RequestFrame frame = new RequestFrame(size);
+        frame.output().skip(size);
+        frame.complete();
+        return frame;
+    }
+
+    @Test
+    @DisplayName("delivered requests of concurrent producers in order")
+    public void testConcurrentProducers() throws Exception {
+        final int producers = 8;
+        final int requests = 10000;
+        RequestQueue queue = new RequestQueue(1024);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < requests; i++) {
+                    RequestFrame request = new RequestFrame(8);
+                    request.output().writeInt(producer);
+                    request.output().writeInt(i);
+                    request.complete();
+                    while (!queue.offer(request)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        int[] next = new int[producers];
+        for (int received = 0; received < producers * requests; received++) {
+            queue.awaitNotEmpty();
+            ByteBuffer request = queue.poll().parts()[0];
+            int producer = request.getInt();
+            assertEquals(next[producer]++, request.getInt());
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+}
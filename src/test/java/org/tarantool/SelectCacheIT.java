@@ -0,0 +1,60 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the select cache of {@link TarantoolClientImpl} class
+ * used along with the schema.
+ */
+public class SelectCacheIT extends AbstractTarantoolConnectorIT {
+
+    private TarantoolSelectCache cache;
+    private TarantoolClientImpl client;
+
+    @BeforeEach
+    public void setup() {
+        TarantoolClientConfig config = makeClientConfig();
+        config.useSchema = true;
+        cache = new TarantoolSelectCache(100, 1000).cacheSpace(SPACE_ID, 0, TimeUnit.SECONDS);
+        config.selectCache = cache;
+        client = new TarantoolClientImpl(socketChannelProvider, config);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        consoleDelete(SPACE_NAME, 10);
+        client.close();
+    }
+
+    @Test
+    public void testWriteByName() {
+        List<?> key = Collections.singletonList(10);
+        assertEquals(Collections.emptyList(), client.syncOps().select(SPACE_ID, PK_INDEX_ID, key, 0, 1, Iterator.EQ));
+
+        client.namedSyncOps().insert(SPACE_NAME, Arrays.asList(10, "ten"));
+        assertEquals(1, cache.getInvalidations());
+        assertEquals(0, cache.size());
+
+        List<?> result = client.syncOps().select(SPACE_ID, PK_INDEX_ID, key, 0, 1, Iterator.EQ);
+        checkTupleResult(result, Arrays.asList(10, "ten"));
+    }
+
+    @Test
+    public void testReadByName() {
+        List<?> key = Collections.singletonList(1);
+        client.syncOps().select(SPACE_ID, PK_INDEX_ID, key, 0, 1, Iterator.EQ);
+        List<?> result = client.namedSyncOps().select(SPACE_NAME, "pk", key, 0, 1, Iterator.EQ);
+        checkTupleResult(result, Arrays.asList(1, "one"));
+        assertEquals(1, cache.getHits());
+    }
+
+}
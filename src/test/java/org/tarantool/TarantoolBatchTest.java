@@ -0,0 +1,84 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@DisplayName("A batch")
+class TarantoolBatchTest {
+
+    @Test
+    @DisplayName("passed all the collected operations to the executor at once")
+    public void testSubmit() {
+        List<Code> sentCodes = new ArrayList<>();
+        TarantoolBatch batch = new TarantoolBatch((codes, args) -> {
+            sentCodes.addAll(codes);
+            List<CompletableFuture<?>> futures = new ArrayList<>();
+            for (Object[] arg : args) {
+                futures.add(CompletableFuture.completedFuture(Collections.singletonList(arg.length)));
+            }
+            return futures;
+        });
+        batch.insert(1, Arrays.asList(1, "a"))
+            .select(1, 0, Collections.singletonList(1), 0, 1, Iterator.EQ)
+            .eval("return 1");
+        assertEquals(3, batch.size());
+
+        TarantoolBatch.Result result = batch.submit();
+        assertEquals(Arrays.asList(Code.INSERT, Code.SELECT, Code.EVAL), sentCodes);
+        assertEquals(3, result.getFutures().size());
+        assertEquals(
+            Arrays.asList(Collections.singletonList(4), Collections.singletonList(12), Collections.singletonList(4)),
+            result.getCompletionStage().toCompletableFuture().join()
+        );
+        assertThrows(IllegalStateException.class, () -> batch.eval("return 2"));
+        assertThrows(IllegalStateException.class, batch::submit);
+    }
+
+    @Test
+    @DisplayName("called functions by the code the client is configured to use")
+    public void testCallCode() {
+        List<Code> sentCodes = new ArrayList<>();
+        TarantoolBatch.Executor executor = (codes, args) -> {
+            sentCodes.addAll(codes);
+            return Collections.nCopies(codes.size(), CompletableFuture.completedFuture(Collections.emptyList()));
+        };
+        TarantoolClientConfig config = new TarantoolClientConfig();
+        TarantoolBatch.create(config, executor).call("f").submit();
+        config.useNewCall = true;
+        TarantoolBatch.create(config, executor).call("f").submit();
+
+        assertEquals(Arrays.asList(Code.OLD_CALL, Code.CALL), sentCodes);
+    }
+
+    @Test
+    @DisplayName("kept errors of operations separate")
+    public void testPartialFailure() {
+        CompletableFuture<List<?>> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new TarantoolException(1, "error"));
+        TarantoolBatch batch = new TarantoolBatch(
+            (codes, args) -> Arrays.asList(CompletableFuture.completedFuture(Collections.emptyList()), failed)
+        );
+        TarantoolBatch.Result result = batch.eval("return 1").eval("error()").submit();
+
+        assertFalse(result.getFutures().get(0).isCompletedExceptionally());
+        assertTrue(result.getFutures().get(1).isCompletedExceptionally());
+        CompletionException e = assertThrows(
+            CompletionException.class,
+            () -> result.getCompletionStage().toCompletableFuture().join()
+        );
+        assertTrue(e.getCause() instanceof TarantoolException);
+    }
+
+}
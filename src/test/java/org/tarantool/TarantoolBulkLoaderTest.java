@@ -0,0 +1,199 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+@DisplayName("A bulk loader")
+class TarantoolBulkLoaderTest {
+
+    private static final TarantoolException READ_ONLY =
+        new TarantoolException(
+            TarantoolException.ERROR_TYPE_MARKER | TarantoolException.ERR_READONLY, "Instance is read-only"
+        );
+
+    @Test
+    @DisplayName("retried transient errors with a growing backoff")
+    public void testRetry() {
+        LoaderOps ops = new LoaderOps(attempt -> attempt < 2 ? failed(READ_ONLY) : succeeded());
+        try (TarantoolBulkLoader loader = new TarantoolBulkLoader(ops, 512, 16, 5, 1000)) {
+            loader.insert(Arrays.asList(1, "a"));
+            loader.flush();
+            assertEquals(1, loader.getLoaded());
+            assertEquals(2, loader.getRetries());
+            assertEquals(0, loader.getFailed());
+        }
+        assertEquals(Arrays.asList(Code.INSERT, Code.INSERT, Code.INSERT), ops.codes);
+        assertTrue(ops.sentAt.get(1) - ops.sentAt.get(0) >= TimeUnit.MILLISECONDS.toNanos(10));
+        assertTrue(ops.sentAt.get(2) - ops.sentAt.get(1) >= TimeUnit.MILLISECONDS.toNanos(20));
+    }
+
+    @Test
+    @DisplayName("passed permanent errors and exhausted retries to the failure handler")
+    public void testFailures() {
+        TarantoolException duplicate = new TarantoolException(3, "Duplicate key exists");
+        LoaderOps ops = new LoaderOps(attempt -> failed(READ_ONLY));
+        List<List<?>> failedTuples = new CopyOnWriteArrayList<>();
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        try (TarantoolBulkLoader loader = new TarantoolBulkLoader(ops, 512, 16, 2, 1000)) {
+            loader.setFailureHandler((tuple, error) -> {
+                failedTuples.add(tuple);
+                errors.add(error);
+                throw new IllegalStateException("Handler must not break the loading");
+            });
+            loader.replace(Collections.singletonList(1));
+            loader.flush();
+            assertEquals(0, loader.getLoaded());
+            assertEquals(2, loader.getRetries());
+            assertEquals(1, loader.getFailed());
+
+            ops.outcome = attempt -> failed(duplicate);
+            loader.upsert(Collections.singletonList(2), Arrays.asList("=", 1, 2));
+            loader.flush();
+            assertEquals(2, loader.getRetries());
+            assertEquals(2, loader.getFailed());
+        }
+        assertEquals(Arrays.asList(Collections.singletonList(1), Collections.singletonList(2)), failedTuples);
+        assertSame(READ_ONLY, errors.get(0));
+        assertSame(duplicate, errors.get(1));
+        assertEquals(Arrays.asList(Code.REPLACE, Code.REPLACE, Code.REPLACE, Code.UPSERT), ops.codes);
+    }
+
+    @Test
+    @DisplayName("retried timed out replaces and reported timed out inserts as indeterminate")
+    public void testTimeouts() {
+        LoaderOps ops = new LoaderOps(attempt -> failed(new TimeoutException("Operation timed out")));
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        try (TarantoolBulkLoader loader = new TarantoolBulkLoader(ops, 512, 16, 2, 1000)) {
+            loader.setFailureHandler((tuple, error) -> errors.add(error));
+            loader.insert(Collections.singletonList(1));
+            loader.flush();
+            assertEquals(0, loader.getRetries());
+            assertEquals(0, loader.getFailed());
+            assertEquals(1, loader.getIndeterminate());
+
+            loader.replace(Collections.singletonList(2));
+            loader.flush();
+            assertEquals(2, loader.getRetries());
+            assertEquals(1, loader.getFailed());
+            assertEquals(1, loader.getIndeterminate());
+
+            ops.outcome = attempt -> attempt == 4 ? failed(new RejectedExecutionException("Limit")) : succeeded();
+            loader.insert(Collections.singletonList(3));
+            loader.flush();
+            assertEquals(3, loader.getRetries());
+            assertEquals(1, loader.getLoaded());
+        }
+        assertEquals(2, errors.size());
+        assertTrue(errors.get(0) instanceof TimeoutException);
+        assertEquals(Arrays.asList(Code.INSERT, Code.REPLACE, Code.REPLACE, Code.REPLACE, Code.INSERT, Code.INSERT),
+            ops.codes);
+    }
+
+    @Test
+    @DisplayName("waited for retried operations on flush and close")
+    public void testFlushWaitsForRetries() {
+        LoaderOps ops = new LoaderOps(attempt -> attempt % 2 == 0 ? failed(READ_ONLY) : succeeded());
+        TarantoolBulkLoader loader = new TarantoolBulkLoader(ops, 512, 16, 5, 1000);
+        loader.insert(Collections.singletonList(1));
+        loader.flush();
+        assertEquals(1, loader.getLoaded());
+        assertEquals(2, ops.codes.size());
+
+        loader.insert(Collections.singletonList(2));
+        loader.close();
+        assertEquals(2, loader.getLoaded());
+        assertEquals(4, ops.codes.size());
+        assertThrows(IllegalStateException.class, () -> loader.insert(Collections.singletonList(3)));
+    }
+
+    @Test
+    @DisplayName("blocked producers while the window was full")
+    public void testWindow() throws InterruptedException {
+        BlockingQueue<CompletableFuture<List<?>>> pending = new LinkedBlockingQueue<>();
+        LoaderOps ops = new LoaderOps(attempt -> {
+            CompletableFuture<List<?>> result = new CompletableFuture<>();
+            pending.add(result);
+            return result;
+        });
+        TarantoolBulkLoader loader = new TarantoolBulkLoader(ops, 512, 2, 0, 1000);
+        assertEquals(2, loader.getWindow());
+        loader.insert(Collections.singletonList(1));
+        loader.insert(Collections.singletonList(2));
+
+        Thread producer = new Thread(() -> loader.insert(Collections.singletonList(3)));
+        producer.start();
+        producer.join(100);
+        assertTrue(producer.isAlive());
+        assertEquals(2, ops.codes.size());
+
+        pending.take().complete(Collections.emptyList());
+        producer.join(5000);
+        assertFalse(producer.isAlive());
+        assertEquals(3, ops.codes.size());
+
+        List<CompletableFuture<List<?>>> rest = new ArrayList<>();
+        pending.drainTo(rest);
+        rest.forEach(result -> result.complete(Collections.emptyList()));
+        loader.close();
+        assertEquals(3, loader.getLoaded());
+    }
+
+    private static CompletionStage<List<?>> succeeded() {
+        return CompletableFuture.completedFuture(Collections.emptyList());
+    }
+
+    private static CompletionStage<List<?>> failed(Throwable error) {
+        CompletableFuture<List<?>> result = new CompletableFuture<>();
+        result.completeExceptionally(error);
+        return result;
+    }
+
+    /**
+     * Completes operations by an outcome of their attempt number.
+     */
+    private static class LoaderOps
+        extends AbstractTarantoolOps<Integer, List<?>, Object, CompletionStage<List<?>>> {
+
+        final List<Code> codes = new CopyOnWriteArrayList<>();
+        final List<Long> sentAt = new CopyOnWriteArrayList<>();
+        volatile Function<Integer, CompletionStage<List<?>>> outcome;
+
+        LoaderOps(Function<Integer, CompletionStage<List<?>>> outcome) {
+            this.outcome = outcome;
+        }
+
+        @Override
+        protected CompletionStage<List<?>> exec(Code code, Object... args) {
+            int attempt = codes.size();
+            sentAt.add(System.nanoTime());
+            codes.add(code);
+            return outcome.apply(attempt);
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
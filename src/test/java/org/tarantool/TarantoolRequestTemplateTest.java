@@ -0,0 +1,60 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.tarantool.protocol.ByteBufferOutputStream;
+import org.tarantool.protocol.ProtoUtils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+@DisplayName("A request template")
+class TarantoolRequestTemplateTest {
+
+    @Test
+    @DisplayName("made the same packets as encoding all the arguments")
+    public void testPacket() throws IOException {
+        TarantoolRequestTemplate[] templates = {
+            TarantoolRequestTemplate.select(512, 0, Iterator.EQ, 0, 1),
+            TarantoolRequestTemplate.replace(300),
+            TarantoolRequestTemplate.call("box.info"),
+        };
+        Object[] values = {Collections.singletonList(70000), Arrays.asList(1, "a", 2.5), Collections.emptyList()};
+        for (int i = 0; i < templates.length; i++) {
+            TarantoolRequestTemplate template = templates[i];
+            ByteBufferOutputStream expected = new ByteBufferOutputStream(64, false);
+            ProtoUtils.writePacket(
+                expected, MsgPackLite.INSTANCE, template.getCode(), 100000L + i, null, template.args(values[i])
+            );
+            ByteBufferOutputStream actual = new ByteBufferOutputStream(64, false);
+            ProtoUtils.writePacket(
+                actual, MsgPackLite.INSTANCE,
+                template.getHeaderPrefix(), 100000L + i, template.getBodyPrefix(), values[i]
+            );
+            assertEquals(expected.flip(), actual.flip());
+        }
+    }
+
+    @Test
+    @DisplayName("rejected malformed constants")
+    public void testInvalidConstants() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> TarantoolRequestTemplate.of(Code.SELECT, Key.KEY, Key.SPACE)
+        );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> TarantoolRequestTemplate.of(Code.SELECT, Key.KEY, Key.KEY, Collections.emptyList())
+        );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> TarantoolRequestTemplate.of(Code.INSERT, Key.TUPLE, Key.SPACE, new Object())
+        );
+    }
+
+}
@@ -0,0 +1,258 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+@DisplayName("A scan")
+class TarantoolScanTest {
+
+    @Test
+    @DisplayName("read a whole index by key-based pages")
+    public void testFullScan() {
+        SpaceOps ops = new SpaceOps(1000);
+        List<Long> ids = new TarantoolScan(ops, 512, 0, 0)
+            .pageSize(64)
+            .prefetchPages(3)
+            .stream()
+            .map(tuple -> ((Number) tuple.get(0)).longValue())
+            .collect(Collectors.toList());
+
+        assertEquals(1000, ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(i, ids.get(i).longValue());
+        }
+        assertEquals(16, ops.requests.get());
+        assertTrue(ops.pagedByKey);
+    }
+
+    @Test
+    @DisplayName("read a descending range")
+    public void testDescendingRange() {
+        SpaceOps ops = new SpaceOps(100);
+        List<Object> ids = new ArrayList<>();
+        for (List<?> tuple : new TarantoolScan(ops, 512, 0, 0).range(Collections.singletonList(10), Iterator.LE)
+            .pageSize(3)) {
+            ids.add(tuple.get(0));
+        }
+        assertEquals(Arrays.asList(10L, 9L, 8L, 7L, 6L, 5L, 4L, 3L, 2L, 1L, 0L), ids);
+    }
+
+    @Test
+    @DisplayName("stopped at the end of an equal key prefix")
+    public void testPrefix() {
+        SpaceOps ops = new SpaceOps(100);
+        List<?> tuples = new TarantoolScan(ops, 512, 1, 1, 0)
+            .range(Collections.singletonList(3), Iterator.EQ)
+            .pageSize(4)
+            .stream()
+            .collect(Collectors.toList());
+
+        assertEquals(10, tuples.size());
+        for (Object tuple : tuples) {
+            assertEquals(3L, ((List<?>) tuple).get(1));
+        }
+    }
+
+    @Test
+    @DisplayName("read duplicate keys of a non-unique index across pages by the extended key")
+    public void testNonUniqueIndex() {
+        SpaceOps ops = new SpaceOps(100);
+        List<?> tuples = new TarantoolScan(ops, 512, 1, 1, 0)
+            .pageSize(7)
+            .stream()
+            .collect(Collectors.toList());
+
+        assertEquals(100, tuples.size());
+        for (int i = 0; i < tuples.size(); i++) {
+            List<?> tuple = (List<?>) tuples.get(i);
+            assertEquals(i / 10, ((Number) tuple.get(1)).intValue());
+            assertEquals(i % 10 * 10 + i / 10, ((Number) tuple.get(0)).intValue());
+        }
+        assertTrue(ops.pagedByKey);
+
+        java.util.Iterator<List<?>> scan = new TarantoolScan(ops, 512, 1, 1).pageSize(7).iterator();
+        CommunicationException e = assertThrows(CommunicationException.class, () -> {
+            while (scan.hasNext()) {
+                scan.next();
+            }
+        });
+        assertTrue(e.getCause() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    @DisplayName("read key ranges in parallel keeping the order")
+    public void testPartitioned() {
+        SpaceOps ops = new SpaceOps(1000);
+        List<List<?>> splitPoints = Arrays.asList(
+            Collections.singletonList(250), Collections.singletonList(500), Collections.singletonList(750)
+        );
+        List<Long> ids = new TarantoolScan(ops, 512, 0, 0)
+            .pageSize(100)
+            .partitionedStream(splitPoints)
+            .parallel()
+            .map(tuple -> ((Number) tuple.get(0)).longValue())
+            .collect(Collectors.toList());
+
+        assertEquals(1000, ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(i, ids.get(i).longValue());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new TarantoolScan(ops, 512, 0, 0)
+            .partitionedStream(Arrays.asList(Collections.singletonList(2), Collections.singletonList(1))));
+    }
+
+    @Test
+    @DisplayName("picked ascending split points from sampled tuples")
+    public void testSampleSplitPoints() {
+        List<List<?>> points = new TarantoolScan(new SpaceOps(1000), 512, 0, 0).sampleSplitPoints(4);
+
+        assertEquals(3, points.size());
+        for (int i = 1; i < points.size(); i++) {
+            assertTrue(TarantoolScan.compareKeys(points.get(i - 1), points.get(i)) < 0);
+        }
+        assertTrue(new TarantoolScan(new SpaceOps(0), 512, 0, 0).sampleSplitPoints(4).isEmpty());
+    }
+
+    @Test
+    @DisplayName("reported a failed page request")
+    public void testFailure() {
+        java.util.Iterator<List<?>> scan = new TarantoolScan(new SpaceOps(0) {
+            @Override
+            protected CompletionStage<List<?>> exec(Code code, Object... args) {
+                CompletableFuture<List<?>> failed = new CompletableFuture<>();
+                failed.completeExceptionally(new TarantoolException(36, "No such space"));
+                return failed;
+            }
+        }, 512, 0, 0).iterator();
+
+        assertThrows(CommunicationException.class, scan::hasNext);
+    }
+
+    @Test
+    @DisplayName("finished an empty space")
+    public void testEmpty() {
+        assertFalse(new TarantoolScan(new SpaceOps(0), 512, 0, 0).iterator().hasNext());
+    }
+
+    /**
+     * Serves selects from tuples {@code [id, id % 10]} ordered by
+     * the secondary index {@code [id % 10, id]} if the index id is
+     * not zero and by the id otherwise.
+     */
+    private static class SpaceOps
+        extends AbstractTarantoolOps<Integer, List<?>, Object, CompletionStage<List<?>>> {
+
+        final List<List<Long>> tuples = new ArrayList<>();
+        final AtomicInteger requests = new AtomicInteger();
+        volatile boolean pagedByKey = true;
+
+        SpaceOps(int size) {
+            for (long i = 0; i < size; i++) {
+                tuples.add(Arrays.asList(i, i % 10));
+            }
+        }
+
+        @Override
+        protected CompletionStage<List<?>> exec(Code code, Object... args) {
+            if (code == Code.EVAL) {
+                int count = (Integer) ((Object[]) args[3])[2];
+                return CompletableFuture.completedFuture(Collections.singletonList(sample(count)));
+            }
+            requests.incrementAndGet();
+            int index = (Integer) args[3];
+            List<?> key = (List<?>) args[5];
+            Iterator iterator = Iterator.values()[(Integer) args[7]];
+            int limit = (Integer) args[9];
+            if ((Integer) args[11] != 0 || requests.get() > 1 && iterator != Iterator.GT && iterator != Iterator.LT) {
+                pagedByKey = false;
+            }
+            return CompletableFuture.supplyAsync(() -> select(index, key, iterator, limit));
+        }
+
+        private List<?> select(int index, List<?> key, Iterator iterator, int limit) {
+            List<List<Long>> sorted = new ArrayList<>(tuples);
+            sorted.sort((a, b) -> compare(keyOf(index, a), keyOf(index, b)));
+            boolean descending = iterator == Iterator.LE || iterator == Iterator.LT || iterator == Iterator.REQ;
+            if (descending) {
+                Collections.reverse(sorted);
+            }
+            List<Object> result = new ArrayList<>();
+            for (List<Long> tuple : sorted) {
+                int cmp = compare(keyOf(index, tuple), key);
+                boolean matches;
+                switch (iterator) {
+                case EQ:
+                case REQ:
+                    matches = cmp == 0;
+                    break;
+                case GE:
+                    matches = cmp >= 0;
+                    break;
+                case GT:
+                    matches = cmp > 0;
+                    break;
+                case LE:
+                    matches = cmp <= 0;
+                    break;
+                case LT:
+                    matches = cmp < 0;
+                    break;
+                default:
+                    matches = true;
+                }
+                if (matches && result.size() < limit) {
+                    result.add(tuple);
+                }
+            }
+            return result;
+        }
+
+        private List<?> sample(int count) {
+            List<Object> sample = new ArrayList<>();
+            Random random = new Random(1);
+            for (int i = 0; i < count && !tuples.isEmpty(); i++) {
+                sample.add(tuples.get(random.nextInt(tuples.size())));
+            }
+            return sample;
+        }
+
+        private List<Long> keyOf(int index, List<Long> tuple) {
+            return index == 0 ? Collections.singletonList(tuple.get(0)) : Arrays.asList(tuple.get(1), tuple.get(0));
+        }
+
+        /**
+         * Compares by the common prefix of the keys, so
+         * a partial key matches all the tuples it starts.
+         */
+        private static int compare(List<?> a, List<?> b) {
+            for (int i = 0; i < Math.min(a.size(), b.size()); i++) {
+                int cmp = Long.compare(((Number) a.get(i)).longValue(), ((Number) b.get(i)).longValue());
+                if (cmp != 0) {
+                    return cmp;
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
@@ -0,0 +1,89 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@DisplayName("A schema")
+class TarantoolSchemaTest {
+
+    private final TarantoolSchema schema = TarantoolSchema.parse(
+        7,
+        Arrays.asList(
+            Arrays.asList(281, 1, "_vspace", "sysview", 0, new HashMap<>(), Collections.emptyList()),
+            Arrays.asList(512, 1, "users", "memtx", 0, new HashMap<>(), Arrays.asList(field("id"), field("name")))
+        ),
+        Arrays.asList(
+            Arrays.asList(512, 0, "pk", "tree"),
+            Arrays.asList(512, 1, "by_name", "tree")
+        )
+    );
+
+    @Test
+    @DisplayName("resolved spaces, indexes and fields")
+    public void testLookup() {
+        assertEquals(7, schema.getVersion());
+        assertEquals(512, schema.getSpaceId("users"));
+        assertEquals(1, schema.getIndexId(512, "by_name"));
+        assertEquals(1, schema.getFieldNumber(512, "name"));
+        assertEquals(Arrays.asList("id", "name"), schema.getFieldNames(512));
+
+        TarantoolException error = assertThrows(TarantoolException.class, () -> schema.getSpaceId("nope"));
+        assertEquals(TarantoolSchema.ERR_NO_SUCH_SPACE, error.getCode());
+        error = assertThrows(TarantoolException.class, () -> schema.getIndexId(512, "nope"));
+        assertEquals(TarantoolSchema.ERR_NO_SUCH_INDEX, error.getCode());
+        error = assertThrows(TarantoolException.class, () -> schema.getFieldNumber(512, "nope"));
+        assertEquals(TarantoolSchema.ERR_NO_SUCH_FIELD, error.getCode());
+    }
+
+    @Test
+    @DisplayName("replaced names in operation arguments")
+    public void testResolve() {
+        Object[] select = {
+            Key.SPACE, "users", Key.INDEX, "by_name", Key.KEY, Collections.singletonList("a"),
+            Key.ITERATOR, 0, Key.LIMIT, 1, Key.OFFSET, 0
+        };
+        Object[] resolved = schema.resolve(Code.SELECT, select);
+        assertEquals(512, resolved[1]);
+        assertEquals(1, resolved[3]);
+        assertEquals("users", select[1]);
+
+        Object[] update = {
+            Key.SPACE, "users", Key.KEY, Collections.singletonList(1),
+            Key.TUPLE, new Object[] {Arrays.asList("=", "name", "b"), new Object[] {"+", 0, 1}}
+        };
+        Object[] operations = (Object[]) schema.resolve(Code.UPDATE, update)[5];
+        assertEquals(Arrays.asList("=", 1, "b"), operations[0]);
+        assertArrayEquals(new Object[] {"+", 0, 1}, (Object[]) operations[1]);
+    }
+
+    @Test
+    @DisplayName("kept arguments without names as they are")
+    public void testNoNames() {
+        Object[] select = {
+            Key.SPACE, 512, Key.INDEX, 0, Key.KEY, Collections.emptyList(),
+            Key.ITERATOR, 0, Key.LIMIT, 1, Key.OFFSET, 0
+        };
+        assertSame(select, schema.resolve(Code.SELECT, select));
+        Object[] call = {Key.FUNCTION, "users", Key.TUPLE, new Object[0]};
+        assertSame(call, schema.resolve(Code.CALL, call));
+    }
+
+    private static Map<String, Object> field(String name) {
+        Map<String, Object> field = new HashMap<>();
+        field.put("name", name);
+        field.put("type", "any");
+        return field;
+    }
+
+}
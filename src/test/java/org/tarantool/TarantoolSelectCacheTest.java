@@ -0,0 +1,172 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+@DisplayName("A select cache")
+class TarantoolSelectCacheTest {
+
+    private static final int CACHED = 512;
+    private static final int OTHER = 513;
+
+    private final List<Code> sent = new ArrayList<>();
+    private final List<CompletableFuture<List<?>>> pending = new ArrayList<>();
+    private boolean deferred;
+
+    @Test
+    @DisplayName("answered repeated selects of a cached space from the cache")
+    public void testHit() {
+        TarantoolSelectCache cache = new TarantoolSelectCache(100, 1000).cacheSpace(CACHED, 0, TimeUnit.SECONDS);
+        Ops ops = new Ops(cache);
+
+        List<?> first = select(ops, CACHED, 1);
+        assertEquals(first, select(ops, CACHED, 1));
+        select(ops, CACHED, 2);
+        select(ops, OTHER, 1);
+        select(ops, OTHER, 1);
+
+        assertEquals(4, sent.size());
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    @DisplayName("shared cached results which could not be modified")
+    public void testUnmodifiableResult() {
+        TarantoolSelectCache cache = new TarantoolSelectCache(100, 1000).cacheSpace(CACHED, 0, TimeUnit.SECONDS);
+        Ops ops = new Ops(cache);
+
+        List<?> first = select(ops, CACHED, 1);
+        first.clear();
+        List<?> cached = select(ops, CACHED, 1);
+        assertEquals(1, cached.size());
+        assertThrows(UnsupportedOperationException.class, cached::clear);
+        assertSame(cached, select(ops, CACHED, 1));
+        assertEquals(1, sent.size());
+    }
+
+    @Test
+    @DisplayName("dropped entries of a space written through the client")
+    public void testInvalidation() {
+        TarantoolSelectCache cache = new TarantoolSelectCache(100, 1000)
+            .cacheSpace(CACHED, 0, TimeUnit.SECONDS)
+            .cacheSpace(OTHER, 0, TimeUnit.SECONDS);
+        Ops ops = new Ops(cache);
+        select(ops, CACHED, 1);
+        select(ops, CACHED, 2);
+        select(ops, OTHER, 1);
+
+        ops.replace(CACHED, Arrays.asList(1, "b")).toCompletableFuture().join();
+        assertEquals(2, cache.getInvalidations());
+        assertEquals(1, cache.size());
+        select(ops, CACHED, 1);
+        select(ops, OTHER, 1);
+        assertEquals(1, cache.getHits());
+        assertEquals(4, cache.getMisses());
+    }
+
+    @Test
+    @DisplayName("did not keep a select result which raced with a write")
+    public void testRacingWrite() {
+        TarantoolSelectCache cache = new TarantoolSelectCache(100, 1000).cacheSpace(CACHED, 0, TimeUnit.SECONDS);
+        Ops ops = new Ops(cache);
+        deferred = true;
+        final CompletionStage<List<?>> select = ops.select(CACHED, 0, Collections.singletonList(1), 0, 1, Iterator.EQ);
+        ops.delete(CACHED, Collections.singletonList(1));
+        pending.get(0).complete(Collections.singletonList(Arrays.asList(1, "a")));
+        pending.get(1).complete(Collections.emptyList());
+        select.toCompletableFuture().join();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("evicted least recently used entries beyond the bounds")
+    public void testEviction() {
+        TarantoolSelectCache cache = new TarantoolSelectCache(3, 1000).cacheSpace(CACHED, 0, TimeUnit.SECONDS);
+        Ops ops = new Ops(cache);
+        select(ops, CACHED, 1);
+        select(ops, CACHED, 2);
+        select(ops, CACHED, 3);
+        select(ops, CACHED, 1);
+        select(ops, CACHED, 4);
+        assertEquals(1, cache.getEvictions());
+        select(ops, CACHED, 1);
+        select(ops, CACHED, 2);
+        assertEquals(2, cache.getHits());
+
+        TarantoolSelectCache weighted = new TarantoolSelectCache(100, 10)
+            .cacheSpace(CACHED, 0, TimeUnit.SECONDS)
+            .weigher(result -> 4);
+        ops = new Ops(weighted);
+        select(ops, CACHED, 1);
+        select(ops, CACHED, 2);
+        select(ops, CACHED, 3);
+        assertEquals(2, weighted.size());
+        assertEquals(8, weighted.getWeight());
+        assertEquals(1, weighted.getEvictions());
+    }
+
+    @Test
+    @DisplayName("expired entries after the space TTL")
+    public void testExpiration() throws InterruptedException {
+        TarantoolSelectCache cache = new TarantoolSelectCache(100, 1000)
+            .cacheSpace(CACHED, 20, TimeUnit.MILLISECONDS);
+        Ops ops = new Ops(cache);
+        select(ops, CACHED, 1);
+        select(ops, CACHED, 1);
+        Thread.sleep(50);
+        select(ops, CACHED, 1);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getExpirations());
+        assertEquals(2, sent.size());
+    }
+
+    private static List<?> select(Ops ops, int space, int key) {
+        return ops.select(space, 0, Collections.singletonList(key), 0, 1, Iterator.EQ).toCompletableFuture().join();
+    }
+
+    private CompletableFuture<?> server(Code code, Object[] args) {
+        sent.add(code);
+        CompletableFuture<List<?>> future = new CompletableFuture<>();
+        if (deferred) {
+            pending.add(future);
+        } else {
+            future.complete(new ArrayList<>(Collections.singletonList(Arrays.asList(args))));
+        }
+        return future;
+    }
+
+    private final class Ops extends AbstractTarantoolOps<Integer, List<?>, Object, CompletionStage<List<?>>> {
+
+        private final TarantoolSelectCache cache;
+
+        Ops(TarantoolSelectCache cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected CompletionStage<List<?>> exec(Code code, Object... args) {
+            return (CompletionStage<List<?>>) cache.exec(code, args, () -> server(code, args));
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
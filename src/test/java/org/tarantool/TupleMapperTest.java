@@ -0,0 +1,131 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.tarantool.protocol.ByteBufferOutputStream;
+import org.tarantool.protocol.MsgPackCursor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+@DisplayName("A tuple mapper")
+class TupleMapperTest {
+
+    @Test
+    @DisplayName("filled properties of all the supported types")
+    public void testProperties() throws IOException {
+        TupleMapper<User> mapper = TupleMapper.of(
+            User.class, "id", "user_name", "score", "rating", "active", "level", "flags", "balance", "tags", "avatar",
+            "attributes"
+        );
+        List<User> users = decode(mapper, Arrays.asList(
+            Arrays.asList(1, "a", 5_000_000_000L, 1.5, true, 3, -1, 10, Arrays.asList("x"), new byte[] {7},
+                Collections.singletonMap("k", "v")),
+            Arrays.asList(2, null, null, 2, false, null, null, null, null, null, null)
+        ));
+
+        User first = users.get(0);
+        assertEquals(1, first.id);
+        assertEquals("a", first.userName);
+        assertEquals(5_000_000_000L, first.score);
+        assertEquals(1.5, first.rating);
+        assertEquals(true, first.isActive());
+        assertEquals(3, first.level);
+        assertEquals(-1, first.flags);
+        assertEquals(Long.valueOf(10), first.balance);
+        assertEquals(Arrays.asList("x"), first.tags);
+        assertArrayEquals(new byte[] {7}, first.avatar);
+        assertEquals(Collections.singletonMap("k", "v"), first.attributes);
+
+        User second = users.get(1);
+        assertEquals(2, second.id);
+        assertNull(second.userName);
+        assertEquals(0, second.score);
+        assertEquals(2.0, second.rating);
+        assertNull(second.balance);
+        assertNull(second.tags);
+    }
+
+    @Test
+    @DisplayName("skipped fields without properties")
+    public void testSkippedFields() throws IOException {
+        TupleMapper<User> mapper = TupleMapper.of(User.class, null, "user_name");
+        List<User> users = decode(mapper, Collections.singletonList(
+            Arrays.asList(Arrays.asList(1, 2), "b", "extra", Collections.singletonMap(1, 2))
+        ));
+        assertEquals(0, users.get(0).id);
+        assertEquals("b", users.get(0).userName);
+
+        users = decode(mapper, Collections.singletonList(Collections.singletonList(5)));
+        assertNull(users.get(0).userName);
+    }
+
+    @Test
+    @DisplayName("rejected a class without suitable accessors")
+    public void testInvalidClass() {
+        assertThrows(IllegalArgumentException.class, () -> TupleMapper.of(User.class, "id", "unknown"));
+        assertThrows(IllegalArgumentException.class, () -> TupleMapper.of(Map.class, "id"));
+    }
+
+    private static <T> List<T> decode(TupleMapper<T> mapper, List<?> tuples) throws IOException {
+        ByteBufferOutputStream out = new ByteBufferOutputStream(64, false);
+        MsgPackLite.INSTANCE.pack(tuples, out);
+        return TupleMapper.listOf(mapper).decode(new MsgPackCursor(out.flip()));
+    }
+
+    public static class User {
+
+        public int id;
+        public long score;
+        public Long balance;
+        public List<String> tags;
+        public byte[] avatar;
+
+        private String userName;
+        private double rating;
+        private boolean active;
+        private short level;
+        private byte flags;
+        private Map<?, ?> attributes;
+
+        public void setUserName(String userName) {
+            this.userName = userName;
+        }
+
+        public User setRating(double rating) {
+            this.rating = rating;
+            return this;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public void setLevel(short level) {
+            this.level = level;
+        }
+
+        public void setFlags(byte flags) {
+            this.flags = flags;
+        }
+
+        public void setAttributes(Map<?, ?> attributes) {
+            this.attributes = attributes;
+        }
+
+    }
+
+}
@@ -0,0 +1,42 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+@DisplayName("A write coalescer")
+class WriteCoalescerTest {
+
+    private static final long MAX_LINGER = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("didn't linger without observed load")
+    public void testIdle() throws InterruptedException {
+        WriteCoalescer coalescer = new WriteCoalescer(MAX_LINGER, 1024);
+        assertEquals(0, coalescer.lingerNanos(10));
+
+        Thread.sleep(20);
+        coalescer.onFlush(1, 10);
+        assertEquals(0, coalescer.lingerNanos(10));
+    }
+
+    @Test
+    @DisplayName("lingered under load until the batch is filled")
+    public void testLoad() {
+        WriteCoalescer coalescer = new WriteCoalescer(MAX_LINGER, 1024 * 1024);
+        for (int i = 0; i < 10; i++) {
+            coalescer.onFlush(1000, 100_000);
+        }
+        long linger = coalescer.lingerNanos(100);
+        assertTrue(linger > 0);
+        assertTrue(linger <= MAX_LINGER);
+
+        assertEquals(0, coalescer.lingerNanos(1024 * 1024));
+        assertTrue(coalescer.isFilled(1024 * 1024));
+    }
+
+}
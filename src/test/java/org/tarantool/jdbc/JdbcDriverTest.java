@@ -8,13 +8,19 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.tarantool.jdbc.SQLDriver.PROP_HOST;
+import static org.tarantool.jdbc.SQLDriver.PROP_KEEP_ALIVE;
 import static org.tarantool.jdbc.SQLDriver.PROP_PASSWORD;
 import static org.tarantool.jdbc.SQLDriver.PROP_PORT;
+import static org.tarantool.jdbc.SQLDriver.PROP_RECEIVE_BUFFER_SIZE;
+import static org.tarantool.jdbc.SQLDriver.PROP_SEND_BUFFER_SIZE;
 import static org.tarantool.jdbc.SQLDriver.PROP_SOCKET_PROVIDER;
 import static org.tarantool.jdbc.SQLDriver.PROP_SOCKET_TIMEOUT;
+import static org.tarantool.jdbc.SQLDriver.PROP_TCP_NO_DELAY;
+import static org.tarantool.jdbc.SQLDriver.PROP_TRAFFIC_CLASS;
 import static org.tarantool.jdbc.SQLDriver.PROP_USER;
 
 import org.tarantool.CommunicationException;
+import org.tarantool.SocketOptions;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
@@ -91,6 +97,48 @@ public class JdbcDriverTest {
         // Check negative timeout
         checkParseQueryStringValidation(String.format("tarantool://0:3301?%s=-100", PROP_SOCKET_TIMEOUT), null,
             "Timeout must not be negative.");
+
+        // Check non-boolean socket option
+        checkParseQueryStringValidation(String.format("tarantool://0:3301?%s=yes", PROP_TCP_NO_DELAY), null,
+            "tcpNoDelay must be true or false.");
+
+        // Check negative buffer size
+        checkParseQueryStringValidation(String.format("tarantool://0:3301?%s=-1", PROP_SEND_BUFFER_SIZE), null,
+            "sendBufferSize must be positive.");
+
+        // Check zero buffer sizes
+        checkParseQueryStringValidation(String.format("tarantool://0:3301?%s=0", PROP_SEND_BUFFER_SIZE), null,
+            "sendBufferSize must be positive.");
+        checkParseQueryStringValidation(String.format("tarantool://0:3301?%s=0", PROP_RECEIVE_BUFFER_SIZE), null,
+            "receiveBufferSize must be positive.");
+
+        // Check non-number traffic class
+        checkParseQueryStringValidation(String.format("tarantool://0:3301?%s=nan", PROP_TRAFFIC_CLASS), null,
+            "trafficClass must be a valid number.");
+
+        // Check traffic class out of the octet
+        checkParseQueryStringValidation(String.format("tarantool://0:3301?%s=256", PROP_TRAFFIC_CLASS), null,
+            "Traffic class is out of range: 256");
+        checkParseQueryStringValidation(String.format("tarantool://0:3301?%s=-1", PROP_TRAFFIC_CLASS), null,
+            "Traffic class is out of range: -1");
+    }
+
+    @Test
+    public void testSocketOptions() throws Exception {
+        SQLDriver drv = new SQLDriver();
+        URI uri = new URI(String.format(
+            "tarantool://server.local:3302?%s=true&%s=false&%s=%d&%s=%d",
+            PROP_TCP_NO_DELAY, PROP_KEEP_ALIVE,
+            PROP_SEND_BUFFER_SIZE, 131072,
+            PROP_RECEIVE_BUFFER_SIZE, 262144)
+        );
+
+        SocketOptions options = SQLDriver.socketOptions(drv.parseQueryString(uri, null));
+        assertEquals(Boolean.TRUE, options.tcpNoDelay);
+        assertEquals(Boolean.FALSE, options.keepAlive);
+        assertEquals(Integer.valueOf(131072), options.sendBufferSize);
+        assertEquals(Integer.valueOf(262144), options.receiveBufferSize);
+        assertNull(options.trafficClass);
     }
 
     @Test
@@ -99,7 +147,7 @@ public class JdbcDriverTest {
         Properties props = new Properties();
         DriverPropertyInfo[] info = drv.getPropertyInfo("tarantool://server.local:3302", props);
         assertNotNull(info);
-        assertEquals(6, info.length);
+        assertEquals(11, info.length);
 
         for (DriverPropertyInfo e : info) {
             assertNotNull(e.name);
@@ -124,6 +172,13 @@ public class JdbcDriverTest {
             } else if (PROP_SOCKET_TIMEOUT.equals(e.name)) {
                 assertFalse(e.required);
                 assertEquals("0", e.value);
+            } else if (PROP_TCP_NO_DELAY.equals(e.name) ||
+                PROP_KEEP_ALIVE.equals(e.name) ||
+                PROP_SEND_BUFFER_SIZE.equals(e.name) ||
+                PROP_RECEIVE_BUFFER_SIZE.equals(e.name) ||
+                PROP_TRAFFIC_CLASS.equals(e.name)) {
+                assertFalse(e.required);
+                assertNull(e.value);
             } else {
                 fail("Unknown property '" + e.name + "'");
             }
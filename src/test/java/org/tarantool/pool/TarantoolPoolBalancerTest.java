@@ -0,0 +1,101 @@
+package org.tarantool.pool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.tarantool.Code;
+import org.tarantool.Key;
+import org.tarantool.TarantoolClientImpl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+@DisplayName("A pool balancer")
+class TarantoolPoolBalancerTest {
+
+    @Test
+    @DisplayName("distributed requests in a round-robin fashion")
+    public void testRoundRobin() {
+        List<TarantoolClientImpl> connections = makeConnections(3);
+        TarantoolPoolBalancer balancer = new RoundRobinPoolBalancer();
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i % 3, balancer.select(Code.PING, null, connections));
+        }
+    }
+
+    @Test
+    @DisplayName("selected the least loaded connection")
+    public void testLeastPending() {
+        List<TarantoolClientImpl> connections = makeConnections(3);
+        when(connections.get(0).getPendingResponsesCount()).thenReturn(10);
+        when(connections.get(1).getPendingResponsesCount()).thenReturn(3);
+        when(connections.get(2).getPendingResponsesCount()).thenReturn(7);
+
+        TarantoolPoolBalancer balancer = new LeastPendingPoolBalancer();
+        assertEquals(1, balancer.select(Code.PING, null, connections));
+    }
+
+    @Test
+    @DisplayName("routed operations on the same key to the same connection")
+    public void testKeyHash() {
+        List<TarantoolClientImpl> connections = makeConnections(4);
+        TarantoolPoolBalancer balancer = new KeyHashPoolBalancer();
+
+        Set<Integer> used = new HashSet<>();
+        for (int key = 0; key < 100; key++) {
+            int insert = balancer.select(Code.INSERT,
+                new Object[] { Key.SPACE, 512, Key.TUPLE, Arrays.asList(key, "value") }, connections);
+            int select = balancer.select(Code.SELECT,
+                new Object[] { Key.SPACE, 512, Key.INDEX, 0, Key.KEY, Collections.singletonList((long) key) },
+                connections);
+            int update = balancer.select(Code.UPDATE,
+                new Object[] { Key.SPACE, 512, Key.KEY, Collections.singletonList(key), Key.TUPLE, new Object[0] },
+                connections);
+            assertEquals(insert, select);
+            assertEquals(insert, update);
+            used.add(insert);
+        }
+        assertEquals(4, used.size());
+    }
+
+    @Test
+    @DisplayName("routed requests of one thread to the same connection")
+    public void testThreadAffinity() throws Exception {
+        List<TarantoolClientImpl> connections = makeConnections(64);
+        TarantoolPoolBalancer balancer = new ThreadAffinityPoolBalancer();
+
+        int current = balancer.select(Code.PING, null, connections);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(current, balancer.select(Code.EVAL, null, connections));
+        }
+
+        Set<Integer> used = new HashSet<>();
+        for (int i = 0; i < 16; i++) {
+            used.add(CompletableFuture.supplyAsync(() -> balancer.select(Code.PING, null, connections)).get());
+            Thread thread = new Thread(() -> used.add(balancer.select(Code.PING, null, connections)));
+            thread.start();
+            thread.join();
+        }
+        assertNotEquals(1, used.size());
+    }
+
+    private List<TarantoolClientImpl> makeConnections(int count) {
+        List<TarantoolClientImpl> connections = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            connections.add(mock(TarantoolClientImpl.class));
+        }
+        return connections;
+    }
+
+}
@@ -0,0 +1,56 @@
+package org.tarantool.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import org.tarantool.MsgPackLite;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@DisplayName("A data decoder")
+class DataDecoderTest {
+
+    @Test
+    @DisplayName("folded the needed fields of wide tuples")
+    public void testFoldTuples() throws IOException {
+        ByteBufferOutputStream out = new ByteBufferOutputStream(64, false);
+        MsgPackLite.INSTANCE.pack(Arrays.asList(
+            Arrays.asList(1, "a", 10, Arrays.asList("x", "y"), null),
+            Arrays.asList(2, "b", 20),
+            Arrays.asList(3, "c", 30, true)
+        ), out);
+        MsgPackCursor data = new MsgPackCursor(out.flip());
+
+        DataDecoder<AtomicLong> sum = DataDecoder.foldTuples(AtomicLong::new, (total, tuple) -> {
+            int size = tuple.readArrayHeader();
+            tuple.skipValues(2);
+            total.addAndGet(tuple.readLong());
+            tuple.skipValues(size - 3);
+        });
+        assertEquals(60, sum.decode(data).get());
+        assertFalse(data.hasNext());
+    }
+
+    @Test
+    @DisplayName("returned the data bytes as they are")
+    public void testRaw() throws IOException {
+        List<?> tuples = Arrays.asList(Arrays.asList(1, "a"), Collections.singletonMap("k", 2.5));
+        ByteBufferOutputStream out = new ByteBufferOutputStream(64, false);
+        MsgPackLite.INSTANCE.pack(tuples, out);
+        out.write(0x7f);
+        MsgPackCursor data = new MsgPackCursor(out.flip());
+
+        byte[] raw = DataDecoder.raw().decode(data);
+        assertEquals(tuples, MsgPackLite.INSTANCE.unpack(new ByteArrayInputStream(raw)));
+        assertEquals(0x7f, data.readInt());
+    }
+
+}
@@ -0,0 +1,89 @@
+package org.tarantool.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.tarantool.CommunicationException;
+import org.tarantool.MsgPackLite;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+
+@DisplayName("A MessagePack cursor")
+class MsgPackCursorTest {
+
+    @Test
+    @DisplayName("read integers and floating point numbers of all the widths")
+    public void testNumbers() throws IOException {
+        long[] values = {
+            0, 127, 128, 255, 256, 65535, 65536, 4294967295L, 4294967296L, Long.MAX_VALUE,
+            -1, -32, -33, -128, -129, -32768, -32769, Integer.MIN_VALUE, Long.MIN_VALUE,
+        };
+        for (long value : values) {
+            assertEquals(value, cursor(value).readLong());
+            assertEquals((double) value, cursor(value).readDouble());
+        }
+        assertEquals(-70000, cursor(-70000).readInt());
+        assertThrows(CommunicationException.class, () -> cursor(4294967296L).readInt());
+        assertEquals(1.5, cursor(1.5f).readDouble());
+        assertEquals(2.5f, cursor(2.5d).readFloat());
+        assertThrows(CommunicationException.class, () -> cursor("1").readLong());
+    }
+
+    @Test
+    @DisplayName("read nested values header by header")
+    public void testStructure() throws IOException {
+        char[] chars = new char[300];
+        Arrays.fill(chars, 'й');
+        MsgPackCursor cursor = cursor(
+            Arrays.asList(null, true, "str", new String(chars), new byte[] {1, 2}, Collections.singletonMap("k", 1),
+                Arrays.asList(1, 2), 7)
+        );
+        assertEquals(8, cursor.readArrayHeader());
+        assertTrue(cursor.isNil());
+        assertTrue(cursor.readNil());
+        assertFalse(cursor.readNil());
+        assertTrue(cursor.readBoolean());
+        assertEquals("str", cursor.readString());
+        assertEquals(new String(chars), cursor.readString());
+        assertArrayEquals(new byte[] {1, 2}, cursor.readBinary());
+        assertEquals(1, cursor.readMapHeader());
+        assertEquals("k", cursor.readString());
+        assertEquals(1, cursor.readInt());
+        assertEquals(Arrays.asList(1, 2), cursor.readValue());
+        assertTrue(cursor.hasNext());
+        cursor.skipValue();
+        assertFalse(cursor.hasNext());
+        assertNull(cursor(null).readString());
+    }
+
+    @Test
+    @DisplayName("reported a truncated value")
+    public void testTruncated() throws IOException {
+        ByteBuffer buffer = encode("truncated string");
+        buffer.limit(buffer.limit() - 1);
+        assertThrows(CommunicationException.class, () -> new MsgPackCursor(buffer.duplicate()).readString());
+        assertThrows(CommunicationException.class, () -> new MsgPackCursor(buffer.duplicate()).skipValue());
+        assertThrows(CommunicationException.class, () -> new MsgPackCursor(buffer.duplicate()).readValue());
+    }
+
+    private static MsgPackCursor cursor(Object value) throws IOException {
+        return new MsgPackCursor(encode(value));
+    }
+
+    private static ByteBuffer encode(Object value) throws IOException {
+        ByteBufferOutputStream out = new ByteBufferOutputStream(64, false);
+        MsgPackLite.INSTANCE.pack(value, out);
+        return out.flip();
+    }
+
+}
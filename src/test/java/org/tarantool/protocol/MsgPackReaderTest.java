@@ -0,0 +1,58 @@
+package org.tarantool.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.tarantool.MsgPackLite;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+@DisplayName("A MessagePack reader")
+class MsgPackReaderTest {
+
+    @Test
+    @DisplayName("skipped values of all the types")
+    public void testSkipValue() throws IOException {
+        Map<Object, Object> map = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            map.put(i, Arrays.asList(i, -i, "str" + i));
+        }
+        char[] chars = new char[70000];
+        Arrays.fill(chars, 'z');
+        Object[] values = {
+            null, true, false, 1, -1, 200, -200, 70000, -70000, 5_000_000_000L, -5_000_000_000L,
+            1.5f, 2.5d, "", "short", new String(chars), new byte[3], new byte[300],
+            Collections.emptyList(), Arrays.asList(1, Arrays.asList(2, Collections.singletonMap("k", 3))),
+            map, Collections.nCopies(20, "x"),
+        };
+
+        for (Object value : values) {
+            ByteBufferOutputStream out = new ByteBufferOutputStream(64, false);
+            MsgPackLite.INSTANCE.pack(value, out);
+            out.write(0x7f);
+            ByteBuffer buffer = out.flip();
+
+            MsgPackReader.skipValue(buffer);
+            assertEquals(0x7f, MsgPackReader.readUnsigned(buffer));
+        }
+    }
+
+    @Test
+    @DisplayName("read unsigned integers of all the widths")
+    public void testReadUnsigned() throws IOException {
+        long[] values = {0, 127, 128, 255, 256, 65535, 65536, 4294967295L, 4294967296L};
+        for (long value : values) {
+            ByteBufferOutputStream out = new ByteBufferOutputStream(16, false);
+            MsgPackLite.INSTANCE.pack(value, out);
+            assertEquals(value, MsgPackReader.readUnsigned(out.flip()));
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+package org.tarantool.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.tarantool.Code;
+import org.tarantool.Key;
+import org.tarantool.MsgPackLite;
+import org.tarantool.MsgPackValue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+@DisplayName("A packet encoder")
+class ProtoUtilsTest {
+
+    @Test
+    @DisplayName("wrote packets one after another into a direct buffer")
+    public void testWritePacket() throws IOException {
+        ByteBufferOutputStream out = new ByteBufferOutputStream(8, true);
+        ProtoUtils.writePacket(out, MsgPackLite.INSTANCE, Code.REPLACE, 300L, null,
+            Key.SPACE, 512, Key.TUPLE, Arrays.asList(1, "one"));
+        ProtoUtils.writePacket(out, MsgPackLite.INSTANCE, Code.PING, 70000L, 5L);
+
+        ByteBuffer buffer = out.flip();
+        assertEquals((byte) 0xce, buffer.get(0));
+
+        TarantoolPacket replace = decode(buffer);
+        assertEquals(Code.REPLACE.getId(), number(replace.getHeaders().get(Key.CODE.getId())));
+        assertEquals(300L, number(replace.getHeaders().get(Key.SYNC.getId())));
+        assertNull(replace.getHeaders().get(Key.SCHEMA_ID.getId()));
+        assertEquals(512L, number(replace.getBody().get(Key.SPACE.getId())));
+        assertEquals(Arrays.asList(1, "one"), replace.getBody().get(Key.TUPLE.getId()));
+
+        TarantoolPacket ping = decode(buffer);
+        assertEquals(Code.PING.getId(), number(ping.getHeaders().get(Key.CODE.getId())));
+        assertEquals(70000L, number(ping.getHeaders().get(Key.SYNC.getId())));
+        assertEquals(5L, number(ping.getHeaders().get(Key.SCHEMA_ID.getId())));
+        assertEquals(0, ping.getBody().size());
+        assertEquals(0, buffer.remaining());
+    }
+
+    @Test
+    @DisplayName("kept the legacy packet layout")
+    public void testCreatePacket() throws IOException {
+        ByteBuffer packet = ProtoUtils.createPacket(Code.SELECT, 1L, null, Key.SPACE, 512, Key.KEY, Arrays.asList(1));
+        assertEquals(0, packet.position());
+        assertEquals(packet.limit(), packet.getInt(1) + ProtoUtils.LENGTH_OF_SIZE_MESSAGE);
+        assertEquals(512L, number(decode(packet).getBody().get(Key.SPACE.getId())));
+    }
+
+    @Test
+    @DisplayName("wrote a pre-encoded value as is")
+    public void testPreEncodedValue() throws IOException {
+        ByteBufferOutputStream tuple = new ByteBufferOutputStream(8, false);
+        MsgPackLite.INSTANCE.pack(Arrays.asList(1, "one"), tuple);
+        ByteBufferOutputStream out = new ByteBufferOutputStream(8, false);
+        ProtoUtils.writePacket(out, MsgPackLite.INSTANCE, Code.INSERT, 1L, null,
+            Key.SPACE, 512, Key.TUPLE, MsgPackValue.of(tuple.flip()));
+
+        TarantoolPacket insert = decode(out.flip());
+        assertEquals(Arrays.asList(1, "one"), insert.getBody().get(Key.TUPLE.getId()));
+    }
+
+    private static TarantoolPacket decode(ByteBuffer buffer) throws IOException {
+        int size = buffer.getInt(buffer.position() + 1);
+        ByteBuffer packet = buffer.duplicate();
+        packet.position(buffer.position() + ProtoUtils.LENGTH_OF_SIZE_MESSAGE);
+        packet.limit(packet.position() + size);
+        buffer.position(packet.limit());
+        return ProtoUtils.decodePacket(packet);
+    }
+
+    private static long number(Object value) {
+        return ((Number) value).longValue();
+    }
+
+}
@@ -0,0 +1,183 @@
+package org.tarantool.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.tarantool.Code;
+import org.tarantool.CommunicationException;
+import org.tarantool.Key;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@DisplayName("A packet decoder")
+class TarantoolPacketDecoderTest {
+
+    @Test
+    @DisplayName("resumed decoding of a packet received by parts")
+    public void testPartialPacket() throws IOException {
+        ByteBuffer bytes = ProtoUtils.createPacket(Code.SELECT, 42L, null, Key.SPACE, 512, Key.KEY, Arrays.asList(1));
+        ChunkedChannel channel = new ChunkedChannel(bytes, 3);
+        TarantoolPacketDecoder decoder = new TarantoolPacketDecoder(16);
+
+        TarantoolPacket packet = null;
+        while (packet == null) {
+            decoder.read(channel);
+            packet = decoder.next();
+        }
+        assertEquals(Code.SELECT.getId(), header(packet, Key.CODE));
+        assertEquals(42L, header(packet, Key.SYNC));
+        assertEquals(512, packet.getBody().get(Key.SPACE.getId()));
+        assertNull(decoder.next());
+        assertEquals(-1, decoder.read(channel));
+    }
+
+    @Test
+    @DisplayName("decoded several packets received at once")
+    public void testSeveralPackets() throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(1024);
+        for (long i = 0; i < 10; i++) {
+            bytes.put(ProtoUtils.createPacket(Code.PING, i, null));
+        }
+        bytes.flip();
+        TarantoolPacketDecoder decoder = new TarantoolPacketDecoder();
+        decoder.read(new ChunkedChannel(bytes, bytes.remaining()));
+
+        List<Long> syncs = new ArrayList<>();
+        TarantoolPacket packet;
+        while ((packet = decoder.next()) != null) {
+            syncs.add(header(packet, Key.SYNC));
+        }
+        assertEquals(Arrays.asList(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L), syncs);
+    }
+
+    @Test
+    @DisplayName("grew the buffer for a large packet and shrank it back later")
+    public void testBufferGrowth() throws IOException {
+        char[] chars = new char[1000];
+        Arrays.fill(chars, 'x');
+        ByteBuffer bytes = ProtoUtils.createPacket(Code.EVAL, 1L, null, Key.EXPRESSION, new String(chars));
+        ChunkedChannel channel = new ChunkedChannel(bytes, 100);
+        TarantoolPacketDecoder decoder = new TarantoolPacketDecoder(64);
+
+        TarantoolPacket packet = null;
+        while (packet == null) {
+            decoder.read(channel);
+            packet = decoder.next();
+        }
+        assertEquals(new String(chars), packet.getBody().get(Key.EXPRESSION.getId()));
+        assertTrue(decoder.capacity() >= bytes.limit());
+
+        while (decoder.capacity() > 64) {
+            assertEquals(-1, decoder.read(channel));
+        }
+        assertNull(decoder.next());
+    }
+
+    @Test
+    @DisplayName("skipped a body after decoding the header only")
+    public void testSkipBody() throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(1024);
+        bytes.put(ProtoUtils.createPacket(Code.SELECT, 1L, 7L, Key.SPACE, 512, Key.KEY, Arrays.asList(1, "a")));
+        bytes.put(ProtoUtils.createPacket(Code.PING, 2L, null));
+        bytes.flip();
+        TarantoolPacketDecoder decoder = new TarantoolPacketDecoder();
+        decoder.read(new ChunkedChannel(bytes, bytes.remaining()));
+
+        assertTrue(decoder.nextHeader());
+        assertEquals(Code.SELECT.getId(), decoder.getCode());
+        assertEquals(1L, decoder.getSync());
+        assertEquals(7L, decoder.getSchemaId());
+        TarantoolPacket skipped = decoder.skipBody();
+        assertNull(skipped.getBody());
+        assertEquals(1L, header(skipped, Key.SYNC));
+
+        assertTrue(decoder.nextHeader());
+        assertEquals(2L, decoder.getSync());
+        assertEquals(TarantoolPacket.NO_SCHEMA_ID, decoder.getSchemaId());
+        assertNull(decoder.decodeBody().getHeaders().get(Key.SCHEMA_ID.getId()));
+        assertFalse(decoder.nextHeader());
+    }
+
+    @Test
+    @DisplayName("passed the data to a custom decoder and consumed the packet whatever it read")
+    public void testDataDecoder() throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(1024);
+        bytes.put(ProtoUtils.createPacket(Code.SELECT, 1L, null, Key.DATA, Arrays.asList(Arrays.asList(1, "a"))));
+        bytes.put(ProtoUtils.createPacket(Code.SELECT, 2L, null, Key.DATA, Arrays.asList(1, 2)));
+        bytes.put(ProtoUtils.createPacket(Code.PING, 3L, null));
+        bytes.flip();
+        TarantoolPacketDecoder decoder = new TarantoolPacketDecoder();
+        decoder.read(new ChunkedChannel(bytes, bytes.remaining()));
+
+        assertTrue(decoder.nextHeader());
+        TarantoolPacket packet = decoder.decodeBody(data -> {
+            data.readArrayHeader();
+            data.readArrayHeader();
+            return data.readInt();
+        });
+        assertEquals(1, packet.getBody().get(Key.DATA.getId()));
+
+        assertTrue(decoder.nextHeader());
+        assertThrows(CommunicationException.class, () -> decoder.decodeBody(data -> {
+            data.skipValue();
+            return data.readLong();
+        }));
+
+        assertTrue(decoder.nextHeader());
+        assertEquals(3L, decoder.getSync());
+        decoder.skipBody();
+        assertFalse(decoder.nextHeader());
+    }
+
+    private static long header(TarantoolPacket packet, Key key) {
+        return ((Number) packet.getHeaders().get(key.getId())).longValue();
+    }
+
+    /**
+     * Gives out at most a chunk of bytes per read.
+     */
+    private static class ChunkedChannel implements ReadableByteChannel {
+
+        private final ByteBuffer source;
+        private final int chunk;
+
+        ChunkedChannel(ByteBuffer source, int chunk) {
+            this.source = source;
+            this.chunk = chunk;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            if (!source.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(Math.min(chunk, source.remaining()), dst.remaining());
+            for (int i = 0; i < count; i++) {
+                dst.put(source.get());
+            }
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
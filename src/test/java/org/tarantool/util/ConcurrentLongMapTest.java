@@ -0,0 +1,91 @@
+package org.tarantool.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+@DisplayName("A concurrent long map")
+class ConcurrentLongMapTest {
+
+    @Test
+    @DisplayName("grew and shrank keeping all the entries")
+    public void testGrowth() {
+        ConcurrentLongMap<String> map = new ConcurrentLongMap<>(1);
+        for (long i = 0; i < 10_000; i++) {
+            assertNull(map.put(i, String.valueOf(i)));
+        }
+        assertEquals(10_000, map.size());
+        for (long i = 0; i < 10_000; i += 2) {
+            assertEquals(String.valueOf(i), map.remove(i));
+        }
+        for (long i = 0; i < 10_000; i++) {
+            assertEquals(i % 2 == 0 ? null : String.valueOf(i), map.get(i));
+        }
+        for (long i = 1; i < 10_000; i += 2) {
+            assertEquals(String.valueOf(i), map.remove(i));
+        }
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    @DisplayName("matched a reference map on random operations")
+    public void testRandomOperations() {
+        ConcurrentLongMap<Long> map = new ConcurrentLongMap<>(16);
+        Map<Long, Long> reference = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(512) * 7L;
+            if (random.nextBoolean()) {
+                assertEquals(reference.put(key, (long) i), map.put(key, (long) i));
+            } else {
+                assertEquals(reference.remove(key), map.remove(key));
+            }
+        }
+        assertEquals(reference.size(), map.size());
+        for (Map.Entry<Long, Long> entry : reference.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    @DisplayName("drained entries put concurrently")
+    public void testConcurrentDrain() throws InterruptedException {
+        ConcurrentLongMap<Long> map = new ConcurrentLongMap<>(16);
+        AtomicLong sequence = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(4);
+        for (int t = 0; t < 4; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    long key = sequence.incrementAndGet();
+                    map.put(key, key);
+                    if (i % 3 == 0) {
+                        map.remove(key);
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+
+        List<Long> drained = new ArrayList<>();
+        map.drain(drained::add);
+        Set<Long> unique = new HashSet<>(drained);
+        assertEquals(drained.size(), unique.size());
+        assertEquals(40_000 - 4 * 3334, drained.size());
+        assertTrue(map.isEmpty());
+    }
+
+}
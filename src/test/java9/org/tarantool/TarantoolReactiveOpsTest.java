@@ -0,0 +1,286 @@
+package org.tarantool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@DisplayName("Reactive ops")
+class TarantoolReactiveOpsTest {
+
+    @Test
+    @DisplayName("sent an operation on the first demand only")
+    public void testOperation() throws InterruptedException {
+        SpaceOps space = new SpaceOps(3);
+        TarantoolReactiveOps ops = TarantoolReactiveOps.of(new StubClient(space));
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        ops.eval("return 1").subscribe(subscriber);
+        assertEquals(0, space.requests.get());
+
+        subscriber.request(1);
+        subscriber.awaitDone();
+        assertEquals(1, space.requests.get());
+        assertEquals(Collections.singletonList(Collections.singletonList(Code.EVAL)), subscriber.items);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    @DisplayName("sent any operation through the async ops of the client")
+    public void testExec() throws InterruptedException {
+        TarantoolReactiveOps ops = TarantoolReactiveOps.of(new StubClient(new SpaceOps(0)));
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        ops.exec(Code.PING).subscribe(subscriber);
+        subscriber.request(1);
+        subscriber.awaitDone();
+        assertEquals(Collections.singletonList(Collections.singletonList(Code.PING)), subscriber.items);
+    }
+
+    @Test
+    @DisplayName("passed an operation failure to the subscriber")
+    public void testOperationFailure() throws InterruptedException {
+        SpaceOps space = new SpaceOps(0);
+        space.failure = new TarantoolException(36, "No such space");
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        TarantoolReactiveOps.of(new StubClient(space)).insert(512, Arrays.asList(1, 2)).subscribe(subscriber);
+        subscriber.request(1);
+        subscriber.awaitDone();
+        assertTrue(subscriber.items.isEmpty());
+        assertTrue(subscriber.error instanceof TarantoolException);
+    }
+
+    @Test
+    @DisplayName("selected the next page only when more tuples were demanded")
+    public void testScanDemand() throws InterruptedException {
+        SpaceOps space = new SpaceOps(12);
+        TarantoolReactiveOps ops = TarantoolReactiveOps.of(new StubClient(space));
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        ops.scan(new TarantoolScan(space, 512, 0, 0).pageSize(5)).subscribe(subscriber);
+        assertEquals(0, space.requests.get());
+
+        subscriber.request(3);
+        subscriber.awaitItems(3);
+        subscriber.request(2);
+        subscriber.awaitItems(5);
+        Thread.sleep(50);
+        assertEquals(1, space.requests.get());
+        assertEquals(5, subscriber.items.size());
+
+        subscriber.request(1);
+        subscriber.awaitItems(6);
+        assertEquals(2, space.requests.get());
+
+        subscriber.request(Long.MAX_VALUE);
+        subscriber.awaitDone();
+        assertEquals(3, space.requests.get());
+        assertEquals(12, subscriber.items.size());
+        for (int i = 0; i < 12; i++) {
+            assertEquals((long) i, ((List<?>) subscriber.items.get(i)).get(0));
+        }
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    @DisplayName("stopped a scan on cancel")
+    public void testScanCancel() throws InterruptedException {
+        SpaceOps space = new SpaceOps(12);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        TarantoolReactiveOps.of(new StubClient(space))
+            .scan(new TarantoolScan(space, 512, 0, 0).pageSize(5))
+            .subscribe(subscriber);
+        subscriber.request(2);
+        subscriber.awaitItems(2);
+        subscriber.subscription.cancel();
+        subscriber.request(10);
+        Thread.sleep(50);
+        assertEquals(2, subscriber.items.size());
+        assertEquals(1, space.requests.get());
+        assertEquals(1, subscriber.done.getCount());
+    }
+
+    @Test
+    @DisplayName("passed a failed page and a non-positive demand to the subscriber")
+    public void testScanErrors() throws InterruptedException {
+        SpaceOps space = new SpaceOps(12);
+        space.failure = new TarantoolException(36, "No such space");
+        RecordingSubscriber failed = new RecordingSubscriber();
+        TarantoolReactiveOps.of(new StubClient(space)).scan(new TarantoolScan(space, 512, 0, 0)).subscribe(failed);
+        failed.request(1);
+        failed.awaitDone();
+        assertTrue(failed.error instanceof TarantoolException);
+
+        RecordingSubscriber invalid = new RecordingSubscriber();
+        TarantoolReactiveOps.of(new StubClient(new SpaceOps(12)))
+            .scan(new TarantoolScan(space, 512, 0, 0))
+            .subscribe(invalid);
+        invalid.request(0);
+        invalid.awaitDone();
+        assertTrue(invalid.error instanceof IllegalArgumentException);
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<List<?>> {
+
+        final List<Object> items = new CopyOnWriteArrayList<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        volatile Flow.Subscription subscription;
+        volatile Throwable error;
+
+        void request(long n) {
+            subscription.request(n);
+        }
+
+        void awaitItems(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (items.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(count, items.size());
+        }
+
+        void awaitDone() throws InterruptedException {
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(List<?> item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            done.countDown();
+        }
+
+    }
+
+    /**
+     * Serves selects of the primary index from tuples {@code [id]},
+     * other operations return their codes.
+     */
+    private static class SpaceOps
+        extends AbstractTarantoolOps<Integer, List<?>, Object, CompletionStage<List<?>>> {
+
+        final List<List<?>> tuples = new ArrayList<>();
+        final AtomicInteger requests = new AtomicInteger();
+        volatile Exception failure;
+
+        SpaceOps(int size) {
+            for (long i = 0; i < size; i++) {
+                tuples.add(Collections.singletonList(i));
+            }
+        }
+
+        @Override
+        protected CompletionStage<List<?>> exec(Code code, Object... args) {
+            requests.incrementAndGet();
+            if (failure != null) {
+                CompletableFuture<List<?>> failed = new CompletableFuture<>();
+                failed.completeExceptionally(failure);
+                return failed;
+            }
+            if (code != Code.SELECT) {
+                return CompletableFuture.completedFuture(Collections.singletonList(code));
+            }
+            List<?> key = (List<?>) args[5];
+            int limit = (Integer) args[9];
+            long from = key.isEmpty() ? 0 : ((Number) key.get(0)).longValue() + 1;
+            List<Object> page = new ArrayList<>();
+            for (List<?> tuple : tuples) {
+                if ((Long) tuple.get(0) >= from && page.size() < limit) {
+                    page.add(tuple);
+                }
+            }
+            return CompletableFuture.supplyAsync(() -> page);
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+    private static class StubClient implements TarantoolClient {
+
+        private final SpaceOps ops;
+
+        StubClient(SpaceOps ops) {
+            this.ops = ops;
+        }
+
+        @Override
+        public TarantoolClientOps<Integer, List<?>, Object, List<?>> syncOps() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public TarantoolClientOps<Integer, List<?>, Object, Future<List<?>>> asyncOps() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public TarantoolClientOps<Integer, List<?>, Object, CompletionStage<List<?>>> composableAsyncOps() {
+            return ops;
+        }
+
+        @Override
+        public TarantoolClientOps<Integer, List<?>, Object, Long> fireAndForgetOps() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public TarantoolSQLOps<Object, Long, List<Map<String, Object>>> sqlSyncOps() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public TarantoolSQLOps<Object, Future<Long>, Future<List<Map<String, Object>>>> sqlAsyncOps() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public boolean isAlive() {
+            return true;
+        }
+
+        @Override
+        public void waitAlive() {
+        }
+
+        @Override
+        public boolean waitAlive(long timeout, TimeUnit unit) {
+            return true;
+        }
+
+    }
+
+}